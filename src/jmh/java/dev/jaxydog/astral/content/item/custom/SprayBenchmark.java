@@ -0,0 +1,434 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.content.item.custom;
+
+import dev.jaxydog.astral.content.item.custom.Sprayed.Behavior;
+import dev.jaxydog.astral.content.item.custom.Sprayed.BlockTarget;
+import dev.jaxydog.astral.content.item.custom.Sprayed.EntityTarget;
+import dev.jaxydog.astral.content.item.custom.Sprayed.RefillContext;
+import dev.jaxydog.astral.content.item.custom.Sprayed.Source;
+import dev.jaxydog.astral.content.item.custom.Sprayed.SprayResult;
+import dev.jaxydog.astral.content.item.custom.Sprayed.SprayTarget;
+import dev.jaxydog.astral.content.power.custom.ActionOnSprayPower;
+import dev.jaxydog.astral.content.power.custom.ActionWhenSprayedPower;
+import io.github.apace100.apoli.component.PowerHolderComponent;
+import io.github.apace100.apoli.power.Power;
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of spraying blocks and entities, and of refilling a spray item from a cauldron.
+ * <p>
+ * Every benchmark runs against a synthetic behavior table of the given size, in which only the lowest priority behavior
+ * matches, and against synthetic sets of {@code astral:action_when_sprayed} and {@code astral:action_on_spray} powers,
+ * in which only a single power matches. Run with {@code -prof gc} to report allocations per operation.
+ * <p>
+ * The world is a stub-only mock, so each of its invocations adds a small fixed cost and allocation to the measured
+ * operation; {@link #mockBaseline()} measures a single invocation so that this may be subtracted. Entities are not given
+ * power holder components outside the game, so {@link PowerHolderComponent#getPowers(Entity, Class)} is statically
+ * mocked on the benchmark thread to return the synthetic powers instead.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SprayBenchmark {
+
+    /**
+     * The number of behaviors that apply to each sprayed block and entity.
+     *
+     * @since 2.7.0
+     */
+    @Param({ "6", "50", "200" })
+    public int behaviors;
+    /**
+     * The number of powers of each type that are held by the actor and target.
+     *
+     * @since 2.7.0
+     */
+    @Param({ "0", "8" })
+    public int powers;
+
+    /**
+     * The benchmarked spray item.
+     *
+     * @since 2.7.0
+     */
+    private BenchmarkSprayed item;
+    /**
+     * The mocked world.
+     *
+     * @since 2.7.0
+     */
+    private World world;
+    /**
+     * The sprayed block's position.
+     *
+     * @since 2.7.0
+     */
+    private BlockPos pos;
+    /**
+     * The spraying entity.
+     *
+     * @since 2.7.0
+     */
+    private ArmorStandEntity actor;
+    /**
+     * The spray source.
+     *
+     * @since 2.7.0
+     */
+    private Source source;
+    /**
+     * The sprayed entity.
+     *
+     * @since 2.7.0
+     */
+    private EntityTarget entityTarget;
+    /**
+     * The sprayed block.
+     *
+     * @since 2.7.0
+     */
+    private BlockTarget blockTarget;
+    /**
+     * The static mock of the power holder component.
+     *
+     * @since 2.7.0
+     */
+    private MockedStatic<PowerHolderComponent> powerHolder;
+
+    /**
+     * Creates a new behavior that only matches if {@code matches} is {@code true}.
+     *
+     * @param matches Whether the behavior matches.
+     * @param priority The behavior's priority.
+     * @param <T> The behavior's target type.
+     *
+     * @return A new behavior.
+     *
+     * @since 2.7.0
+     */
+    private static <T extends SprayTarget> Behavior<T> behavior(boolean matches, int priority) {
+        return new Behavior<>((source, target) -> matches, (source, target) -> { }, 1, priority);
+    }
+
+    /**
+     * Returns the active powers of the given type within the provided map.
+     * <p>
+     * This mirrors the power holder component, which copies its active powers into a new list on every call.
+     *
+     * @param powers The held powers, keyed by their type.
+     * @param entity The entity.
+     * @param type The power type.
+     * @param <P> The power type.
+     *
+     * @return A list of powers.
+     *
+     * @since 2.7.0
+     */
+    @SuppressWarnings("unchecked")
+    private static <P extends Power> List<P> getPowers(
+        Map<Class<?>, List<? extends Power>> powers,
+        @Nullable Entity entity,
+        Class<P> type
+    ) {
+        final List<P> list = new LinkedList<>();
+        final List<? extends Power> held = powers.get(type);
+
+        if (entity == null || held == null) return list;
+
+        for (final Power power : held) {
+            if (power.isActive()) list.add((P) power);
+        }
+
+        return list;
+    }
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        this.world = Mockito.mock(World.class, Mockito.withSettings().stubOnly());
+
+        Mockito.when(this.world.getBlockState(Mockito.any())).thenReturn(Blocks.STONE.getDefaultState());
+        Mockito.when(this.world.getRandom()).thenReturn(Random.create(0L));
+
+        this.pos = new BlockPos(0, 64, 0);
+        this.actor = new ArmorStandEntity(EntityType.ARMOR_STAND, this.world);
+
+        final ArmorStandEntity target = new ArmorStandEntity(EntityType.ARMOR_STAND, this.world);
+        final SprayBehaviorTable.Builder builder = new SprayBehaviorTable.Builder();
+        final Map<Class<?>, List<? extends Power>> powers = new Reference2ObjectOpenHashMap<>();
+
+        this.item = new BenchmarkSprayed();
+
+        // Only the last, and therefore lowest priority, behavior matches, so every behavior must be tested.
+        for (int index = 0; index < this.behaviors; index += 1) {
+            final boolean matches = index == this.behaviors - 1;
+            final int priority = this.behaviors - index;
+
+            // Split the behaviors between those that target the sprayed types directly and those that target any type.
+            if (index % 2 == 0) {
+                builder.add(Blocks.STONE, behavior(matches, priority));
+                builder.add(EntityType.ARMOR_STAND, behavior(matches, priority));
+            } else {
+                builder.addAnyBlock(behavior(matches, priority));
+                builder.addAnyEntity(behavior(matches, priority));
+            }
+
+            this.item.addBehavior(EntityTarget.class, behavior(matches, priority));
+        }
+
+        this.item.table = builder.build();
+
+        final Random random = Random.create(0L);
+        final List<ActionWhenSprayedPower> targetPowers = new ObjectArrayList<>(this.powers);
+        final List<ActionOnSprayPower> actorPowers = new ObjectArrayList<>(this.powers);
+
+        // Only the first power of each type matches, and their priorities are shuffled so that they must be sorted.
+        for (int index = 0; index < this.powers; index += 1) {
+            final boolean matches = index == 0;
+            final int priority = random.nextInt(this.powers);
+
+            targetPowers.add(new ActionWhenSprayedPower(null,
+                target,
+                priority,
+                1,
+                pair -> { },
+                pair -> matches,
+                null,
+                null
+            ));
+            actorPowers.add(new ActionOnSprayPower(null,
+                this.actor,
+                priority,
+                1,
+                null,
+                null,
+                pair -> { },
+                pair -> matches,
+                triple -> { },
+                block -> matches
+            ));
+        }
+
+        powers.put(ActionWhenSprayedPower.class, targetPowers);
+        powers.put(ActionOnSprayPower.class, actorPowers);
+
+        // Static mocks only apply to the thread that created them, which for thread-scoped state is the benchmark thread.
+        this.powerHolder = Mockito.mockStatic(PowerHolderComponent.class, Mockito.withSettings().stubOnly());
+        this.powerHolder.when(() -> PowerHolderComponent.getPowers(Mockito.any(), Mockito.any()))
+            .thenAnswer(invocation -> getPowers(powers, invocation.getArgument(0), invocation.getArgument(1)));
+
+        this.source = new Source(ItemStack.EMPTY, this.actor, this.actor.getPos());
+        this.entityTarget = new EntityTarget(target);
+        this.blockTarget = new BlockTarget(this.world, this.pos, Direction.UP);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.powerHolder.close();
+    }
+
+    @Benchmark
+    public BlockState mockBaseline() {
+        return this.world.getBlockState(this.pos);
+    }
+
+    @Benchmark
+    public boolean canSprayEntity() {
+        return this.item.canSpray(this.source, this.entityTarget, 1);
+    }
+
+    @Benchmark
+    public boolean canSprayBlock() {
+        return this.item.canSpray(this.source, this.blockTarget, 1);
+    }
+
+    @Benchmark
+    public SprayResult onSprayEntity() {
+        return this.item.onSpray(this.source, this.entityTarget, true);
+    }
+
+    @Benchmark
+    public SprayResult onSprayBlock() {
+        return this.item.onSpray(this.source, this.blockTarget, true);
+    }
+
+    @Benchmark
+    public List<Behavior<EntityTarget>> getBehaviors() {
+        return this.item.getBehaviors(EntityTarget.class);
+    }
+
+    @Benchmark
+    public int refill() {
+        // Empty the item first, as otherwise refilling would immediately return.
+        this.item.setCharges(this.source.stack(), 0);
+
+        // Mirrors the cauldron behavior registered within `SprayBottleItem#registerCommon`.
+        if (this.item.isFilled(this.source.stack())) return 0;
+
+        final int charges = this.item.getMaxCharges(this.source.stack()) - this.item.getCharges(this.source.stack());
+        final RefillContext context = new RefillContext(this.world, this.pos, charges);
+        final Source source = new Source(this.source.stack(), this.actor, this.actor.getPos());
+
+        this.item.refill(source, context);
+
+        return this.item.getCharges(source.stack());
+    }
+
+    /**
+     * A spray item that stores its behaviors in the same way as {@link SprayBottleItem}.
+     * <p>
+     * Items may not be created once the game's registries are frozen, so this tracks its charges itself rather than
+     * through the sprayed item stack.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class BenchmarkSprayed implements Sprayed {
+
+        /**
+         * The maximum number of charges.
+         *
+         * @since 2.7.0
+         */
+        private static final int MAX_CHARGES = SprayBottleItem.MAX_USES;
+
+        /**
+         * Stores custom behaviors registered to this spray item.
+         *
+         * @since 2.7.0
+         */
+        private final Map<Class<? extends SprayTarget>, List<Behavior<? extends SprayTarget>>> behaviors = new Object2ObjectArrayMap<>();
+        /**
+         * The compiled behavior table.
+         *
+         * @since 2.7.0
+         */
+        private SprayBehaviorTable table = SprayBehaviorTable.EMPTY;
+        /**
+         * The remaining charges.
+         *
+         * @since 2.7.0
+         */
+        private int charges = MAX_CHARGES;
+
+        @Override
+        public <T extends SprayTarget> void addBehavior(Class<T> type, Behavior<T> behavior) {
+            final List<Behavior<? extends SprayTarget>> list = this.behaviors.computeIfAbsent(type,
+                t -> new ObjectArrayList<>(1)
+            );
+
+            list.add(Sprayed.getInsertionIndex(list, behavior), behavior);
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @Override
+        public <T extends SprayTarget> List<Behavior<T>> getBehaviors(Class<T> type) {
+            final List<Behavior<? extends SprayTarget>> list = this.behaviors.get(type);
+
+            if (list == null) return List.of();
+
+            return (List) Collections.unmodifiableList(list);
+        }
+
+        @Override
+        public SprayBehaviorTable getBehaviorTable() {
+            return this.table;
+        }
+
+        @Override
+        public int getMaxCharges(ItemStack stack) {
+            return MAX_CHARGES;
+        }
+
+        @Override
+        public int getCharges(ItemStack stack) {
+            return this.charges;
+        }
+
+        @Override
+        public void setCharges(ItemStack stack, int charges) {
+            this.charges = MathHelper.clamp(charges, 0, MAX_CHARGES);
+        }
+
+        @Override
+        public boolean isSprayable(ItemStack stack, int charges) {
+            return this.charges >= charges;
+        }
+
+        @Override
+        public boolean isFilled(ItemStack stack) {
+            return this.charges >= MAX_CHARGES;
+        }
+
+        @Override
+        public String getRegistryPath() {
+            return "benchmark_spray";
+        }
+
+        @Override
+        public Item asItem() {
+            return Items.AIR;
+        }
+
+    }
+
+}
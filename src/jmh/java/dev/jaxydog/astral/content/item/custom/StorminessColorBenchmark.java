@@ -0,0 +1,169 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.content.item.custom;
+
+import dev.jaxydog.astral.utility.color.Rgb;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.NbtCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the storminess color table used by {@link Cloudy#getStorminessColor(ItemStack)} with the per-call color
+ * transition that it replaced.
+ * <p>
+ * Each operation colors every stack within a player's inventory once, which is the work done by the item color
+ * providers for a single frame with an inventory full of cloudy items.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StorminessColorBenchmark {
+
+    /**
+     * The number of stacks within a player's inventory, including armor and the off-hand.
+     *
+     * @since 2.7.0
+     */
+    private static final int INVENTORY_SIZE = 41;
+
+    /**
+     * The benchmarked cloudy item.
+     *
+     * @since 2.7.0
+     */
+    private final Cloudy cloudy = new BenchmarkCloudy();
+
+    /**
+     * Stacks that store their storminess as an un-quantized value, as they were before the color table.
+     *
+     * @since 2.7.0
+     */
+    private ItemStack[] legacyStacks;
+    /**
+     * Stacks that store their storminess as a quantized level.
+     *
+     * @since 2.7.0
+     */
+    private ItemStack[] stacks;
+
+    /**
+     * Returns the given item stack's storminess color.
+     * <p>
+     * This is a copy of the color transition previously used by {@link Cloudy#getStorminessColor(ItemStack)}.
+     *
+     * @param stack The item stack.
+     *
+     * @return The sRGB color as an integer.
+     *
+     * @since 2.7.0
+     */
+    private static int legacyColor(ItemStack stack) {
+        final NbtCompound nbt = stack.getNbt();
+        final double storminess = nbt != null && nbt.contains(Cloudy.STORMINESS_KEY)
+            ? nbt.getDouble(Cloudy.STORMINESS_KEY)
+            : 0D;
+        final double delta = 1D - storminess;
+
+        final Rgb start = Cloudy.COLOR_MIN;
+        final Rgb end = Cloudy.COLOR_MAX;
+        final double r = (end.redScaled() - start.redScaled()) * delta;
+        final double g = (end.greenScaled() - start.greenScaled()) * delta;
+        final double b = (end.blueScaled() - start.blueScaled()) * delta;
+
+        return new Rgb(start.redScaled() + r, start.greenScaled() + g, start.blueScaled() + b).integer();
+    }
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        final Random random = new Random(0L);
+
+        this.legacyStacks = new ItemStack[INVENTORY_SIZE];
+        this.stacks = new ItemStack[INVENTORY_SIZE];
+
+        for (int index = 0; index < INVENTORY_SIZE; index += 1) {
+            final double storminess = random.nextDouble();
+
+            this.legacyStacks[index] = new ItemStack(Items.LEATHER_CHESTPLATE);
+            this.legacyStacks[index].getOrCreateNbt().putDouble(Cloudy.STORMINESS_KEY, storminess);
+
+            this.stacks[index] = new ItemStack(Items.LEATHER_CHESTPLATE);
+
+            // Written directly, since the transient storminess value is injected and unavailable outside of the game.
+            final int level = this.cloudy.toStorminessLevel(this.stacks[index], storminess);
+
+            this.stacks[index].getOrCreateNbt().putByte(Cloudy.STORMINESS_KEY, (byte) level);
+        }
+    }
+
+    @Benchmark
+    public void colorTable(Blackhole blackhole) {
+        for (final ItemStack stack : this.stacks) {
+            blackhole.consume(this.cloudy.getStorminessColor(stack));
+        }
+    }
+
+    @Benchmark
+    public void legacyTransition(Blackhole blackhole) {
+        for (final ItemStack stack : this.legacyStacks) {
+            blackhole.consume(legacyColor(stack));
+        }
+    }
+
+    /**
+     * A cloudy item that only provides the default storminess behavior.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class BenchmarkCloudy implements Cloudy {
+
+        @Override
+        public double getIncreaseDelta(ItemStack stack) {
+            return 0D;
+        }
+
+        @Override
+        public double getDecreaseDelta(ItemStack stack) {
+            return 0D;
+        }
+
+    }
+
+}
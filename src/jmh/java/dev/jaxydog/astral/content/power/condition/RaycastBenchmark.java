@@ -0,0 +1,297 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.content.power.condition;
+
+import dev.jaxydog.astral.utility.OcclusionCache;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.BlockView;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the voxel traversal used by {@link UnobstructedBlockInRadiusCondition} with the fixed-step ray marcher that
+ * it replaced.
+ * <p>
+ * Each operation casts a ray from the center of a randomly obstructed grid towards every block within a cube of the
+ * given radius, which is the work done by a single evaluation of the condition. The occlusion cache is cleared before
+ * every operation, so the voxel traversal never reuses collision shapes from a previous operation.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RaycastBenchmark {
+
+    /**
+     * The step size used by the fixed-step ray marcher, which was the condition's default.
+     *
+     * @since 2.7.0
+     */
+    private static final double STEP_SIZE = 0.125D;
+    /**
+     * The chance for each block within the grid to be an obstruction.
+     *
+     * @since 2.7.0
+     */
+    private static final float DENSITY = 0.05F;
+
+    /**
+     * The radius of the tested cube.
+     *
+     * @since 2.7.0
+     */
+    @Param({ "4", "8", "16" })
+    public int radius;
+
+    /**
+     * The obstructed block grid.
+     *
+     * @since 2.7.0
+     */
+    private GridView view;
+    /**
+     * The occlusion cache used by the voxel traversal.
+     *
+     * @since 2.7.0
+     */
+    private OcclusionCache cache;
+    /**
+     * The time read by the occlusion cache, which is advanced every operation.
+     *
+     * @since 2.7.0
+     */
+    private long time;
+
+    /**
+     * Performs a ray-cast between two start and end block positions, returning whether a block is within the path.
+     * <p>
+     * This is a copy of the ray marcher previously used by {@link UnobstructedBlockInRadiusCondition}, except that
+     * blocks are read directly rather than through a {@link net.minecraft.block.pattern.CachedBlockPosition}, which
+     * requires a full world view.
+     *
+     * @param view The block view.
+     * @param start The starting position.
+     * @param end The ending position.
+     * @param stepSize The size of a single step along the ray.
+     *
+     * @return Whether a block is within the path.
+     *
+     * @since 2.7.0
+     */
+    private static boolean legacyRaycast(BlockView view, BlockPos start, BlockPos end, double stepSize) {
+        final Vec3d startCenter = start.toCenterPos();
+        final Vec3d endCenter = end.toCenterPos();
+        final Vec3d step = endCenter.subtract(startCenter).normalize().multiply(stepSize);
+        final Set<BlockPos> checkedBlocks = new ObjectOpenHashSet<>((int) Math.ceil(startCenter.distanceTo(endCenter)));
+        final double endDistance = startCenter.distanceTo(endCenter);
+
+        // Ignore the two blocks themselves.
+        checkedBlocks.add(start);
+        checkedBlocks.add(end);
+
+        Vec3d position = startCenter;
+
+        // Ensure the ray distance is not exceeded.
+        while (startCenter.distanceTo(position) < endDistance) {
+            position = position.add(step);
+
+            final BlockPos pos = BlockPos.ofFloored(position);
+
+            if (checkedBlocks.contains(pos)) continue;
+
+            final VoxelShape shape = view.getBlockState(pos).getCollisionShape(view, pos);
+
+            if (!shape.isEmpty()) {
+                // Calculate the step's position within the block.
+                final Vec3d relative = Vec3d.of(pos).relativize(position);
+                final Box bounds = shape.getBoundingBox();
+
+                if (bounds.contains(relative)) return true;
+            }
+
+            checkedBlocks.add(pos);
+        }
+
+        return false;
+    }
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        this.view = new GridView(this.radius, Random.create(0L));
+        this.cache = new OcclusionCache(this.view, () -> this.time);
+    }
+
+    @Benchmark
+    public int voxelTraversal() {
+        final BlockPos.Mutable mutable = new BlockPos.Mutable();
+        int visible = 0;
+
+        // Start a new tick, clearing the cache.
+        this.time += 1;
+
+        for (int x = -this.radius; x <= this.radius; x += 1) {
+            for (int y = -this.radius; y <= this.radius; y += 1) {
+                for (int z = -this.radius; z <= this.radius; z += 1) {
+                    final BlockPos end = new BlockPos(x, y, z);
+
+                    if (!UnobstructedBlockInRadiusCondition.simpleRaycast(this.cache, BlockPos.ORIGIN, end, mutable)) {
+                        visible += 1;
+                    }
+                }
+            }
+        }
+
+        return visible;
+    }
+
+    @Benchmark
+    public int legacyMarch() {
+        int visible = 0;
+
+        for (int x = -this.radius; x <= this.radius; x += 1) {
+            for (int y = -this.radius; y <= this.radius; y += 1) {
+                for (int z = -this.radius; z <= this.radius; z += 1) {
+                    final BlockPos end = new BlockPos(x, y, z);
+
+                    if (!legacyRaycast(this.view, BlockPos.ORIGIN, end, STEP_SIZE)) visible += 1;
+                }
+            }
+        }
+
+        return visible;
+    }
+
+    /**
+     * A cube of randomly placed full and partial blocks centered on the origin, surrounded by air.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class GridView implements BlockView {
+
+        /**
+         * The grid's radius.
+         *
+         * @since 2.7.0
+         */
+        private final int radius;
+        /**
+         * The length of each side of the grid.
+         *
+         * @since 2.7.0
+         */
+        private final int size;
+        /**
+         * The block states within the grid.
+         *
+         * @since 2.7.0
+         */
+        private final BlockState[] states;
+
+        /**
+         * Creates a new randomly obstructed grid.
+         *
+         * @param radius The grid's radius.
+         * @param random The random number generator.
+         *
+         * @since 2.7.0
+         */
+        private GridView(int radius, Random random) {
+            this.radius = radius;
+            this.size = radius * 2 + 1;
+            this.states = new BlockState[this.size * this.size * this.size];
+
+            for (int index = 0; index < this.states.length; index += 1) {
+                if (random.nextFloat() >= DENSITY) {
+                    this.states[index] = Blocks.AIR.getDefaultState();
+                } else if (random.nextBoolean()) {
+                    this.states[index] = Blocks.STONE.getDefaultState();
+                } else {
+                    this.states[index] = Blocks.SMOOTH_STONE_SLAB.getDefaultState();
+                }
+            }
+
+            // Never obstruct the ray's origin.
+            this.states[this.states.length / 2] = Blocks.AIR.getDefaultState();
+        }
+
+        @Override
+        public @Nullable BlockEntity getBlockEntity(BlockPos pos) {
+            return null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            final int x = pos.getX() + this.radius;
+            final int y = pos.getY() + this.radius;
+            final int z = pos.getZ() + this.radius;
+
+            if (x < 0 || y < 0 || z < 0 || x >= this.size || y >= this.size || z >= this.size) {
+                return Blocks.AIR.getDefaultState();
+            }
+
+            return this.states[(x * this.size + y) * this.size + z];
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return this.getBlockState(pos).getFluidState();
+        }
+
+        @Override
+        public int getHeight() {
+            return this.size;
+        }
+
+        @Override
+        public int getBottomY() {
+            return -this.radius;
+        }
+
+    }
+
+}
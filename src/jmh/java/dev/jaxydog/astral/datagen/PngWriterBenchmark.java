@@ -0,0 +1,171 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.datagen;
+
+import dev.jaxydog.astral.datagen.PngWriter.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Compares the PNG writer with {@link ImageIO}, which it replaced, over a set of dyed textures.
+ * <p>
+ * Each operation encodes every texture once, and returns the total number of written bytes.
+ *
+ * @author Jaxydog
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PngWriterBenchmark {
+
+    /**
+     * The texture colors of every dye, which are multiplied into each texture.
+     */
+    private static final int[] DYE_COLORS = {
+        0xF9_FF_FE, 0xF9_80_1D, 0xC7_4E_BD, 0x3A_B3_DA, 0xFE_D8_3D, 0x80_C7_1F, 0xF3_8B_AA, 0x47_4F_52,
+        0x9D_9D_97, 0x16_9C_9C, 0x89_32_B8, 0x3C_44_AA, 0x83_54_32, 0x5E_7C_16, 0xB0_2E_26, 0x1D_1D_21,
+    };
+    /**
+     * The number of base textures that are dyed in each color.
+     */
+    private static final int TEXTURES = 5;
+    /**
+     * The width and height of each texture.
+     */
+    private static final int SIZE = 16;
+
+    /**
+     * The filter heuristic used by the PNG writer.
+     */
+    @Param({ "NONE", "PAETH", "ADAPTIVE" })
+    public Filter filter;
+
+    /**
+     * The encoded textures.
+     */
+    private final BufferedImage[] images = new BufferedImage[DYE_COLORS.length * TEXTURES];
+    /**
+     * The benchmarked PNG writer.
+     */
+    private PngWriter writer;
+
+    /**
+     * Creates a grayscale texture with a small palette and transparent edges, similar to vanilla's amethyst textures.
+     *
+     * @param random The random number generator.
+     *
+     * @return The texture's pixels in the ARGB format.
+     */
+    private static int[] createBase(Random random) {
+        final int[] pixels = new int[SIZE * SIZE];
+
+        for (int y = 0; y < SIZE; y += 1) {
+            for (int x = 0; x < SIZE; x += 1) {
+                final int distance = Math.abs(x * 2 - SIZE + 1) + Math.abs(y * 2 - SIZE + 1);
+
+                if (distance > SIZE + random.nextInt(SIZE / 2)) continue;
+
+                final int shade = 0x60 + random.nextInt(8) * 0x14;
+
+                pixels[y * SIZE + x] = 0xFF_00_00_00 | shade << 16 | shade << 8 | shade;
+            }
+        }
+
+        return pixels;
+    }
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0L);
+
+        this.writer = new PngWriter(this.filter, Deflater.BEST_COMPRESSION);
+
+        for (int texture = 0; texture < TEXTURES; texture += 1) {
+            final int[] base = createBase(random);
+
+            for (int dye = 0; dye < DYE_COLORS.length; dye += 1) {
+                final BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+                final int color = DYE_COLORS[dye];
+                final int[] pixels = new int[base.length];
+
+                for (int index = 0; index < base.length; index += 1) {
+                    final int pixel = base[index];
+                    final int red = ((pixel >> 16) & 0xFF) * ((color >> 16) & 0xFF) / 0xFF;
+                    final int green = ((pixel >> 8) & 0xFF) * ((color >> 8) & 0xFF) / 0xFF;
+                    final int blue = (pixel & 0xFF) * (color & 0xFF) / 0xFF;
+
+                    pixels[index] = (pixel & 0xFF_00_00_00) | red << 16 | green << 8 | blue;
+                }
+
+                image.setRGB(0, 0, SIZE, SIZE, pixels, 0, SIZE);
+
+                this.images[texture * DYE_COLORS.length + dye] = image;
+            }
+        }
+    }
+
+    @Benchmark
+    public int imageIo() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int length = 0;
+
+        for (final BufferedImage image : this.images) {
+            output.reset();
+
+            try {
+                ImageIO.write(image, "png", output);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+
+            length += output.size();
+        }
+
+        return length;
+    }
+
+    @Benchmark
+    public int pngWriter() {
+        int length = 0;
+
+        for (final BufferedImage image : this.images) {
+            length += this.writer.write(image).length;
+        }
+
+        return length;
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the packed HSB conversions with those of {@link Color}, which they replaced.
+ * <p>
+ * Each operation converts a fixed set of colors, and returns a checksum of the results.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HsbBenchmark {
+
+    /**
+     * The number of converted colors.
+     *
+     * @since 2.7.0
+     */
+    private static final int COLORS = 4096;
+
+    /**
+     * The number of distinct colors, where {@code 0} uses random colors.
+     * <p>
+     * Textures use small palettes, which keep the quotient table's accessed entries within the cache.
+     *
+     * @since 2.7.0
+     */
+    @Param({ "16", "0" })
+    public int paletteSize;
+
+    /**
+     * The converted colors.
+     *
+     * @since 2.7.0
+     */
+    private final int[] colors = new int[COLORS];
+    /**
+     * The buffer used for conversions.
+     *
+     * @since 2.7.0
+     */
+    private final float[] hsb = new float[3];
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0L);
+        final int[] palette = new int[this.paletteSize];
+
+        for (int index = 0; index < palette.length; index += 1) {
+            palette[index] = random.nextInt();
+        }
+
+        for (int index = 0; index < COLORS; index += 1) {
+            this.colors[index] = palette.length == 0 ? random.nextInt() : palette[random.nextInt(palette.length)];
+        }
+
+        // Ensures that the table's creation is not measured.
+        PackedColor.toHsb(0, this.hsb);
+    }
+
+    @Benchmark
+    public float awtToHsb() {
+        float checksum = 0F;
+
+        for (final int color : this.colors) {
+            Color.RGBtoHSB(PackedColor.red(color), PackedColor.green(color), PackedColor.blue(color), this.hsb);
+
+            checksum += this.hsb[0] + this.hsb[1] + this.hsb[2];
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public float packedToHsb() {
+        float checksum = 0F;
+
+        for (final int color : this.colors) {
+            PackedColor.toHsb(color, this.hsb);
+
+            checksum += this.hsb[0] + this.hsb[1] + this.hsb[2];
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public int awtHueShift() {
+        int checksum = 0;
+
+        for (final int color : this.colors) {
+            Color.RGBtoHSB(PackedColor.red(color), PackedColor.green(color), PackedColor.blue(color), this.hsb);
+
+            checksum += Color.HSBtoRGB(this.hsb[0] + 0.5F, this.hsb[1], this.hsb[2]);
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public int packedHueShift() {
+        int checksum = 0;
+
+        for (final int color : this.colors) {
+            PackedColor.toHsb(color, this.hsb);
+
+            checksum += PackedColor.fromHsb(this.hsb[0] + 0.5F, this.hsb[1], this.hsb[2], 0xFF);
+        }
+
+        return checksum;
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk pixel mapping used by {@link ImageMapper#convert(BufferedImage)} with the per-pixel mapping that
+ * it replaced.
+ * <p>
+ * Images are filled with a small palette and some transparent pixels, to resemble a texture. Images of type
+ * {@link BufferedImage#TYPE_4BYTE_ABGR} match those loaded from PNG files by {@link javax.imageio.ImageIO}, which must
+ * be converted before they can be mapped in bulk.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageMappingBenchmark {
+
+    /**
+     * The number of distinct colors within each image.
+     *
+     * @since 2.7.0
+     */
+    private static final int PALETTE_SIZE = 16;
+
+    /**
+     * The width and height of the mapped image.
+     *
+     * @since 2.7.0
+     */
+    @Param({ "16", "64", "256" })
+    public int size;
+    /**
+     * The type of the mapped image.
+     *
+     * @since 2.7.0
+     */
+    @Param({ "TYPE_INT_ARGB", "TYPE_4BYTE_ABGR" })
+    public String type;
+
+    /**
+     * The mapped image.
+     *
+     * @since 2.7.0
+     */
+    private BufferedImage image;
+    /**
+     * A mapper that is not marked as pure, and is therefore mapped once per pixel.
+     *
+     * @since 2.7.0
+     */
+    private ImageMapper mapper;
+    /**
+     * A mapper that is marked as pure, and is therefore cached and tiled.
+     *
+     * @since 2.7.0
+     */
+    private ImageMapper pureMapper;
+
+    /**
+     * Maps a single color, darkening it and shifting its hue.
+     *
+     * @param color The color.
+     *
+     * @return The mapped color.
+     *
+     * @since 2.7.0
+     */
+    private static Rgba map(Rgba color) {
+        return color.withBrightness(color.brightness() * 0.8F).withHue(color.hue() + 0.1F);
+    }
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        final int imageType = BufferedImage.class.getField(this.type).getInt(null);
+        final Random random = new Random(0L);
+        final int[] palette = new int[PALETTE_SIZE];
+
+        for (int index = 0; index < PALETTE_SIZE; index += 1) {
+            palette[index] = random.nextInt() | 0xFF_00_00_00;
+        }
+
+        // Leave roughly a quarter of the pixels transparent.
+        palette[0] = 0;
+        palette[1] = 0;
+        palette[2] = 0;
+        palette[3] = 0;
+
+        this.image = new BufferedImage(this.size, this.size, imageType);
+
+        for (int y = 0; y < this.size; y += 1) {
+            for (int x = 0; x < this.size; x += 1) {
+                this.image.setRGB(x, y, palette[random.nextInt(PALETTE_SIZE)]);
+            }
+        }
+
+        this.mapper = new ImageMapper(ImageMappingBenchmark::map, image -> { });
+        this.pureMapper = new ImageMapper(ColorMapper.pure(color -> map(new Rgba(color)).integer()), image -> { });
+    }
+
+    @Benchmark
+    public BufferedImage legacyConvert() {
+        final BufferedImage converted = new BufferedImage(this.size, this.size, this.image.getType());
+
+        // A copy of the per-pixel loop previously used by `ImageMapper#convert`.
+        for (int y = 0; y < this.image.getHeight(); y += 1) {
+            for (int x = 0; x < this.image.getWidth(); x += 1) {
+                final Rgba color = new Rgba(this.image.getRGB(x, y));
+
+                if (color.alpha() == 0) continue;
+
+                converted.setRGB(x, y, map(color).integer());
+            }
+        }
+
+        return converted;
+    }
+
+    @Benchmark
+    public BufferedImage convert() {
+        return this.mapper.convert(this.image);
+    }
+
+    @Benchmark
+    public BufferedImage convertPure() {
+        return this.pureMapper.convert(this.image);
+    }
+
+}
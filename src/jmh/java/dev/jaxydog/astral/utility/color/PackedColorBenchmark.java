@@ -0,0 +1,161 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the packed color API with the {@link Rgba} wrapper API for common per-color operations.
+ * <p>
+ * Each operation transforms a fixed set of random colors, and returns a checksum of the results.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PackedColorBenchmark {
+
+    /**
+     * The number of transformed colors.
+     *
+     * @since 2.7.0
+     */
+    private static final int COLORS = 4096;
+    /**
+     * The color that every color is transitioned towards or multiplied with.
+     *
+     * @since 2.7.0
+     */
+    private static final int OTHER = 0xC0_66_99_CC;
+
+    /**
+     * The colors as packed integers.
+     *
+     * @since 2.7.0
+     */
+    private final int[] packed = new int[COLORS];
+    /**
+     * The colors as wrappers.
+     *
+     * @since 2.7.0
+     */
+    private final Rgba[] wrapped = new Rgba[COLORS];
+    /**
+     * The buffer used for HSB conversions.
+     *
+     * @since 2.7.0
+     */
+    private final float[] hsb = new float[3];
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0L);
+
+        for (int index = 0; index < COLORS; index += 1) {
+            this.packed[index] = random.nextInt();
+            this.wrapped[index] = new Rgba(this.packed[index]);
+        }
+    }
+
+    @Benchmark
+    public int packedTransition() {
+        int checksum = 0;
+
+        for (int index = 0; index < COLORS; index += 1) {
+            checksum += ColorHelper.transition(this.packed[index], OTHER, 0.25D);
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public int wrappedTransition() {
+        final Rgba other = new Rgba(OTHER);
+        int checksum = 0;
+
+        for (int index = 0; index < COLORS; index += 1) {
+            checksum += ColorHelper.transition(this.wrapped[index], other, 0.25D).integer();
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public int packedMultiply() {
+        int checksum = 0;
+
+        for (int index = 0; index < COLORS; index += 1) {
+            checksum += PackedColor.multiply(this.packed[index], OTHER);
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public int wrappedMultiply() {
+        final Rgba other = new Rgba(OTHER);
+        int checksum = 0;
+
+        for (int index = 0; index < COLORS; index += 1) {
+            checksum += this.wrapped[index].mix(other, (a, b) -> (a * b + 127) / 255).integer();
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public int packedHueShift() {
+        int checksum = 0;
+
+        for (int index = 0; index < COLORS; index += 1) {
+            final int color = this.packed[index];
+
+            checksum += PackedColor.withHue(color, PackedColor.toHsb(color, this.hsb)[0] + 0.5F, this.hsb);
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public int wrappedHueShift() {
+        int checksum = 0;
+
+        for (int index = 0; index < COLORS; index += 1) {
+            final Rgba color = this.wrapped[index];
+
+            checksum += color.withHue(color.hue() + 0.5F).integer();
+        }
+
+        return checksum;
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.RescaleOp;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rescaling pixels through a lookup table with the {@link RescaleOp} that it replaced, over square images.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RescaleBenchmark {
+
+    /**
+     * The parameters used for dyed amethyst textures.
+     *
+     * @since 2.7.0
+     */
+    private static final RescaleOp OPERATION = new RescaleOp(0.625F, 0xF, null);
+
+    /**
+     * The width and height of the image.
+     *
+     * @since 2.7.0
+     */
+    @Param({ "16", "32", "64", "128", "256", "512" })
+    public int size;
+
+    /**
+     * The image's original pixels.
+     *
+     * @since 2.7.0
+     */
+    private int[] source;
+    /**
+     * The image that is modified by each operation.
+     *
+     * @since 2.7.0
+     */
+    private BufferedImage image;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0L);
+
+        this.source = new int[this.size * this.size];
+        this.image = new BufferedImage(this.size, this.size, BufferedImage.TYPE_INT_ARGB);
+
+        for (int index = 0; index < this.source.length; index += 1) {
+            this.source[index] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public BufferedImage rescaleOp() {
+        final int[] pixels = ImageHelper.getPixels(this.image);
+
+        System.arraycopy(this.source, 0, pixels, 0, pixels.length);
+
+        return OPERATION.filter(this.image, this.image);
+    }
+
+    @Benchmark
+    public BufferedImage rescalePixels() {
+        final int[] pixels = ImageHelper.getPixels(this.image);
+
+        System.arraycopy(this.source, 0, pixels, 0, pixels.length);
+
+        ImageHelper.rescalePixels(pixels, 0.625F, 0xF);
+
+        return this.image;
+    }
+
+}
@@ -1,7 +1,9 @@
 package dev.jaxydog.astral.content;
 
 import dev.jaxydog.astral.content.block.AstralBlocks;
+import dev.jaxydog.astral.content.command.AstralCommands;
 import dev.jaxydog.astral.content.data.AstralData;
+import dev.jaxydog.astral.content.data.AstralDataLoaders;
 import dev.jaxydog.astral.content.effect.AstralPotions;
 import dev.jaxydog.astral.content.effect.AstralStatusEffects;
 import dev.jaxydog.astral.content.item.AstralItems;
@@ -33,6 +35,8 @@ public final class CustomContent extends ContentRegistrar {
     // Vanilla extensions
     @RegistrationPriority(2)
     public static final AstralBlocks BLOCKS = new AstralBlocks();
+    public static final AstralCommands COMMANDS = new AstralCommands();
+    public static final AstralDataLoaders DATA_LOADERS = new AstralDataLoaders();
     public static final AstralGamerules GAMERULES = new AstralGamerules();
     @RegistrationPriority(1)
     public static final AstralItemGroups ITEM_GROUPS = new AstralItemGroups();
@@ -20,8 +20,10 @@ import dev.jaxydog.astral.content.item.AstralBlockItem;
 import dev.jaxydog.astral.content.sound.SoundContext;
 import dev.jaxydog.astral.datagen.*;
 import dev.jaxydog.astral.register.Registered.Generated;
+import dev.jaxydog.astral.utility.color.ColorBiMapper;
 import dev.jaxydog.astral.utility.color.ImageBiMapper;
-import dev.jaxydog.astral.utility.color.Rgba;
+import dev.jaxydog.astral.utility.color.ImageHelper;
+import dev.jaxydog.astral.utility.color.PackedColor;
 import net.fabricmc.fabric.api.datagen.v1.provider.FabricRecipeProvider;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -47,10 +49,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.apache.commons.lang3.StringUtils;
 
-import java.awt.image.BufferedImage;
-import java.awt.image.RescaleOp;
 import java.util.Arrays;
-import java.util.Optional;
 
 /**
  * Defines dyed amethyst blocks.
@@ -100,41 +99,55 @@ public class DyedAmethystBlock extends AstralBlock implements Generated {
         0.6F
     );
 
+    /**
+     * The version of {@link #DYE_MAPPER}, which must be incremented whenever its output changes.
+     * <p>
+     * This allows the texture generator to skip re-generating textures that would be unchanged.
+     *
+     * @since 2.7.0
+     */
+    public static final int DYE_MAPPER_VERSION = 1;
+
     /**
      * The color mapper used within the mod's data generator.
+     * <p>
+     * The mapper is compiled, as it's shared between every dyed amethyst texture.
      *
      * @since 2.0.0
      */
     public static final ImageBiMapper<DyeColor> DYE_MAPPER = new ImageBiMapper<>(
-        (color, dye) -> {
-            final float saturation = color.saturation();
-            final float brightness = color.brightness();
+        ColorBiMapper.<DyeColor>pure((color, dye) -> {
+            // Re-used for every HSB conversion of this pixel.
+            final float[] hsb = PackedColor.toHsb(color, new float[3]);
+            final float saturation = hsb[1];
+            final float brightness = hsb[2];
 
             return switch (dye) {
                 // Grayscale colors get special treatment.
-                case WHITE -> color.withSaturation(0F);
-                case LIGHT_GRAY -> color.withSaturation(0F).withBrightness(brightness - 0.225F);
-                case GRAY -> color.withSaturation(0F).withBrightness(brightness - 0.45F);
-                case BLACK -> color.withSaturation(0F).withBrightness(brightness - 0.6F);
+                case WHITE -> PackedColor.withSaturation(color, 0F, hsb);
+                case LIGHT_GRAY -> desaturate(color, brightness - 0.225F, hsb);
+                case GRAY -> desaturate(color, brightness - 0.45F, hsb);
+                case BLACK -> desaturate(color, brightness - 0.6F, hsb);
                 // All other colors just hue rotate.
                 default -> {
                     final float[] components = dye.getColorComponents();
-                    final Rgba target = new Rgba(components[0], components[1], components[2], 1F);
-                    final Rgba rotated = color.withHue(target.hue());
+                    final int target = PackedColor.of(components[0], components[1], components[2], 1F);
+                    final float hue = PackedColor.toHsb(target, hsb)[0];
+                    final int rotated = PackedColor.withHue(color, hue, hsb);
 
                     // Fine-tune some of the more problematic colors.
                     yield switch (dye) {
                         // Small tweaks to make the colors more distinct and visually appealing.
-                        case BROWN -> rotated.withBrightness(brightness - 0.325F);
-                        case GREEN -> rotated.withSaturation(saturation + 0.375F).withBrightness(brightness - 0.325F);
-                        case PINK -> rotated.withSaturation(saturation - 0.1F).withBrightness(brightness + 0.1F);
-                        case CYAN -> rotated.withSaturation(saturation + 0.25F).withBrightness(brightness - 0.25F);
+                        case BROWN -> PackedColor.withBrightness(rotated, brightness - 0.325F, hsb);
+                        case GREEN -> adjust(rotated, saturation + 0.375F, brightness - 0.325F, hsb);
+                        case PINK -> adjust(rotated, saturation - 0.1F, brightness + 0.1F, hsb);
+                        case CYAN -> adjust(rotated, saturation + 0.25F, brightness - 0.25F, hsb);
                         // All other colors get a slight saturation bump.
-                        default -> rotated.withSaturation(saturation + 0.25F);
+                        default -> PackedColor.withSaturation(rotated, saturation + 0.25F, hsb);
                     };
                 }
             };
-        },
+        }).compile(),
         // Some colors look wrong without this filter.
         (image, dye) -> {
             final float percentage = switch (dye) {
@@ -145,7 +158,8 @@ public class DyedAmethystBlock extends AstralBlock implements Generated {
             };
 
             if (percentage != 1F) {
-                new RescaleOp(percentage, 0xF, null).filter(image, image);
+                // Equivalent to a `RescaleOp`, operating directly on the mapped image's packed pixels.
+                ImageHelper.rescalePixels(ImageHelper.getPixels(image), percentage, 0xF);
             }
         }
     );
@@ -172,6 +186,50 @@ public class DyedAmethystBlock extends AstralBlock implements Generated {
         this.color = color;
     }
 
+    /**
+     * Returns the texture generator parameters that identify {@link #DYE_MAPPER} applied with the given color.
+     *
+     * @param color The dye color.
+     *
+     * @return The texture generator parameters.
+     *
+     * @since 2.7.0
+     */
+    public static String getDyeMapperParameters(DyeColor color) {
+        return "%s:dye_mapper/%d/%s".formatted(Astral.MOD_ID, DYE_MAPPER_VERSION, color.getName());
+    }
+
+    /**
+     * Removes the given packed color's saturation, and then sets its brightness.
+     *
+     * @param color The packed color.
+     * @param brightness The new brightness.
+     * @param hsb A buffer used for HSB conversions.
+     *
+     * @return The adjusted color.
+     *
+     * @since 2.7.0
+     */
+    private static int desaturate(int color, float brightness, float[] hsb) {
+        return PackedColor.withBrightness(PackedColor.withSaturation(color, 0F, hsb), brightness, hsb);
+    }
+
+    /**
+     * Sets the given packed color's saturation, and then its brightness.
+     *
+     * @param color The packed color.
+     * @param saturation The new saturation.
+     * @param brightness The new brightness.
+     * @param hsb A buffer used for HSB conversions.
+     *
+     * @return The adjusted color.
+     *
+     * @since 2.7.0
+     */
+    private static int adjust(int color, float saturation, float brightness, float[] hsb) {
+        return PackedColor.withBrightness(PackedColor.withSaturation(color, saturation, hsb), brightness, hsb);
+    }
+
     /**
      * Returns this block's dye color.
      *
@@ -203,13 +261,12 @@ public class DyedAmethystBlock extends AstralBlock implements Generated {
         TagGenerator.getInstance().generate(BlockTags.PICKAXE_MINEABLE, g -> g.add(this));
 
         TextureGenerator.getInstance().generate(Registries.BLOCK.getKey(), instance -> {
-            final Optional<BufferedImage> maybeSource = instance.getImage("amethyst_block");
-
-            if (maybeSource.isPresent()) {
-                final BufferedImage image = DYE_MAPPER.convert(maybeSource.get(), this.getColor());
-
-                instance.generate(this.getRegistryId(), image);
-            }
+            // Only generated if the source texture or the mapper has changed since the last run.
+            instance.generate(this.getRegistryId(),
+                "amethyst_block",
+                getDyeMapperParameters(this.getColor()),
+                image -> DYE_MAPPER.convert(image, this.getColor())
+            );
         });
 
         LootTableGenerator.getInstance().generate(LootContextTypes.BLOCK,
@@ -77,10 +77,8 @@ import net.minecraft.world.WorldView;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
-import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Defines dyed amethyst cluster blocks.
@@ -314,13 +312,11 @@ public class DyedAmethystClusterBlock extends DyedAmethystBlock implements Clien
         TagGenerator.getInstance().generate(BlockTags.PICKAXE_MINEABLE, g -> g.add(this));
 
         TextureGenerator.getInstance().generate(Registries.BLOCK.getKey(), instance -> {
-            final Optional<BufferedImage> maybeSource = instance.getImage(this.getType().getBasePath());
-
-            if (maybeSource.isPresent()) {
-                final BufferedImage image = DYE_MAPPER.convert(maybeSource.get(), this.getColor());
-
-                instance.generate(this.getRegistryId(), image);
-            }
+            instance.generate(this.getRegistryId(),
+                this.getType().getBasePath(),
+                getDyeMapperParameters(this.getColor()),
+                image -> DYE_MAPPER.convert(image, this.getColor())
+            );
         });
 
         if (this.getType().equals(Type.CLUSTER)) {
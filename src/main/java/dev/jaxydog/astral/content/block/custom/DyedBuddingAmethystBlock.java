@@ -44,9 +44,7 @@ import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.random.Random;
 import org.apache.commons.lang3.StringUtils;
 
-import java.awt.image.BufferedImage;
 import java.util.Arrays;
-import java.util.Optional;
 
 /**
  * Defines dyed budding amethyst blocks.
@@ -174,13 +172,11 @@ public class DyedBuddingAmethystBlock extends DyedAmethystBlock {
         TagGenerator.getInstance().generate(BlockTags.PICKAXE_MINEABLE, g -> g.add(this));
 
         TextureGenerator.getInstance().generate(Registries.BLOCK.getKey(), instance -> {
-            final Optional<BufferedImage> maybeSource = instance.getImage("budding_amethyst");
-
-            if (maybeSource.isPresent()) {
-                final BufferedImage image = DYE_MAPPER.convert(maybeSource.get(), this.getColor());
-
-                instance.generate(this.getRegistryId(), image);
-            }
+            instance.generate(this.getRegistryId(),
+                "budding_amethyst",
+                getDyeMapperParameters(this.getColor()),
+                image -> DYE_MAPPER.convert(image, this.getColor())
+            );
         });
 
         LootTableGenerator.getInstance().generate(LootContextTypes.BLOCK,
@@ -0,0 +1,254 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.content.command.custom;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import dev.jaxydog.astral.Astral;
+import dev.jaxydog.astral.register.Registered;
+import dev.jaxydog.astral.utility.PowerProfiler;
+import dev.jaxydog.astral.utility.PowerProfiler.Result;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.WorldSavePath;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The profile command.
+ * <p>
+ * Running {@code /astral profile powers <seconds>} starts a {@link PowerProfiler} session. Once it expires, the hottest
+ * entries are printed to the command's source, and a full report is written to the world folder.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public class ProfileCommand implements Registered.Common {
+
+    /**
+     * The maximum duration of a profiling session, in seconds.
+     *
+     * @since 2.7.0
+     */
+    public static final int MAX_SECONDS = 600;
+    /**
+     * The number of entries printed to the command's source.
+     *
+     * @since 2.7.0
+     */
+    public static final int PRINTED_ENTRIES = 10;
+
+    /**
+     * Describes which evaluations are attributed to a power, as shown alongside the results.
+     *
+     * @since 2.7.0
+     */
+    private static final String ATTRIBUTION_NOTE = "Only Astral power ticks and condition checks are attributed to a "
+        + "power; other entries are listed without one";
+
+    /**
+     * The JSON serializer used to write reports.
+     *
+     * @since 2.7.0
+     */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * The command's identifier path used within the registration system.
+     *
+     * @since 2.7.0
+     */
+    private final String path;
+
+    /**
+     * The source that started the current profiling session, or {@code null} if no session was started.
+     *
+     * @since 2.7.0
+     */
+    private @Nullable ServerCommandSource source = null;
+
+    /**
+     * Creates a new profile command.
+     *
+     * @param path The command's identifier path.
+     *
+     * @since 2.7.0
+     */
+    public ProfileCommand(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Starts profiling powers.
+     *
+     * @param context The command context.
+     *
+     * @return The command's result.
+     *
+     * @since 2.7.0
+     */
+    private int profilePowers(CommandContext<ServerCommandSource> context) {
+        final int seconds = IntegerArgumentType.getInteger(context, "seconds");
+
+        if (!PowerProfiler.start(TimeUnit.SECONDS.toNanos(seconds))) {
+            context.getSource().sendError(Text.literal("A power profiling session is already running"));
+
+            return 0;
+        }
+
+        this.source = context.getSource();
+        this.source.sendFeedback(() -> Text.literal("Profiling powers for %d seconds".formatted(seconds)), true);
+
+        return 1;
+    }
+
+    /**
+     * Finishes the current profiling session if it has expired.
+     *
+     * @param server The server.
+     *
+     * @since 2.7.0
+     */
+    private void tick(MinecraftServer server) {
+        if (this.source == null || !PowerProfiler.isExpired()) return;
+
+        final ServerCommandSource source = this.source;
+        final List<Result> results = PowerProfiler.stop();
+
+        this.source = null;
+
+        source.sendFeedback(() -> Text.literal("Finished profiling powers, hottest entries:"), false);
+        source.sendFeedback(() -> Text.literal(ATTRIBUTION_NOTE), false);
+
+        for (int index = 0; index < Math.min(PRINTED_ENTRIES, results.size()); index += 1) {
+            final Result result = results.get(index);
+            final String message = "%d. [%s] %s%s: ~%.3f ms total, %.1f µs mean, ~%d calls".formatted(index + 1,
+                result.key().kind().getName(),
+                result.key().type(),
+                result.key().power() == null ? "" : " in " + result.key().power(),
+                result.totalTime() / 1_000_000D,
+                result.meanTime() / 1_000D,
+                result.calls()
+            );
+
+            source.sendFeedback(() -> Text.literal(message), false);
+        }
+
+        final Path directory = server.getSavePath(WorldSavePath.ROOT).resolve(Astral.MOD_ID);
+        final Path file = directory.resolve("power_profile_%d.json".formatted(System.currentTimeMillis()));
+
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, GSON.toJson(this.getReport(results)));
+
+            source.sendFeedback(() -> Text.literal("Wrote the full report to %s".formatted(file.normalize())), false);
+        } catch (IOException exception) {
+            Astral.LOGGER.error("Unable to write power profile report", exception);
+
+            source.sendError(Text.literal("Unable to write the full report: %s".formatted(exception.getMessage())));
+        }
+    }
+
+    /**
+     * Discards the current profiling session when the server stops, since its source and results belong to that
+     * server.
+     *
+     * @param server The server.
+     *
+     * @since 2.7.0
+     */
+    private void stop(MinecraftServer server) {
+        if (this.source == null && !PowerProfiler.isRunning()) return;
+
+        PowerProfiler.stop();
+
+        this.source = null;
+
+        Astral.LOGGER.info("Discarded the running power profiling session, as the server is stopping");
+    }
+
+    /**
+     * Returns a JSON report of the given results.
+     *
+     * @param results The profiling results.
+     *
+     * @return The JSON report.
+     *
+     * @since 2.7.0
+     */
+    private JsonObject getReport(List<Result> results) {
+        final JsonObject report = new JsonObject();
+        final JsonArray entries = new JsonArray(results.size());
+
+        report.addProperty("sample_interval", PowerProfiler.SAMPLE_INTERVAL);
+        report.addProperty("note", ATTRIBUTION_NOTE);
+
+        for (final Result result : results) {
+            final JsonObject entry = new JsonObject();
+
+            entry.addProperty("kind", result.key().kind().getName());
+            entry.addProperty("type", result.key().type().toString());
+
+            if (result.key().power() != null) entry.addProperty("power", result.key().power().toString());
+
+            entry.addProperty("samples", result.samples());
+            entry.addProperty("estimated_calls", result.calls());
+            entry.addProperty("estimated_total_nanos", result.totalTime());
+            entry.addProperty("mean_nanos", result.meanTime());
+            entry.addProperty("max_nanos", result.maximumTime());
+
+            entries.add(entry);
+        }
+
+        report.add("entries", entries);
+
+        return report;
+    }
+
+    @Override
+    public String getRegistryPath() {
+        return this.path;
+    }
+
+    @Override
+    public void registerCommon() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registries, environment) -> dispatcher.register(
+            CommandManager.literal(Astral.MOD_ID)
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(CommandManager.literal(this.getRegistryPath())
+                    .then(CommandManager.literal("powers")
+                        .then(CommandManager.argument("seconds", IntegerArgumentType.integer(1, MAX_SECONDS))
+                            .executes(this::profilePowers)))))
+        );
+
+        ServerTickEvents.END_SERVER_TICK.register(this::tick);
+        ServerLifecycleEvents.SERVER_STOPPING.register(this::stop);
+    }
+
+}
@@ -14,11 +14,15 @@
 
 package dev.jaxydog.astral.content.data;
 
+import com.google.gson.JsonSyntaxException;
 import dev.jaxydog.astral.content.data.custom.MoonPhase;
 import dev.jaxydog.astral.register.ContentRegistrar;
 import dev.jaxydog.astral.register.IgnoreRegistration;
 import io.github.apace100.calio.SerializationHelper;
 import io.github.apace100.calio.data.SerializableDataType;
+import io.github.apace100.calio.data.SerializableDataTypes;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.util.math.Vec3d;
 
 import java.util.List;
 
@@ -48,4 +52,54 @@ public final class AstralData extends ContentRegistrar {
     @IgnoreRegistration
     public static final SerializableDataType<List<MoonPhase>> MOON_PHASES = SerializableDataType.list(MOON_PHASE);
 
+    /**
+     * The moon phase bit mask data type.
+     * <p>
+     * This is read as an array of moon phases, which are combined into a mask using {@link MoonPhase#getMask()}.
+     *
+     * @since 2.7.0
+     */
+    @IgnoreRegistration
+    public static final SerializableDataType<Integer> MOON_PHASE_MASK = SerializableDataType.wrap(Integer.class,
+        MOON_PHASES,
+        mask -> {
+            final List<MoonPhase> phases = new ObjectArrayList<>(MoonPhase.values().length);
+
+            for (final MoonPhase phase : MoonPhase.values()) {
+                if (phase != MoonPhase.NONE && (mask & phase.getMask()) != 0) phases.add(phase);
+            }
+
+            return phases;
+        },
+        phases -> {
+            int mask = 0;
+
+            for (final MoonPhase phase : phases) mask |= phase.getMask();
+
+            return mask;
+        }
+    );
+
+    /**
+     * The position data type.
+     * <p>
+     * This is read as an array of exactly three coordinates, and is rejected when loaded if it has any other length.
+     *
+     * @since 2.7.0
+     */
+    @IgnoreRegistration
+    public static final SerializableDataType<Vec3d> POSITION = SerializableDataType.wrap(Vec3d.class,
+        SerializableDataTypes.DOUBLES,
+        position -> List.of(position.getX(), position.getY(), position.getZ()),
+        coordinates -> {
+            if (coordinates.size() != 3) {
+                final String message = "Expected 3 position coordinates, found %d".formatted(coordinates.size());
+
+                throw new JsonSyntaxException(message);
+            }
+
+            return new Vec3d(coordinates.get(0), coordinates.get(1), coordinates.get(2));
+        }
+    );
+
 }
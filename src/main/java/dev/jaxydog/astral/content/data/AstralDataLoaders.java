@@ -15,7 +15,9 @@
 package dev.jaxydog.astral.content.data;
 
 import dev.jaxydog.astral.content.data.custom.CurrencyLoader;
+import dev.jaxydog.astral.content.data.custom.SprayBehaviorLoader;
 import dev.jaxydog.astral.register.ContentRegistrar;
+import dev.jaxydog.astral.register.IgnoreRegistration;
 
 /**
  * Contains definitions of all modded-in data loaders.
@@ -30,6 +32,13 @@ public final class AstralDataLoaders extends ContentRegistrar {
      *
      * @since 2.0.0
      */
+    @IgnoreRegistration
     public static final CurrencyLoader CURRENCY = new CurrencyLoader("currency");
+    /**
+     * The spray behavior data loader.
+     *
+     * @since 2.7.0
+     */
+    public static final SprayBehaviorLoader SPRAY_BEHAVIORS = new SprayBehaviorLoader("spray_behaviors");
 
 }
@@ -132,6 +132,19 @@ public enum MoonPhase {
         return this.phase;
     }
 
+    /**
+     * Returns a bit mask that only contains this phase.
+     * <p>
+     * The returned mask has the bit at this phase's numeric identifier set, or is zero if this is {@link #NONE}.
+     *
+     * @return The phase's bit mask.
+     *
+     * @since 2.7.0
+     */
+    public int getMask() {
+        return this == NONE ? 0 : 1 << this.getNumeric();
+    }
+
     /**
      * Returns whether this phase is the current moon phase.
      *
@@ -0,0 +1,763 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.content.data.custom;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import dev.jaxydog.astral.Astral;
+import dev.jaxydog.astral.content.data.AstralJsonDataLoader;
+import dev.jaxydog.astral.content.item.custom.SprayBehaviorTable;
+import dev.jaxydog.astral.content.item.custom.Sprayed;
+import dev.jaxydog.astral.content.item.custom.Sprayed.Behavior;
+import dev.jaxydog.astral.content.item.custom.Sprayed.BlockTarget;
+import dev.jaxydog.astral.content.item.custom.Sprayed.EntityTarget;
+import dev.jaxydog.astral.content.item.custom.Sprayed.Source;
+import dev.jaxydog.astral.content.sound.SoundContext;
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Oxidizable;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.state.property.Property;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
+import net.minecraft.util.profiler.Profiler;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The spray behavior data loader.
+ * <p>
+ * Each loaded file defines a single behavior for one or more spray items, targeting either blocks or entities. Loaded
+ * behaviors are compiled, alongside any behaviors registered in code, into a {@link SprayBehaviorTable} for each spray
+ * item the first time that it is used after a reload.
+ * <p>
+ * Loaded behaviors are only known to the server, so clients connected to a dedicated server will not predict them.
+ * Behaviors that every spray item needs should instead be built into the item, which may then be extended by data.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public class SprayBehaviorLoader extends AstralJsonDataLoader {
+
+    /**
+     * The currently loaded behavior definitions, sorted by their identifiers.
+     *
+     * @since 2.7.0
+     */
+    private volatile List<Definition> definitions = List.of();
+    /**
+     * The number of times that this loader has been applied.
+     * <p>
+     * This is used to determine whether a compiled behavior table is out of date.
+     *
+     * @since 2.7.0
+     */
+    private volatile int generation = 0;
+
+    /**
+     * Creates a new JSON data loader.
+     *
+     * @param gson The GSON instance.
+     * @param folder The folder name.
+     *
+     * @since 2.7.0
+     */
+    public SprayBehaviorLoader(Gson gson, String folder) {
+        super(gson, folder);
+    }
+
+    /**
+     * Creates a new JSON data loader.
+     *
+     * @param folder The folder name.
+     *
+     * @since 2.7.0
+     */
+    public SprayBehaviorLoader(String folder) {
+        super(folder);
+    }
+
+    /**
+     * Parses an identifier, throwing an exception if it is invalid.
+     *
+     * @param string The identifier string.
+     *
+     * @return The parsed identifier.
+     *
+     * @throws JsonSyntaxException If the identifier is invalid.
+     * @since 2.7.0
+     */
+    private static Identifier parseIdentifier(String string) throws JsonSyntaxException {
+        final Identifier identifier = Identifier.tryParse(string);
+
+        if (Objects.isNull(identifier)) {
+            throw new JsonSyntaxException("Invalid identifier '%s'".formatted(string));
+        }
+
+        return identifier;
+    }
+
+    /**
+     * Parses a string map from the given JSON object's member.
+     *
+     * @param object The JSON object.
+     * @param key The member key.
+     *
+     * @return The parsed map, which is empty if the member is missing.
+     *
+     * @throws JsonSyntaxException If the member is invalid.
+     * @since 2.7.0
+     */
+    private static Map<String, String> parseStringMap(JsonObject object, String key) throws JsonSyntaxException {
+        if (!object.has(key)) return Map.of();
+
+        final JsonObject values = JsonHelper.getObject(object, key);
+        final Map<String, String> map = new Object2ObjectArrayMap<>(values.size());
+
+        for (final Map.Entry<String, JsonElement> entry : values.entrySet()) {
+            map.put(entry.getKey(), JsonHelper.asString(entry.getValue(), entry.getKey()));
+        }
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Parses a sound context from the given JSON object.
+     *
+     * @param object The JSON object.
+     *
+     * @return The parsed sound context.
+     *
+     * @throws JsonSyntaxException If the sound is invalid.
+     * @since 2.7.0
+     */
+    private static SoundContext parseSound(JsonObject object) throws JsonSyntaxException {
+        final Identifier soundId = parseIdentifier(JsonHelper.getString(object, "sound"));
+        final SoundEvent event = Registries.SOUND_EVENT.getOrEmpty(soundId).orElseGet(() -> SoundEvent.of(soundId));
+        final String categoryName = JsonHelper.getString(object, "category", SoundCategory.NEUTRAL.getName());
+
+        SoundCategory category = null;
+
+        for (final SoundCategory value : SoundCategory.values()) {
+            if (value.getName().equals(categoryName)) category = value;
+        }
+
+        if (category == null) {
+            throw new JsonSyntaxException("Invalid sound category '%s'".formatted(categoryName));
+        }
+
+        return new SoundContext(event,
+            category,
+            JsonHelper.getFloat(object, "volume", 1F),
+            JsonHelper.getFloat(object, "pitch", 1F),
+            JsonHelper.getFloat(object, "pitch_variance", 0.0625F)
+        );
+    }
+
+    /**
+     * Returns the name of the given property's value within the given state.
+     *
+     * @param state The block state.
+     * @param property The property.
+     * @param <T> The property's value type.
+     *
+     * @return The value name.
+     *
+     * @since 2.7.0
+     */
+    private static <T extends Comparable<T>> String getValueName(BlockState state, Property<T> property) {
+        return property.name(state.get(property));
+    }
+
+    /**
+     * Returns a copy of the given state with the given property set to the parsed value.
+     *
+     * @param state The block state.
+     * @param property The property.
+     * @param value The value name.
+     * @param <T> The property's value type.
+     *
+     * @return The new block state, or {@code null} if the value is invalid.
+     *
+     * @since 2.7.0
+     */
+    private static <T extends Comparable<T>> @Nullable BlockState withValue(
+        BlockState state, Property<T> property, String value
+    ) {
+        return property.parse(value).map(parsed -> state.with(property, parsed)).orElse(null);
+    }
+
+    /**
+     * Returns the number of times that this loader has been applied.
+     * <p>
+     * Compiled behavior tables should be discarded whenever this value changes.
+     *
+     * @return The loader's generation.
+     *
+     * @since 2.7.0
+     */
+    public int getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Compiles the given spray item's behaviors into a new behavior table.
+     * <p>
+     * This includes loaded behaviors, the item's built-in behaviors, and behaviors registered through
+     * {@link Sprayed#addBehavior(Class, Behavior)}. This should only be called after tags have been bound, as tagged
+     * targets are resolved here.
+     *
+     * @param item The spray item.
+     * @param <I> The spray item type.
+     *
+     * @return A new behavior table.
+     *
+     * @since 2.7.0
+     */
+    public <I extends Item & Sprayed> SprayBehaviorTable compile(I item) {
+        final Identifier itemId = Registries.ITEM.getId(item);
+        final SprayBehaviorTable.Builder builder = new SprayBehaviorTable.Builder();
+
+        item.addTargetedBehaviors(builder);
+
+        // Behaviors registered in code can have arbitrary predicates, so they must be tested for every target.
+        item.getBehaviors(BlockTarget.class).forEach(builder::addAnyBlock);
+        item.getBehaviors(EntityTarget.class).forEach(builder::addAnyEntity);
+
+        for (final Definition definition : this.definitions) {
+            if (definition.items().contains(itemId)) definition.compile(builder);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the given spray item's compiled behavior table, compiling it again if it is missing or out of date.
+     * <p>
+     * The loader's generation is read before compiling, so a table compiled while the loader is being applied is never
+     * marked as current, and is instead compiled again the next time that it is requested.
+     *
+     * @param item The spray item.
+     * @param compiled The item's previously compiled behavior table, or {@code null} if it must be compiled again.
+     * @param <I> The spray item type.
+     *
+     * @return The given table if it is up to date, or a newly compiled table.
+     *
+     * @since 2.7.0
+     */
+    public <I extends Item & Sprayed> CompiledTable getTable(I item, @Nullable CompiledTable compiled) {
+        final int generation = this.generation;
+
+        if (compiled != null && compiled.generation() == generation) return compiled;
+
+        return new CompiledTable(generation, this.compile(item));
+    }
+
+    @Override
+    protected void apply(Map<Identifier, JsonElement> prepared, ResourceManager manager, Profiler profiler) {
+        final List<Definition> definitions = new ObjectArrayList<>(prepared.size());
+
+        // Sort by identifier so that behaviors with equal priorities are always compiled in the same order.
+        prepared.keySet().stream().sorted().forEach(id -> {
+            try {
+                final JsonObject object = JsonHelper.asObject(prepared.get(id), "data");
+
+                definitions.add(Definition.parse(object));
+            } catch (final JsonSyntaxException | IllegalArgumentException exception) {
+                Astral.LOGGER.warn("Invalid spray behavior '{}': {}", id, exception.getLocalizedMessage());
+            }
+        });
+
+        this.definitions = Collections.unmodifiableList(definitions);
+        this.generation += 1;
+
+        Astral.LOGGER.info("Loaded {} spray behaviors", definitions.size());
+    }
+
+    /**
+     * A compiled behavior table, along with the loader generation that it was compiled for.
+     * <p>
+     * Both values are published together through a single field, so that a table is never paired with another
+     * table's generation.
+     *
+     * @param generation The loader generation that the table was compiled for.
+     * @param table The compiled behavior table.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    public record CompiledTable(int generation, SprayBehaviorTable table) { }
+
+    /**
+     * The kinds of objects that a loaded behavior may target.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private enum TargetType {
+
+        /**
+         * Targets blocks.
+         *
+         * @since 2.7.0
+         */
+        BLOCK,
+        /**
+         * Targets entities.
+         *
+         * @since 2.7.0
+         */
+        ENTITY
+
+    }
+
+    /**
+     * The transformations that a loaded behavior may apply to its target.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private enum Transform {
+
+        /**
+         * Breaks the targeted block without dropping items.
+         *
+         * @since 2.7.0
+         */
+        BREAK(TargetType.BLOCK),
+        /**
+         * Increases the oxidation level of the targeted block.
+         *
+         * @since 2.7.0
+         */
+        OXIDIZE(TargetType.BLOCK),
+        /**
+         * Replaces the targeted block, keeping any shared properties.
+         *
+         * @since 2.7.0
+         */
+        REPLACE(TargetType.BLOCK),
+        /**
+         * Sets properties of the targeted block's state.
+         *
+         * @since 2.7.0
+         */
+        SET_PROPERTIES(TargetType.BLOCK),
+        /**
+         * Extinguishes the targeted entity.
+         *
+         * @since 2.7.0
+         */
+        EXTINGUISH(TargetType.ENTITY);
+
+        /**
+         * The kind of target that this transform applies to.
+         *
+         * @since 2.7.0
+         */
+        private final TargetType target;
+
+        /**
+         * Creates a new transform.
+         *
+         * @param target The kind of target that this transform applies to.
+         *
+         * @since 2.7.0
+         */
+        Transform(TargetType target) {
+            this.target = target;
+        }
+
+    }
+
+    /**
+     * A loaded spray behavior definition.
+     *
+     * @param items The identifiers of the spray items that this behavior applies to.
+     * @param target The kind of object that this behavior targets.
+     * @param ids The identifiers of the targeted blocks or entity types.
+     * @param tags The identifiers of the targeted block or entity type tags.
+     * @param anyTarget Whether this behavior may target any block or entity type.
+     * @param state The state properties that a targeted block must have.
+     * @param transform The transformation to apply.
+     * @param replacement The replacement block, used by {@link Transform#REPLACE}.
+     * @param properties The properties to set, used by {@link Transform#SET_PROPERTIES}.
+     * @param sound The sound played when the behavior is applied.
+     * @param charges The charges to consume when the behavior is applied.
+     * @param priority The priority of the behavior.
+     * @param cancelling Whether subsequent behaviors should be cancelled.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private record Definition(
+        Set<Identifier> items,
+        TargetType target,
+        List<Identifier> ids,
+        List<Identifier> tags,
+        boolean anyTarget,
+        Map<String, String> state,
+        Transform transform,
+        @Nullable Block replacement,
+        Map<String, String> properties,
+        @Nullable SoundContext sound,
+        int charges,
+        int priority,
+        boolean cancelling
+    ) {
+
+        /**
+         * Parses a behavior definition from the given JSON object.
+         *
+         * @param object The JSON object.
+         *
+         * @return The parsed definition.
+         *
+         * @throws JsonSyntaxException If the definition is invalid.
+         * @since 2.7.0
+         */
+        public static Definition parse(JsonObject object) throws JsonSyntaxException {
+            final Set<Identifier> items = new ObjectOpenHashSet<>();
+
+            for (final JsonElement element : JsonHelper.getArray(object, "items")) {
+                final Identifier itemId = parseIdentifier(JsonHelper.asString(element, "item"));
+
+                if (!Registries.ITEM.containsId(itemId)) {
+                    throw new JsonSyntaxException("Unknown item '%s'".formatted(itemId));
+                }
+
+                items.add(itemId);
+            }
+
+            final TargetType target = parseEnum(TargetType.class, JsonHelper.getString(object, "target"));
+            final Registry<?> registry = target == TargetType.BLOCK ? Registries.BLOCK : Registries.ENTITY_TYPE;
+            final JsonArray targets = JsonHelper.getArray(object, "targets", null);
+            final List<Identifier> ids = new ObjectArrayList<>();
+            final List<Identifier> tags = new ObjectArrayList<>();
+
+            if (targets != null) {
+                for (final JsonElement element : targets) {
+                    final String string = JsonHelper.asString(element, "target");
+
+                    if (string.startsWith("#")) {
+                        tags.add(parseIdentifier(string.substring(1)));
+
+                        continue;
+                    }
+
+                    final Identifier targetId = parseIdentifier(string);
+
+                    if (!registry.containsId(targetId)) {
+                        throw new JsonSyntaxException("Unknown target '%s'".formatted(targetId));
+                    }
+
+                    ids.add(targetId);
+                }
+            }
+
+            final JsonObject transformObject = JsonHelper.getObject(object, "transform");
+            final Transform transform = parseEnum(Transform.class, JsonHelper.getString(transformObject, "type"));
+
+            if (transform.target != target) {
+                throw new JsonSyntaxException("Transform '%s' cannot target %s".formatted(transform, target));
+            }
+
+            Block replacement = null;
+
+            if (transform == Transform.REPLACE) {
+                final Identifier blockId = parseIdentifier(JsonHelper.getString(transformObject, "block"));
+
+                replacement = Registries.BLOCK.getOrEmpty(blockId)
+                    .orElseThrow(() -> new JsonSyntaxException("Unknown block '%s'".formatted(blockId)));
+            }
+
+            final Map<String, String> properties = parseStringMap(transformObject, "properties");
+
+            if (transform == Transform.SET_PROPERTIES && properties.isEmpty()) {
+                throw new JsonSyntaxException("Missing properties to set");
+            }
+
+            final SoundContext sound = object.has("sound") ? parseSound(JsonHelper.getObject(object, "sound")) : null;
+
+            return new Definition(Collections.unmodifiableSet(items),
+                target,
+                Collections.unmodifiableList(ids),
+                Collections.unmodifiableList(tags),
+                targets == null,
+                parseStringMap(object, "state"),
+                transform,
+                replacement,
+                properties,
+                sound,
+                JsonHelper.getInt(object, "charges", 1),
+                JsonHelper.getInt(object, "priority", 0),
+                JsonHelper.getBoolean(object, "cancelling", false)
+            );
+        }
+
+        /**
+         * Parses an enum constant from its lower-case name.
+         *
+         * @param type The enum class.
+         * @param name The constant name.
+         * @param <E> The enum type.
+         *
+         * @return The enum constant.
+         *
+         * @throws JsonSyntaxException If the name is invalid.
+         * @since 2.7.0
+         */
+        private static <E extends Enum<E>> E parseEnum(Class<E> type, String name) throws JsonSyntaxException {
+            try {
+                return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException exception) {
+                throw new JsonSyntaxException("Invalid value '%s'".formatted(name));
+            }
+        }
+
+        /**
+         * Resolves every targeted value within the given registry.
+         *
+         * @param registry The registry.
+         * @param consumer Accepts each targeted value exactly once.
+         * @param <T> The registry's value type.
+         *
+         * @since 2.7.0
+         */
+        private <T> void resolve(Registry<T> registry, Consumer<T> consumer) {
+            final Set<T> values = new ReferenceLinkedOpenHashSet<>();
+
+            for (final Identifier id : this.ids()) {
+                values.add(registry.get(id));
+            }
+
+            for (final Identifier id : this.tags()) {
+                for (final RegistryEntry<T> entry : registry.iterateEntries(TagKey.of(registry.getKey(), id))) {
+                    values.add(entry.value());
+                }
+            }
+
+            values.forEach(consumer);
+        }
+
+        /**
+         * Adds this definition's behavior to the given table builder.
+         *
+         * @param builder The table builder.
+         *
+         * @since 2.7.0
+         */
+        public void compile(SprayBehaviorTable.Builder builder) {
+            if (this.target() == TargetType.BLOCK) {
+                final Behavior<BlockTarget> behavior = new Behavior<>(this::testBlock,
+                    this::applyBlock,
+                    this.charges(),
+                    this.priority(),
+                    this.cancelling()
+                );
+
+                if (this.anyTarget()) {
+                    builder.addAnyBlock(behavior);
+                } else {
+                    this.resolve(Registries.BLOCK, block -> builder.add(block, behavior));
+                }
+            } else {
+                final Behavior<EntityTarget> behavior = new Behavior<>(this::testEntity,
+                    this::applyEntity,
+                    this.charges(),
+                    this.priority(),
+                    this.cancelling()
+                );
+
+                if (this.anyTarget()) {
+                    builder.addAnyEntity(behavior);
+                } else {
+                    this.resolve(Registries.ENTITY_TYPE, type -> builder.add(type, behavior));
+                }
+            }
+        }
+
+        /**
+         * Returns whether the given state has all required properties.
+         *
+         * @param state The block state.
+         *
+         * @return Whether the state matches.
+         *
+         * @since 2.7.0
+         */
+        private boolean matches(BlockState state) {
+            for (final Map.Entry<String, String> entry : this.state().entrySet()) {
+                final Property<?> property = state.getBlock().getStateManager().getProperty(entry.getKey());
+
+                if (property == null || !getValueName(state, property).equals(entry.getValue())) return false;
+            }
+
+            return true;
+        }
+
+        /**
+         * Returns the transformed version of the given state.
+         *
+         * @param state The block state.
+         *
+         * @return The transformed state, or {@code null} if the transform does not apply.
+         *
+         * @since 2.7.0
+         */
+        private @Nullable BlockState transform(BlockState state) {
+            return switch (this.transform()) {
+                case OXIDIZE -> Oxidizable.getIncreasedOxidationBlock(state.getBlock())
+                    .map(block -> block.getStateWithProperties(state))
+                    .orElse(null);
+                case REPLACE -> {
+                    final Block block = Objects.requireNonNull(this.replacement());
+
+                    yield state.isOf(block) ? null : block.getStateWithProperties(state);
+                }
+                case SET_PROPERTIES -> {
+                    BlockState result = state;
+
+                    for (final Map.Entry<String, String> entry : this.properties().entrySet()) {
+                        final Property<?> property = state.getBlock().getStateManager().getProperty(entry.getKey());
+
+                        if (property == null) yield null;
+
+                        result = withValue(result, property, entry.getValue());
+
+                        if (result == null) yield null;
+                    }
+
+                    // Only apply if something would actually change.
+                    yield result.equals(state) ? null : result;
+                }
+                default -> state;
+            };
+        }
+
+        /**
+         * Plays this behavior's sound, if present.
+         * <p>
+         * The sound is only played on the server, which then sends it to all nearby players.
+         *
+         * @param world The current world.
+         * @param target The sprayed block.
+         *
+         * @since 2.7.0
+         */
+        private void playSound(World world, BlockTarget target) {
+            if (this.sound() != null && !world.isClient()) {
+                this.sound().play(world, target.pos().toCenterPos());
+            }
+        }
+
+        /**
+         * Returns whether this behavior applies to the given block.
+         *
+         * @param source The spray source.
+         * @param target The spray target.
+         *
+         * @return Whether the behavior applies.
+         *
+         * @since 2.7.0
+         */
+        private boolean testBlock(Source source, BlockTarget target) {
+            final BlockState state = target.state();
+
+            return this.matches(state) && this.transform(state) != null;
+        }
+
+        /**
+         * Applies this behavior to the given block.
+         *
+         * @param source The spray source.
+         * @param target The spray target.
+         *
+         * @since 2.7.0
+         */
+        private void applyBlock(Source source, BlockTarget target) {
+            final World world = target.world();
+
+            if (this.transform() == Transform.BREAK) {
+                if (source.actor() == null) {
+                    world.breakBlock(target.pos(), false);
+                } else {
+                    world.breakBlock(target.pos(), false, source.actor());
+                }
+            } else {
+                final BlockState state = this.transform(target.state());
+
+                if (state != null) world.setBlockState(target.pos(), state);
+            }
+
+            this.playSound(world, target);
+        }
+
+        /**
+         * Returns whether this behavior applies to the given entity.
+         *
+         * @param source The spray source.
+         * @param target The spray target.
+         *
+         * @return Whether the behavior applies.
+         *
+         * @since 2.7.0
+         */
+        private boolean testEntity(Source source, EntityTarget target) {
+            // Extinguishing is currently the only entity transform.
+            return target.target().isOnFire();
+        }
+
+        /**
+         * Applies this behavior to the given entity.
+         *
+         * @param source The spray source.
+         * @param target The spray target.
+         *
+         * @since 2.7.0
+         */
+        private void applyEntity(Source source, EntityTarget target) {
+            target.target().extinguishWithSound();
+
+            if (this.sound() != null && !target.target().getWorld().isClient()) {
+                this.sound().play(target.target().getWorld(), target.target());
+            }
+        }
+
+    }
+
+}
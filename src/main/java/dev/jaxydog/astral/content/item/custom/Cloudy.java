@@ -20,6 +20,7 @@ import dev.jaxydog.astral.utility.color.Rgb;
 import net.minecraft.entity.Entity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.MathHelper;
 
@@ -29,6 +30,10 @@ import net.minecraft.util.math.MathHelper;
  * This interface handles most of the actual code required for an item's storminess value being updated automatically.
  * It is required, however, for manual invocation of the {@link #updateStorminess(ItemStack, Entity)} method, as well as
  * new implementations for the update delta provider methods.
+ * <p>
+ * Storminess is persisted as a quantized level between {@code 0} and {@link #STORMINESS_LEVELS}, and is only written to
+ * the stack's NBT when that level changes. Smaller changes are accumulated in a transient value kept on the stack, so
+ * that stacks are not marked as changed, and therefore re-synchronized, on every tick.
  *
  * @author Jaxydog
  * @since 1.4.0
@@ -49,6 +54,12 @@ public interface Cloudy {
      * @since 1.4.0
      */
     String STORMINESS_LABEL_KEY = Astral.getId(STORMINESS_KEY.toLowerCase()).toTranslationKey("text");
+    /**
+     * The number of quantized storminess levels above the minimum.
+     *
+     * @since 2.7.0
+     */
+    int STORMINESS_LEVELS = 255;
 
     /**
      * The minimum possible item color value.
@@ -62,6 +73,14 @@ public interface Cloudy {
      * @since 1.4.0
      */
     Rgb COLOR_MAX = new Rgb(0xEE_EE_EE);
+    /**
+     * The item color of each storminess level, indexed by level.
+     * <p>
+     * This is computed once, so that rendering a cloudy item only requires an array read. It must not be modified.
+     *
+     * @since 2.7.0
+     */
+    int[] STORMINESS_COLORS = ColorHelper.gradient(COLOR_MAX, COLOR_MIN, STORMINESS_LEVELS + 1);
 
     /**
      * Sets the given item stack's storminess value.
@@ -75,40 +94,96 @@ public interface Cloudy {
         // Ensure the supplied value fits within the expected bounds.
         storminess = this.clampStorminess(stack, storminess);
 
-        // Remove the item's NBT tag if the storminess is roughly at the minimum bound.
+        stack.astral$setStorminess(storminess);
+
+        final int level = this.toStorminessLevel(stack, storminess);
+
+        // Only write to the NBT if the level changes, since doing so causes the stack to be re-synchronized.
+        if (level == this.getStorminessLevel(stack)) return;
+
+        // Remove the item's NBT tag if the storminess is at the minimum level.
         // This prevents the annoying "feature" of cloudy items, where they would no longer be stackable once they
         // have any level of storminess.
-        if (storminess <= (this.getMinStorminess(stack) + Math.ulp(storminess))) {
+        if (level == 0) {
             stack.removeSubNbt(STORMINESS_KEY);
         } else {
-            stack.getOrCreateNbt().putDouble(STORMINESS_KEY, storminess);
+            stack.getOrCreateNbt().putByte(STORMINESS_KEY, (byte) level);
         }
     }
 
     /**
-     * Returns the given item stack's storminess color.
+     * Returns the given item stack's persisted storminess level.
+     * <p>
+     * Stacks that were saved with an un-quantized storminess value are converted into the nearest level.
      *
      * @param stack The item stack.
      *
-     * @return The sRGB color as an integer.
+     * @return The storminess level.
      *
-     * @since 1.4.0
+     * @since 2.7.0
      */
-    default int getStorminessColor(ItemStack stack) {
+    default int getStorminessLevel(ItemStack stack) {
+        final NbtCompound nbt = stack.getNbt();
+
+        // If the NBT value is not present, we can assume that the value is at the minimum level.
+        if (nbt == null || !nbt.contains(STORMINESS_KEY, NbtElement.NUMBER_TYPE)) return 0;
+
+        if (nbt.contains(STORMINESS_KEY, NbtElement.BYTE_TYPE)) {
+            // Levels are stored unsigned to make use of the byte's full range.
+            return Byte.toUnsignedInt(nbt.getByte(STORMINESS_KEY));
+        } else {
+            return this.toStorminessLevel(stack, nbt.getDouble(STORMINESS_KEY));
+        }
+    }
+
+    /**
+     * Converts the given storminess value into its nearest level.
+     *
+     * @param stack The item stack.
+     * @param storminess The storminess value.
+     *
+     * @return The storminess level.
+     *
+     * @since 2.7.0
+     */
+    default int toStorminessLevel(ItemStack stack, double storminess) {
         final double min = this.getMinStorminess(stack);
         final double max = this.getMaxStorminess(stack);
-        final double storminess = this.getStorminess(stack);
+        final long level = Math.round((storminess - min) / (max - min) * STORMINESS_LEVELS);
 
-        // The minimum and maximum values must be used to get the percentage, as just checking against `max` would
-        // consider values below `min` to be acceptable. This calculation will properly consider values below `min`
-        // to have a negative percentage of fulfillment.
-        final double percentage = (storminess - min) / (max - min);
+        return (int) MathHelper.clamp(level, 0L, STORMINESS_LEVELS);
+    }
+
+    /**
+     * Converts the given storminess level into its storminess value.
+     *
+     * @param stack The item stack.
+     * @param level The storminess level.
+     *
+     * @return The storminess value.
+     *
+     * @since 2.7.0
+     */
+    default double fromStorminessLevel(ItemStack stack, int level) {
+        final double min = this.getMinStorminess(stack);
+        final double max = this.getMaxStorminess(stack);
+
+        return MathHelper.lerp((double) level / STORMINESS_LEVELS, min, max);
+    }
 
-        // We subtract percentage from `1D` because we want to transition *away* from `COLOR_MAX`, down towards
-        // `COLOR_MIN`. This also means, however, if the percentage is < 0D || > 1D, the color will be outside the
-        // expected range.
-        // Perhaps in the future a clamp will be added to prevent erroneous values.
-        return ColorHelper.transition(COLOR_MIN, COLOR_MAX, 1D - percentage).integer();
+    /**
+     * Returns the given item stack's storminess color.
+     *
+     * @param stack The item stack.
+     *
+     * @return The sRGB color as an integer.
+     *
+     * @since 1.4.0
+     */
+    default int getStorminessColor(ItemStack stack) {
+        // Colors transition *away* from `COLOR_MAX`, down towards `COLOR_MIN`, as the storminess level increases.
+        // Levels are always within the table's bounds, so no clamping is needed.
+        return STORMINESS_COLORS[this.getStorminessLevel(stack)];
     }
 
     /**
@@ -121,18 +196,17 @@ public interface Cloudy {
      * @since 1.4.0
      */
     default double getStorminess(ItemStack stack) {
-        final NbtCompound nbt = stack.getNbt();
+        final int level = this.getStorminessLevel(stack);
+        final double storminess = stack.astral$getStorminess();
 
-        // If the NBT value is not present, we can assume that the value is at the minimum bound.
-        if (nbt != null && nbt.contains(STORMINESS_KEY)) {
-            final double storminess = nbt.getDouble(STORMINESS_KEY);
-
-            // Ensure that the returned value is within the allowed range, since the NBT may be set to an invalid value.
-            return this.clampStorminess(stack, storminess);
-        } else {
-            // No need to clamp this, since it's always a valid value.
-            return this.getMinStorminess(stack);
+        // The transient value is only trusted while it agrees with the persisted level, since the stack may have been
+        // copied without it, or had its NBT modified externally.
+        if (!Double.isNaN(storminess) && this.toStorminessLevel(stack, storminess) == level) {
+            return storminess;
         }
+
+        // No need to clamp this, since levels are always within the allowed range.
+        return this.fromStorminessLevel(stack, level);
     }
 
     /**
@@ -14,7 +14,6 @@
 
 package dev.jaxydog.astral.content.item.custom;
 
-import com.google.common.collect.Lists;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.effect.StatusEffect;
@@ -28,7 +27,7 @@ import net.minecraft.registry.RegistryKey;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
+import java.util.Iterator;
 import java.util.function.Supplier;
 
 /**
@@ -41,6 +40,19 @@ import java.util.function.Supplier;
  */
 public class DyeableCloudyArmorItem extends CloudyArmorItem implements DyeableItem {
 
+    /**
+     * The duration of the full-set status effects, in ticks.
+     *
+     * @since 2.7.0
+     */
+    public static final int EFFECT_DURATION = 20;
+    /**
+     * The remaining duration at which the full-set status effect is refreshed, in ticks.
+     *
+     * @since 2.7.0
+     */
+    public static final int EFFECT_REFRESH_DURATION = 5;
+
     /**
      * Creates a new armor item using the given settings.
      * <p>
@@ -97,20 +109,47 @@ public class DyeableCloudyArmorItem extends CloudyArmorItem implements DyeableIt
         // This super-call handles updating storminess values for us.
         super.inventoryTick(stack, world, entity, slot, selected);
 
-        // Get all equipped armor items that are instances of this class.
-        final List<ItemStack> armor = Lists.newArrayList(entity.getArmorItems());
-        final boolean matching = armor.stream().allMatch(s -> s.getItem() instanceof DyeableCloudyArmorItem);
+        if (!(entity instanceof final LivingEntity living)) return;
+
+        final Iterator<ItemStack> armor = living.getArmorItems().iterator();
+
+        // Every worn piece is ticked, so the full set is only evaluated from the first armor slot to ensure that it
+        // runs once per entity per tick.
+        if (!armor.hasNext() || armor.next() != stack) return;
+
+        this.applySetEffect(living);
+    }
+
+    /**
+     * Applies the full-set status effect to the given entity if it is wearing a full set.
+     *
+     * @param entity The entity.
+     *
+     * @since 2.7.0
+     */
+    private void applySetEffect(LivingEntity entity) {
+        double storminess = 0D;
+        int count = 0;
 
-        // Apply the effects only when wearing a full set.
-        if (armor.size() == 4 && matching && entity instanceof final LivingEntity living) {
-            // Compute an average value from the combined storminess values.
-            final double level = armor.stream().map(this::getStorminess).reduce(0D, Double::sum) / 4D;
-            // If the average is below 0.5D or 50%, apply slowness instead of jump boost.
-            final StatusEffect type = level < 0.5D ? StatusEffects.JUMP_BOOST : StatusEffects.SLOWNESS;
+        for (final ItemStack piece : entity.getArmorItems()) {
+            // Apply the effects only when wearing a full set.
+            if (!(piece.getItem() instanceof final DyeableCloudyArmorItem item)) return;
 
-            // Effects should last at least 20 ticks or 1 second to prevent any weirdness.
-            living.addStatusEffect(new StatusEffectInstance(type, 20, 0, false, false));
+            storminess += item.getStorminess(piece);
+            count += 1;
         }
+
+        if (count != 4) return;
+
+        // If the average is below 0.5D or 50%, apply slowness instead of jump boost.
+        final StatusEffect type = storminess / count < 0.5D ? StatusEffects.JUMP_BOOST : StatusEffects.SLOWNESS;
+        final @Nullable StatusEffectInstance current = entity.getStatusEffect(type);
+
+        // Only refresh the effect once it is about to expire, rather than re-applying it every tick.
+        if (current != null && current.getDuration() > EFFECT_REFRESH_DURATION) return;
+
+        // Effects should last at least 20 ticks or 1 second to prevent any weirdness.
+        entity.addStatusEffect(new StatusEffectInstance(type, EFFECT_DURATION, 0, false, false));
     }
 
     @Override
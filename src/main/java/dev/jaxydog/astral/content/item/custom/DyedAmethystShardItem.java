@@ -35,9 +35,7 @@ import net.minecraft.util.DyeColor;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
-import java.awt.image.BufferedImage;
 import java.util.Arrays;
-import java.util.Optional;
 import java.util.function.Supplier;
 
 /**
@@ -119,13 +117,11 @@ public class DyedAmethystShardItem extends AstralItem implements Generated {
         TagGenerator.getInstance().generate(AMETHYST_SHARDS, g -> g.add(this));
 
         TextureGenerator.getInstance().generate(Registries.ITEM.getKey(), instance -> {
-            final Optional<BufferedImage> maybeSource = instance.getImage("amethyst_shard");
-
-            if (maybeSource.isPresent()) {
-                final BufferedImage image = DyedAmethystBlock.DYE_MAPPER.convert(maybeSource.get(), this.getColor());
-
-                instance.generate(this.getRegistryId(), image);
-            }
+            instance.generate(this.getRegistryId(),
+                "amethyst_shard",
+                DyedAmethystBlock.getDyeMapperParameters(this.getColor()),
+                image -> DyedAmethystBlock.DYE_MAPPER.convert(image, this.getColor())
+            );
         });
 
         final Block block = AstralBlocks.DYED_AMETHYST_BLOCKS.getComputed(this.getColor());
@@ -0,0 +1,301 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.content.item.custom;
+
+import dev.jaxydog.astral.content.item.custom.Sprayed.Behavior;
+import dev.jaxydog.astral.content.item.custom.Sprayed.BlockTarget;
+import dev.jaxydog.astral.content.item.custom.Sprayed.EntityTarget;
+import dev.jaxydog.astral.content.item.custom.Sprayed.SprayTarget;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.entity.EntityType;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled dispatch table of spray behaviors.
+ * <p>
+ * Behaviors are grouped by the block or entity type that they target, so that spraying only needs to perform a single
+ * map lookup rather than testing every known behavior's predicate in sequence. Behaviors that do not target specific
+ * types are added to every group, and are used as a fallback for any type without its own group.
+ * <p>
+ * Every returned list is sorted by priority in descending order, and may not be modified.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public final class SprayBehaviorTable {
+
+    /**
+     * An empty behavior table.
+     *
+     * @since 2.7.0
+     */
+    public static final SprayBehaviorTable EMPTY = new Builder().build();
+
+    /**
+     * Sorts behaviors by their priority in descending order.
+     * <p>
+     * List sorting is stable, so behaviors with equal priorities will keep their insertion order.
+     *
+     * @since 2.7.0
+     */
+    private static final Comparator<Behavior<?>> ORDER = Comparator.comparingInt((Behavior<?> b) -> b.priority())
+        .reversed();
+
+    /**
+     * The behaviors grouped by their targeted block.
+     *
+     * @since 2.7.0
+     */
+    private final Reference2ObjectMap<Block, List<Behavior<BlockTarget>>> blocks;
+    /**
+     * The behaviors used for blocks without a group.
+     *
+     * @since 2.7.0
+     */
+    private final List<Behavior<BlockTarget>> anyBlock;
+    /**
+     * The behaviors grouped by their targeted entity type.
+     *
+     * @since 2.7.0
+     */
+    private final Reference2ObjectMap<EntityType<?>, List<Behavior<EntityTarget>>> entities;
+    /**
+     * The behaviors used for entity types without a group.
+     *
+     * @since 2.7.0
+     */
+    private final List<Behavior<EntityTarget>> anyEntity;
+
+    /**
+     * Creates a new behavior table.
+     *
+     * @param blocks The behaviors grouped by their targeted block.
+     * @param anyBlock The behaviors used for blocks without a group.
+     * @param entities The behaviors grouped by their targeted entity type.
+     * @param anyEntity The behaviors used for entity types without a group.
+     *
+     * @since 2.7.0
+     */
+    private SprayBehaviorTable(
+        Reference2ObjectMap<Block, List<Behavior<BlockTarget>>> blocks,
+        List<Behavior<BlockTarget>> anyBlock,
+        Reference2ObjectMap<EntityType<?>, List<Behavior<EntityTarget>>> entities,
+        List<Behavior<EntityTarget>> anyEntity
+    ) {
+        this.blocks = blocks;
+        this.anyBlock = anyBlock;
+        this.entities = entities;
+        this.anyEntity = anyEntity;
+    }
+
+    /**
+     * Returns a sorted and unmodifiable copy of the given behaviors.
+     *
+     * @param behaviors The behaviors.
+     * @param <T> The behaviors' target type.
+     *
+     * @return A sorted list.
+     *
+     * @since 2.7.0
+     */
+    private static <T extends SprayTarget> List<Behavior<T>> sorted(List<Behavior<T>> behaviors) {
+        if (behaviors.isEmpty()) return List.of();
+
+        final List<Behavior<T>> list = new ObjectArrayList<>(behaviors);
+
+        list.sort(ORDER);
+
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Groups and sorts the given behaviors.
+     *
+     * @param keyed The behaviors that target specific keys.
+     * @param any The behaviors that target any key.
+     * @param <K> The key type.
+     * @param <T> The behaviors' target type.
+     *
+     * @return The grouped behaviors.
+     *
+     * @since 2.7.0
+     */
+    private static <K, T extends SprayTarget> Reference2ObjectMap<K, List<Behavior<T>>> group(
+        Map<K, List<Behavior<T>>> keyed, List<Behavior<T>> any
+    ) {
+        final Reference2ObjectMap<K, List<Behavior<T>>> map = new Reference2ObjectOpenHashMap<>(keyed.size());
+
+        keyed.forEach((key, behaviors) -> {
+            final List<Behavior<T>> list = new ObjectArrayList<>(behaviors.size() + any.size());
+
+            list.addAll(behaviors);
+            list.addAll(any);
+
+            map.put(key, sorted(list));
+        });
+
+        return map;
+    }
+
+    /**
+     * Returns the behaviors that may apply to the given block.
+     *
+     * @param block The block.
+     *
+     * @return A list of behaviors.
+     *
+     * @since 2.7.0
+     */
+    public List<Behavior<BlockTarget>> getBehaviors(Block block) {
+        final List<Behavior<BlockTarget>> list = this.blocks.get(block);
+
+        return list == null ? this.anyBlock : list;
+    }
+
+    /**
+     * Returns the behaviors that may apply to the given entity type.
+     *
+     * @param type The entity type.
+     *
+     * @return A list of behaviors.
+     *
+     * @since 2.7.0
+     */
+    public List<Behavior<EntityTarget>> getBehaviors(EntityType<?> type) {
+        final List<Behavior<EntityTarget>> list = this.entities.get(type);
+
+        return list == null ? this.anyEntity : list;
+    }
+
+    /**
+     * Builds a behavior table.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    public static final class Builder {
+
+        /**
+         * The behaviors grouped by their targeted block.
+         *
+         * @since 2.7.0
+         */
+        private final Map<Block, List<Behavior<BlockTarget>>> blocks = new Reference2ObjectOpenHashMap<>();
+        /**
+         * The behaviors that target any block.
+         *
+         * @since 2.7.0
+         */
+        private final List<Behavior<BlockTarget>> anyBlock = new ObjectArrayList<>();
+        /**
+         * The behaviors grouped by their targeted entity type.
+         *
+         * @since 2.7.0
+         */
+        private final Map<EntityType<?>, List<Behavior<EntityTarget>>> entities = new Reference2ObjectOpenHashMap<>();
+        /**
+         * The behaviors that target any entity type.
+         *
+         * @since 2.7.0
+         */
+        private final List<Behavior<EntityTarget>> anyEntity = new ObjectArrayList<>();
+
+        /**
+         * Adds a behavior that only targets the given block.
+         *
+         * @param block The targeted block.
+         * @param behavior The behavior.
+         *
+         * @return This builder.
+         *
+         * @since 2.7.0
+         */
+        public Builder add(Block block, Behavior<BlockTarget> behavior) {
+            this.blocks.computeIfAbsent(block, b -> new ObjectArrayList<>(1)).add(behavior);
+
+            return this;
+        }
+
+        /**
+         * Adds a behavior that only targets the given entity type.
+         *
+         * @param type The targeted entity type.
+         * @param behavior The behavior.
+         *
+         * @return This builder.
+         *
+         * @since 2.7.0
+         */
+        public Builder add(EntityType<?> type, Behavior<EntityTarget> behavior) {
+            this.entities.computeIfAbsent(type, t -> new ObjectArrayList<>(1)).add(behavior);
+
+            return this;
+        }
+
+        /**
+         * Adds a behavior that may target any block.
+         *
+         * @param behavior The behavior.
+         *
+         * @return This builder.
+         *
+         * @since 2.7.0
+         */
+        public Builder addAnyBlock(Behavior<BlockTarget> behavior) {
+            this.anyBlock.add(behavior);
+
+            return this;
+        }
+
+        /**
+         * Adds a behavior that may target any entity type.
+         *
+         * @param behavior The behavior.
+         *
+         * @return This builder.
+         *
+         * @since 2.7.0
+         */
+        public Builder addAnyEntity(Behavior<EntityTarget> behavior) {
+            this.anyEntity.add(behavior);
+
+            return this;
+        }
+
+        /**
+         * Compiles the added behaviors into a new behavior table.
+         *
+         * @return A new behavior table.
+         *
+         * @since 2.7.0
+         */
+        public SprayBehaviorTable build() {
+            return new SprayBehaviorTable(group(this.blocks, this.anyBlock),
+                sorted(this.anyBlock),
+                group(this.entities, this.anyEntity),
+                sorted(this.anyEntity)
+            );
+        }
+
+    }
+
+}
@@ -14,6 +14,8 @@
 
 package dev.jaxydog.astral.content.item.custom;
 
+import dev.jaxydog.astral.content.data.AstralDataLoaders;
+import dev.jaxydog.astral.content.data.custom.SprayBehaviorLoader.CompiledTable;
 import dev.jaxydog.astral.content.item.AstralItem;
 import dev.jaxydog.astral.content.sound.SoundContext;
 import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
@@ -30,6 +32,7 @@ import net.minecraft.item.ItemGroup;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.ItemUsageContext;
 import net.minecraft.predicate.entity.EntityPredicates;
+import net.minecraft.registry.Registries;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.tag.FluidTags;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -51,6 +54,7 @@ import net.minecraft.world.event.GameEvent;
 import net.minecraft.world.event.GameEvent.Emitter;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -109,6 +113,15 @@ public class SprayBottleItem extends AstralItem implements Sprayed {
      * @since 2.0.0
      */
     private final Map<Class<? extends SprayTarget>, List<Behavior<? extends SprayTarget>>> behaviors = new Object2ObjectArrayMap<>();
+    /**
+     * The compiled behavior table, or {@code null} if it must be compiled again.
+     * <p>
+     * This may be accessed by both the server and client threads in singleplayer, so the table and its generation are
+     * always replaced together.
+     *
+     * @since 2.7.0
+     */
+    private volatile @Nullable CompiledTable table = null;
 
     /**
      * Creates a new item using the given settings.
@@ -141,16 +154,36 @@ public class SprayBottleItem extends AstralItem implements Sprayed {
 
     @Override
     public <T extends SprayTarget> void addBehavior(Class<T> type, Behavior<T> behavior) {
-        this.behaviors.putIfAbsent(type, new ObjectArrayList<>(1));
-        this.behaviors.get(type).add(behavior);
+        final List<Behavior<? extends SprayTarget>> list = this.behaviors.computeIfAbsent(type,
+            t -> new ObjectArrayList<>(1)
+        );
+
+        // Keep the list sorted by descending priority so that it never needs to be sorted when spraying.
+        list.add(Sprayed.getInsertionIndex(list, behavior), behavior);
+
+        this.table = null;
     }
 
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
     public <T extends SprayTarget> List<Behavior<T>> getBehaviors(Class<T> type) {
-        if (!this.behaviors.containsKey(type)) return List.of();
+        final List<Behavior<? extends SprayTarget>> list = this.behaviors.get(type);
+
+        if (list == null) return List.of();
+
+        // The list only ever contains behaviors of the given type, so this cast is safe.
+        return (List) Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public SprayBehaviorTable getBehaviorTable() {
+        final @Nullable CompiledTable previous = this.table;
+        // Compiles the table again if any behaviors have been added or loaded since it was last compiled.
+        final CompiledTable table = AstralDataLoaders.SPRAY_BEHAVIORS.getTable(this, previous);
 
-        return this.behaviors.get(type).stream().map(b -> (Behavior<T>) b).toList();
+        if (table != previous) this.table = table;
+
+        return table.table();
     }
 
     @Override
@@ -248,20 +281,19 @@ public class SprayBottleItem extends AstralItem implements Sprayed {
         stack.setDamage(stack.getMaxDamage());
     }
 
-    @SuppressWarnings("resource")
     @Override
-    public void registerCommon() {
+    public void addTargetedBehaviors(SprayBehaviorTable.Builder builder) {
         // Entity extinguishing.
-        this.addBehavior(EntityTarget.class, new Behavior<>((source, target) -> target.target().isOnFire(),
+        builder.addAnyEntity(new Behavior<>((source, target) -> target.target().isOnFire(),
             (source, target) -> target.target().extinguishWithSound(),
             2
         ));
 
         // Block oxidization.
-        this.addBehavior(BlockTarget.class, new Behavior<>((source, target) -> {
+        final Behavior<BlockTarget> oxidize = new Behavior<>((source, target) -> {
             final Block block = target.state().getBlock();
 
-            return block instanceof Oxidizable oxidizable && Oxidizable.getIncreasedOxidationBlock(block).isPresent();
+            return block instanceof Oxidizable && Oxidizable.getIncreasedOxidationBlock(block).isPresent();
         }, (source, target) -> {
             final Block block = target.state().getBlock();
             final Optional<Block> increased = Oxidizable.getIncreasedOxidationBlock(block);
@@ -271,10 +303,10 @@ public class SprayBottleItem extends AstralItem implements Sprayed {
 
                 target.world().setBlockState(target.pos(), state);
             });
-        }, 1, 100));
+        }, 1, 100);
 
         // Farmland moisturization.
-        this.addBehavior(BlockTarget.class, new Behavior<>((source, target) -> {
+        builder.add(Blocks.FARMLAND, new Behavior<>((source, target) -> {
             final BlockState state = target.state();
             final Block block = state.getBlock();
 
@@ -286,14 +318,12 @@ public class SprayBottleItem extends AstralItem implements Sprayed {
         }, 4));
 
         // Fire extinguishing.
-        this.addBehavior(BlockTarget.class, new Behavior<>((source, target) -> {
+        final Behavior<BlockTarget> extinguishFire = new Behavior<>((source, target) -> {
             final BlockState state = target.state();
             final Block block = state.getBlock();
 
             return block instanceof AbstractFireBlock;
         }, (source, target) -> {
-            final BlockState state = target.state();
-
             if (source.actor() == null) {
                 target.world().breakBlock(target.pos(), false);
             } else {
@@ -301,10 +331,10 @@ public class SprayBottleItem extends AstralItem implements Sprayed {
             }
 
             EXTINGUISH_BLOCK_SOUND.play(target.world(), target.pos(), false);
-        }, 2));
+        }, 2);
 
         // Campfire extinguishing.
-        this.addBehavior(BlockTarget.class, new Behavior<>((source, target) -> {
+        final Behavior<BlockTarget> extinguishCampfire = new Behavior<>((source, target) -> {
             final BlockState state = target.state();
             final Block block = state.getBlock();
 
@@ -315,10 +345,10 @@ public class SprayBottleItem extends AstralItem implements Sprayed {
             target.world().setBlockState(target.pos(), state.with(CampfireBlock.LIT, false));
 
             EXTINGUISH_BLOCK_SOUND.play(target.world(), target.pos(), false);
-        }, 2));
+        }, 2);
 
         // Sponge drying.
-        this.addBehavior(BlockTarget.class, new Behavior<>((source, target) -> {
+        builder.add(Blocks.SPONGE, new Behavior<>((source, target) -> {
             final BlockState state = target.state();
 
             return state.isOf(Blocks.SPONGE);
@@ -330,6 +360,17 @@ public class SprayBottleItem extends AstralItem implements Sprayed {
             SPONGE_SQUISH_SOUND.play(target.world(), target.pos(), false);
         }, 4));
 
+        // Key the type-based behaviors by every block that they could apply to, so that other blocks never test them.
+        for (final Block block : Registries.BLOCK) {
+            if (Oxidizable.getIncreasedOxidationBlock(block).isPresent()) builder.add(block, oxidize);
+            if (block instanceof AbstractFireBlock) builder.add(block, extinguishFire);
+            if (block instanceof CampfireBlock) builder.add(block, extinguishCampfire);
+        }
+    }
+
+    @SuppressWarnings("resource")
+    @Override
+    public void registerCommon() {
         super.registerCommon();
 
         // Allow refilling using cauldrons.
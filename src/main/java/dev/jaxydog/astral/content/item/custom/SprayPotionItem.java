@@ -1,5 +1,7 @@
 package dev.jaxydog.astral.content.item.custom;
 
+import dev.jaxydog.astral.content.data.AstralDataLoaders;
+import dev.jaxydog.astral.content.data.custom.SprayBehaviorLoader.CompiledTable;
 import dev.jaxydog.astral.content.item.AstralItems;
 import dev.jaxydog.astral.content.item.AstralPotionItem;
 import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
@@ -34,6 +36,7 @@ import net.minecraft.world.event.GameEvent;
 import net.minecraft.world.event.GameEvent.Emitter;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -65,6 +68,15 @@ public class SprayPotionItem extends AstralPotionItem implements Sprayed {
      * @since 2.0.0
      */
     private final Map<Class<? extends SprayTarget>, List<Behavior<? extends SprayTarget>>> behaviors = new Object2ObjectArrayMap<>();
+    /**
+     * The compiled behavior table, or {@code null} if it must be compiled again.
+     * <p>
+     * This may be accessed by both the server and client threads in singleplayer, so the table and its generation are
+     * always replaced together.
+     *
+     * @since 2.7.0
+     */
+    private volatile @Nullable CompiledTable table = null;
 
     /**
      * Creates a new item using the given settings.
@@ -132,16 +144,36 @@ public class SprayPotionItem extends AstralPotionItem implements Sprayed {
 
     @Override
     public <T extends SprayTarget> void addBehavior(Class<T> type, Behavior<T> behavior) {
-        this.behaviors.putIfAbsent(type, new ObjectArrayList<>(1));
-        this.behaviors.get(type).add(behavior);
+        final List<Behavior<? extends SprayTarget>> list = this.behaviors.computeIfAbsent(type,
+            t -> new ObjectArrayList<>(1)
+        );
+
+        // Keep the list sorted by descending priority so that it never needs to be sorted when spraying.
+        list.add(Sprayed.getInsertionIndex(list, behavior), behavior);
+
+        this.table = null;
     }
 
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
     public <T extends SprayTarget> List<Behavior<T>> getBehaviors(Class<T> type) {
-        if (!this.behaviors.containsKey(type)) return List.of();
+        final List<Behavior<? extends SprayTarget>> list = this.behaviors.get(type);
+
+        if (list == null) return List.of();
+
+        // The list only ever contains behaviors of the given type, so this cast is safe.
+        return (List) Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public SprayBehaviorTable getBehaviorTable() {
+        final @Nullable CompiledTable previous = this.table;
+        // Compiles the table again if any behaviors have been added or loaded since it was last compiled.
+        final CompiledTable table = AstralDataLoaders.SPRAY_BEHAVIORS.getTable(this, previous);
+
+        if (table != previous) this.table = table;
 
-        return this.behaviors.get(type).stream().map(b -> (Behavior<T>) b).toList();
+        return table.table();
     }
 
     @Override
@@ -23,6 +23,7 @@ import dev.jaxydog.astral.content.sound.SoundContext;
 import dev.jaxydog.astral.register.Registered.Client;
 import dev.jaxydog.astral.utility.injected.SprayableEntity;
 import io.github.apace100.apoli.component.PowerHolderComponent;
+import io.github.apace100.apoli.power.Power;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.item.ModelPredicateProviderRegistry;
@@ -83,6 +84,67 @@ public interface Sprayed extends Client, Custom {
      */
     SoundContext REFILL_SOUND = new SoundContext(SoundEvents.ITEM_BOTTLE_FILL, SoundCategory.NEUTRAL);
 
+    /**
+     * Sorts {@code astral:action_when_sprayed} powers by their priority in descending order.
+     *
+     * @since 2.7.0
+     */
+    Comparator<ActionWhenSprayedPower> TARGET_POWER_ORDER = Comparator.comparingInt(ActionWhenSprayedPower::getPriority)
+        .reversed();
+    /**
+     * Sorts {@code astral:action_on_spray} powers by their priority in descending order.
+     *
+     * @since 2.7.0
+     */
+    Comparator<ActionOnSprayPower> ACTOR_POWER_ORDER = Comparator.comparingInt(ActionOnSprayPower::getPriority)
+        .reversed();
+
+    /**
+     * Returns the index that the given behavior should be inserted at to keep the list sorted by descending priority.
+     * <p>
+     * Behaviors with equal priorities keep their insertion order.
+     *
+     * @param list The sorted behavior list.
+     * @param behavior The behavior to insert.
+     *
+     * @return The insertion index.
+     *
+     * @since 2.7.0
+     */
+    static int getInsertionIndex(List<? extends Behavior<?>> list, Behavior<?> behavior) {
+        int index = list.size();
+
+        while (index > 0 && list.get(index - 1).priority() < behavior.priority()) index -= 1;
+
+        return index;
+    }
+
+    /**
+     * Returns the given entity's powers of the given type, sorted using the provided comparator.
+     * <p>
+     * This avoids sorting entirely if the entity has less than two matching powers.
+     *
+     * @param entity The entity.
+     * @param type The power type.
+     * @param order The sorting order.
+     * @param <P> The power type.
+     *
+     * @return A list of powers.
+     *
+     * @since 2.7.0
+     */
+    default <P extends Power> List<P> getSortedPowers(@Nullable Entity entity, Class<P> type, Comparator<P> order) {
+        final List<P> powers = PowerHolderComponent.getPowers(entity, type);
+
+        if (powers.size() < 2) return powers;
+
+        final List<P> sorted = new ObjectArrayList<>(powers);
+
+        sorted.sort(order);
+
+        return sorted;
+    }
+
     /**
      * Adds a new behavior to this spray item.
      *
@@ -96,6 +158,8 @@ public interface Sprayed extends Client, Custom {
 
     /**
      * Returns a list of behaviors for this spray item.
+     * <p>
+     * The returned list is sorted by priority in descending order, and should not be modified.
      *
      * @param type The class of the behavior's expected target type.
      * @param <T> The behavior's expected target type.
@@ -106,6 +170,32 @@ public interface Sprayed extends Client, Custom {
      */
     <T extends SprayTarget> List<Behavior<T>> getBehaviors(Class<T> type);
 
+    /**
+     * Adds this spray item's built-in behaviors that only apply to specific blocks or entity types to the given builder.
+     * <p>
+     * Unlike behaviors registered through {@link #addBehavior(Class, Behavior)}, these are only tested for the types
+     * that they are added for. They are added every time that the behavior table is compiled, and are available on
+     * both the client and the server, unlike behaviors loaded from data.
+     *
+     * @param builder The behavior table builder.
+     *
+     * @since 2.7.0
+     */
+    default void addTargetedBehaviors(SprayBehaviorTable.Builder builder) { }
+
+    /**
+     * Returns this spray item's compiled behavior table.
+     * <p>
+     * The table contains the behaviors added by {@link #addTargetedBehaviors(SprayBehaviorTable.Builder)}, the
+     * behaviors registered through {@link #addBehavior(Class, Behavior)}, and any behaviors loaded from data, and should
+     * be compiled again whenever either of the latter two change.
+     *
+     * @return The behavior table.
+     *
+     * @since 2.7.0
+     */
+    SprayBehaviorTable getBehaviorTable();
+
     /**
      * Returns the data used within a spray item's model in order to determine its current texture.
      * <p>
@@ -329,22 +419,20 @@ public interface Sprayed extends Client, Custom {
         if (!this.isSprayable(source.stack(), charges)) return false;
 
         // Return true if the stack has any valid behaviors.
-        if (this.getBehaviors(EntityTarget.class).stream().anyMatch(b -> b.predicate().test(source, target))) {
-            return true;
+        final List<Behavior<EntityTarget>> behaviors = this.getBehaviorTable().getBehaviors(target.target().getType());
+
+        for (final Behavior<EntityTarget> behavior : behaviors) {
+            if (behavior.predicate().test(source, target)) return true;
         }
 
         // Return true if the target has any valid `astral:action_when_sprayed` powers.
-        if (PowerHolderComponent.getPowers(target.target(), ActionWhenSprayedPower.class)
-            .stream()
-            .anyMatch(p -> p.canSpray(source.actor(), source.stack()))) {
-            return true;
+        for (final ActionWhenSprayedPower power : PowerHolderComponent.getPowers(target.target(), ActionWhenSprayedPower.class)) {
+            if (power.canSpray(source.actor(), source.stack())) return true;
         }
 
         // Return true if the entity has any valid `astral:action_on_sprayed` powers.
-        if (PowerHolderComponent.getPowers(source.actor(), ActionOnSprayPower.class)
-            .stream()
-            .anyMatch(p -> p.canSpray(target.target(), source.stack()))) {
-            return true;
+        for (final ActionOnSprayPower power : PowerHolderComponent.getPowers(source.actor(), ActionOnSprayPower.class)) {
+            if (power.canSpray(target.target(), source.stack())) return true;
         }
 
         return target.target() instanceof SprayableEntity && this.getDuration(source.stack()) > 0;
@@ -365,14 +453,18 @@ public interface Sprayed extends Client, Custom {
         if (!this.isSprayable(source.stack(), charges)) return false;
 
         // Return true if the entity has any valid `astral:action_on_sprayed` powers.
-        if (PowerHolderComponent.getPowers(source.actor(), ActionOnSprayPower.class)
-            .stream()
-            .anyMatch(p -> p.canSpray(target.world(), target.pos(), source.stack()))) {
-            return true;
+        for (final ActionOnSprayPower power : PowerHolderComponent.getPowers(source.actor(), ActionOnSprayPower.class)) {
+            if (power.canSpray(target.world(), target.pos(), source.stack())) return true;
         }
 
         // Return true if the stack has any valid behaviors.
-        return this.getBehaviors(BlockTarget.class).stream().anyMatch(b -> b.predicate().test(source, target));
+        final List<Behavior<BlockTarget>> behaviors = this.getBehaviorTable().getBehaviors(target.state().getBlock());
+
+        for (final Behavior<BlockTarget> behavior : behaviors) {
+            if (behavior.predicate().test(source, target)) return true;
+        }
+
+        return false;
     }
 
     /**
@@ -390,15 +482,10 @@ public interface Sprayed extends Client, Custom {
         final List<Runnable> actions = new ObjectArrayList<>();
         int charges = 0;
 
-        // Sort by behavior priority in descending order.
-        final List<Behavior<EntityTarget>> behaviors = this.getBehaviors(EntityTarget.class)
-            .stream()
-            .sorted(Comparator.comparingInt(Behavior<EntityTarget>::priority).reversed())
-            .toList();
+        // Behaviors are already grouped by target and sorted by priority in descending order.
+        final List<Behavior<EntityTarget>> behaviors = this.getBehaviorTable().getBehaviors(target.target().getType());
 
-        for (final Behavior<EntityTarget> behavior : behaviors.stream()
-            .sorted(Comparator.comparingInt(Behavior<EntityTarget>::priority).reversed())
-            .toList()) {
+        for (final Behavior<EntityTarget> behavior : behaviors) {
             if (!behavior.predicate().test(source, target)) continue;
 
             actions.add(() -> behavior.action().accept(source, target));
@@ -408,12 +495,10 @@ public interface Sprayed extends Client, Custom {
         }
 
         // Sort by power priority in descending order.
-        final List<ActionWhenSprayedPower> targetPowers = PowerHolderComponent.getPowers(target.target(),
-                ActionWhenSprayedPower.class
-            )
-            .stream()
-            .sorted(Comparator.comparingInt(ActionWhenSprayedPower::getPriority).reversed())
-            .toList();
+        final List<ActionWhenSprayedPower> targetPowers = this.getSortedPowers(target.target(),
+            ActionWhenSprayedPower.class,
+            TARGET_POWER_ORDER
+        );
 
         for (final ActionWhenSprayedPower power : targetPowers) {
             if (!power.canSpray(source.actor(), source.stack())) continue;
@@ -423,12 +508,10 @@ public interface Sprayed extends Client, Custom {
         }
 
         // Sort by power priority in descending order.
-        final List<ActionOnSprayPower> actorPowers = PowerHolderComponent.getPowers(source.actor(),
-                ActionOnSprayPower.class
-            )
-            .stream()
-            .sorted(Comparator.comparingInt(ActionOnSprayPower::getPriority).reversed())
-            .toList();
+        final List<ActionOnSprayPower> actorPowers = this.getSortedPowers(source.actor(),
+            ActionOnSprayPower.class,
+            ACTOR_POWER_ORDER
+        );
 
         for (final ActionOnSprayPower power : actorPowers) {
             if (!power.canSpray(target.target(), source.stack())) continue;
@@ -466,11 +549,8 @@ public interface Sprayed extends Client, Custom {
         final List<Runnable> actions = new ObjectArrayList<>();
         int charges = 0;
 
-        // Sort by behavior priority in descending order.
-        final List<Behavior<BlockTarget>> behaviors = this.getBehaviors(BlockTarget.class)
-            .stream()
-            .sorted(Comparator.comparingInt(Behavior<BlockTarget>::priority).reversed())
-            .toList();
+        // Behaviors are already grouped by target and sorted by priority in descending order.
+        final List<Behavior<BlockTarget>> behaviors = this.getBehaviorTable().getBehaviors(target.state().getBlock());
 
         for (final Behavior<BlockTarget> behavior : behaviors) {
             if (!behavior.predicate().test(source, target)) continue;
@@ -482,10 +562,10 @@ public interface Sprayed extends Client, Custom {
         }
 
         // Sort by power priority in descending order.
-        final List<ActionOnSprayPower> powers = PowerHolderComponent.getPowers(source.actor(), ActionOnSprayPower.class)
-            .stream()
-            .sorted(Comparator.comparingInt(ActionOnSprayPower::getPriority).reversed())
-            .toList();
+        final List<ActionOnSprayPower> powers = this.getSortedPowers(source.actor(),
+            ActionOnSprayPower.class,
+            ACTOR_POWER_ORDER
+        );
 
         for (final ActionOnSprayPower power : powers) {
             if (!power.canSpray(target.world(), target.pos(), source.stack())) continue;
@@ -16,6 +16,7 @@ package dev.jaxydog.astral.content.power;
 
 import dev.jaxydog.astral.Astral;
 import dev.jaxydog.astral.register.Registered;
+import dev.jaxydog.astral.utility.PowerProfiler;
 import io.github.apace100.apoli.power.factory.action.ActionFactory;
 import io.github.apace100.calio.data.SerializableData;
 import net.minecraft.registry.Registry;
@@ -33,6 +34,8 @@ public class AstralActionFactory<T> extends ActionFactory<T> implements Register
 
     /**
      * Creates a new action factory.
+     * <p>
+     * The factory's action is profiled by the {@link PowerProfiler} while a profiling session is running.
      *
      * @param path The factory's identifier path.
      * @param data The factory's serialization data.
@@ -41,7 +44,7 @@ public class AstralActionFactory<T> extends ActionFactory<T> implements Register
      * @since 2.0.0
      */
     public AstralActionFactory(String path, SerializableData data, BiConsumer<SerializableData.Instance, T> effect) {
-        super(Astral.getId(path), data, effect);
+        super(Astral.getId(path), data, PowerProfiler.profileAction(Astral.getId(path), effect));
     }
 
     /**
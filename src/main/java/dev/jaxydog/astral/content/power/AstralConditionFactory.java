@@ -16,12 +16,17 @@ package dev.jaxydog.astral.content.power;
 
 import dev.jaxydog.astral.Astral;
 import dev.jaxydog.astral.register.Registered;
+import dev.jaxydog.astral.utility.ConditionCache;
+import dev.jaxydog.astral.utility.PowerProfiler;
 import io.github.apace100.apoli.power.factory.condition.ConditionFactory;
 import io.github.apace100.calio.data.SerializableData;
+import net.minecraft.entity.Entity;
 import net.minecraft.registry.Registry;
 import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 /**
  * An extension of a {@link ConditionFactory} that provides additional functionality.
@@ -31,8 +36,24 @@ import java.util.function.BiPredicate;
  */
 public class AstralConditionFactory<T> extends ConditionFactory<T> implements Registered {
 
+    /**
+     * The name of the hidden data field that stores a condition's memoization key once it has been computed.
+     *
+     * @since 2.7.0
+     */
+    private static final String MEMOIZATION_KEY = "astral:memoization_key";
+
+    /**
+     * The factory's profiled and possibly memoized condition.
+     *
+     * @since 2.7.0
+     */
+    private final BiPredicate<SerializableData.Instance, T> condition;
+
     /**
      * Creates a new condition factory.
+     * <p>
+     * The factory's condition is profiled by the {@link PowerProfiler} while a profiling session is running.
      *
      * @param path The factory's identifier path.
      * @param data The factory's serialization data.
@@ -43,7 +64,113 @@ public class AstralConditionFactory<T> extends ConditionFactory<T> implements Re
     public AstralConditionFactory(
         String path, SerializableData data, BiPredicate<SerializableData.Instance, T> condition
     ) {
-        super(Astral.getId(path), data, condition::test);
+        this(path, data, condition, null);
+    }
+
+    /**
+     * Creates a new condition factory that is optionally memoized.
+     * <p>
+     * Providing a memoization key declares that the condition is pure within a tick, meaning that its result only
+     * depends on its data and the state of the tested entity during the current tick. Its results are then cached per
+     * entity for the rest of the tick, and shared between all conditions whose data produce equal keys.
+     * <p>
+     * Looking up a cached result costs a few hash lookups, so only conditions that are significantly more expensive,
+     * such as those that scan blocks, should be memoized.
+     * <p>
+     * Only entity conditions are memoized. The factory's condition is profiled by the {@link PowerProfiler} while a
+     * profiling session is running.
+     *
+     * @param path The factory's identifier path.
+     * @param data The factory's serialization data.
+     * @param condition The factory's test condition.
+     * @param memoizationKey Returns a key that is equal for all data that always produce the same results, or
+     * {@code null} if the condition should not be memoized.
+     *
+     * @since 2.7.0
+     */
+    public AstralConditionFactory(
+        String path,
+        SerializableData data,
+        BiPredicate<SerializableData.Instance, T> condition,
+        @Nullable Function<SerializableData.Instance, ?> memoizationKey
+    ) {
+        this(Astral.getId(path),
+            data,
+            PowerProfiler.profileCondition(Astral.getId(path), memoize(Astral.getId(path), condition, memoizationKey))
+        );
+    }
+
+    /**
+     * Creates a new condition factory from an already wrapped condition.
+     *
+     * @param identifier The factory's identifier.
+     * @param data The factory's serialization data.
+     * @param condition The factory's profiled and possibly memoized condition.
+     *
+     * @since 2.7.0
+     */
+    private AstralConditionFactory(
+        Identifier identifier, SerializableData data, BiPredicate<SerializableData.Instance, T> condition
+    ) {
+        super(identifier, data, condition::test);
+
+        this.condition = condition;
+    }
+
+    /**
+     * Wraps the given condition so that its results are memoized within each tick.
+     *
+     * @param type The condition's type.
+     * @param condition The condition.
+     * @param memoizationKey The condition's memoization key function, or {@code null} if it should not be memoized.
+     * @param <T> The type of the tested value.
+     *
+     * @return The memoized condition.
+     *
+     * @since 2.7.0
+     */
+    static <T> BiPredicate<SerializableData.Instance, T> memoize(
+        Identifier type,
+        BiPredicate<SerializableData.Instance, T> condition,
+        @Nullable Function<SerializableData.Instance, ?> memoizationKey
+    ) {
+        if (memoizationKey == null || !ConditionCache.ENABLED) return condition;
+
+        return (data, value) -> {
+            if (!(value instanceof final Entity entity)) return condition.test(data, value);
+
+            // The key never changes, so it is computed once and then stored alongside the condition's data.
+            if (!data.isPresent(MEMOIZATION_KEY)) {
+                data.set(MEMOIZATION_KEY, new ConditionCache.Key(type, memoizationKey.apply(data)));
+            }
+
+            final ConditionCache.Key key = data.get(MEMOIZATION_KEY);
+            final ConditionCache cache = entity.getWorld().astral$getConditionCache();
+            final @Nullable Boolean cached = cache.getResult(key, entity);
+
+            if (cached != null) return cached;
+
+            final boolean result = condition.test(data, value);
+
+            cache.putResult(key, entity, result);
+
+            return result;
+        };
+    }
+
+    /**
+     * Tests the given value using this factory's profiled and memoized condition, ignoring whether the data is
+     * inverted.
+     *
+     * @param data The condition's data.
+     * @param value The tested value.
+     *
+     * @return The condition's result.
+     *
+     * @since 2.7.0
+     */
+    boolean test(SerializableData.Instance data, T value) {
+        return this.condition.test(data, value);
     }
 
     /**
@@ -14,12 +14,13 @@
 
 package dev.jaxydog.astral.content.power;
 
+import dev.jaxydog.astral.utility.PowerProfiler;
 import io.github.apace100.apoli.power.Power;
 import io.github.apace100.apoli.power.PowerType;
 import net.minecraft.entity.LivingEntity;
 
 /**
- * An extension of a {@link Power} that, one day, may provide additional functionality.
+ * An extension of a {@link Power} that provides additional functionality.
  *
  * @author Jaxydog
  * @since 2.0.0
@@ -38,4 +39,30 @@ public abstract class AstralPower extends Power {
         super(type, entity);
     }
 
+    /**
+     * Ticks the power.
+     * <p>
+     * Implementations should override {@link #tickPower()} instead, so that their ticks may be profiled by the
+     * {@link PowerProfiler}.
+     *
+     * @since 2.7.0
+     */
+    @Override
+    public final void tick() {
+        if (PowerProfiler.isRunning()) {
+            PowerProfiler.profileTick(this.type.getIdentifier(), this::tickPower);
+        } else {
+            this.tickPower();
+        }
+    }
+
+    /**
+     * Ticks the power.
+     * <p>
+     * This is only called if the power is set to tick.
+     *
+     * @since 2.7.0
+     */
+    protected void tickPower() { }
+
 }
@@ -14,6 +14,11 @@
 
 package dev.jaxydog.astral.content.power.action;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import dev.jaxydog.astral.Astral;
 import dev.jaxydog.astral.content.power.AstralActionFactory;
 import dev.jaxydog.astral.content.power.AstralMetaAction;
 import io.github.apace100.apoli.power.factory.action.ActionFactory;
@@ -21,15 +26,88 @@ import io.github.apace100.calio.data.SerializableData;
 import io.github.apace100.calio.data.SerializableData.Instance;
 import io.github.apace100.calio.data.SerializableDataType;
 import io.github.apace100.calio.data.SerializableDataTypes;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The repeat meta-action.
+ * <p>
+ * If {@code bulk} is enabled, actions that have an aggregatable form are executed only once, with their amounts
+ * multiplied by the repeat count. All other actions fall back to being executed repeatedly.
+ * <p>
+ * Only actions whose effect is purely additive may be aggregated, such that running them once with a multiplied amount
+ * has the same result as running them repeatedly. Actions such as {@code apoli:damage} are never aggregated, since
+ * repeated damage is reduced by invulnerability frames while a single multiplied hit is not.
  *
  * @author Jaxydog
  * @since 1.1.0
  */
 public class RepeatAction extends AstralMetaAction {
 
+    /**
+     * The maximum number of times that an action may be repeated.
+     *
+     * @since 2.7.0
+     */
+    public static final int MAX_REPEAT = 1024;
+
+    /**
+     * The repeat count data type.
+     * <p>
+     * This is rejected when loaded if it is negative or above {@link #MAX_REPEAT}.
+     *
+     * @since 2.7.0
+     */
+    public static final SerializableDataType<Integer> REPEAT_COUNT = SerializableDataType.wrap(Integer.class,
+        SerializableDataTypes.INT,
+        repeat -> repeat,
+        repeat -> {
+            if (repeat < 0 || repeat > MAX_REPEAT) {
+                final String message = "Expected repeat count within 0..%d, found %d".formatted(MAX_REPEAT, repeat);
+
+                throw new JsonSyntaxException(message);
+            }
+
+            return repeat;
+        }
+    );
+
+    /**
+     * The numeric fields of each action type that may be aggregated by multiplying them by the repeat count.
+     * <p>
+     * Every listed action only adds its amount to a value that is then clamped to a range, so a single multiplied
+     * amount is clamped to the same result as many repeated amounts.
+     *
+     * @since 2.7.0
+     */
+    private static final Map<String, List<String>> AGGREGATABLE_FIELDS = Map.of("add_xp",
+        List.of("points", "levels"),
+        "change_resource",
+        List.of("change"),
+        "consume",
+        List.of("amount"),
+        "exhaust",
+        List.of("amount"),
+        "gain_air",
+        List.of("value"),
+        "heal",
+        List.of("amount")
+    );
+
+    /**
+     * The action types whose aggregatable fields are read as integers.
+     * <p>
+     * These are only aggregated if every field is an integer literal whose multiplied amount still fits within an
+     * integer, since Apoli would otherwise truncate or wrap the amount.
+     *
+     * @since 2.7.0
+     */
+    private static final Set<String> INTEGER_ACTIONS = Set.of("add_xp", "change_resource", "consume", "gain_air");
+
     /**
      * Creates a new repeat action.
      *
@@ -41,20 +119,214 @@ public class RepeatAction extends AstralMetaAction {
         super(path);
     }
 
+    /**
+     * Returns the aggregated form of the given action JSON, or {@code null} if it cannot be aggregated.
+     *
+     * @param json The action JSON.
+     * @param repeat The repeat count.
+     *
+     * @return The aggregated action JSON.
+     *
+     * @since 2.7.0
+     */
+    private static @Nullable JsonObject aggregate(JsonObject json, int repeat) {
+        if (!json.has("type") || !json.get("type").isJsonPrimitive()) return null;
+
+        final @Nullable Identifier id = Identifier.tryParse(json.get("type").getAsString());
+
+        // Apoli still accepts its legacy namespace for its own action types.
+        if (id == null || !(id.getNamespace().equals("apoli") || id.getNamespace().equals("origins"))) return null;
+
+        final @Nullable List<String> fields = AGGREGATABLE_FIELDS.get(id.getPath());
+
+        if (fields == null) return null;
+
+        // Only additive operations can be aggregated; setting a value repeatedly is the same as setting it once.
+        if (json.has("operation")) {
+            final JsonElement operation = json.get("operation");
+
+            if (!operation.isJsonPrimitive() || !operation.getAsString().equals("add")) return null;
+        }
+
+        final boolean integer = INTEGER_ACTIONS.contains(id.getPath());
+        final JsonObject aggregated = json.deepCopy();
+        int modified = 0;
+
+        for (final String field : fields) {
+            if (!json.has(field)) continue;
+
+            final JsonElement element = json.get(field);
+
+            if (!element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) return null;
+
+            final JsonPrimitive primitive = element.getAsJsonPrimitive();
+
+            if (integer) {
+                final String literal = primitive.getAsString();
+
+                if (literal.indexOf('.') >= 0 || literal.indexOf('e') >= 0 || literal.indexOf('E') >= 0) return null;
+
+                final long amount = (long) primitive.getAsInt() * repeat;
+
+                if (amount != (int) amount) return null;
+
+                aggregated.addProperty(field, (int) amount);
+            } else {
+                aggregated.addProperty(field, primitive.getAsDouble() * repeat);
+            }
+
+            modified += 1;
+        }
+
+        // Experience points are converted into levels at a rate that depends on the current level, so adding both
+        // points and levels repeatedly does not have the same result as adding their multiplied amounts once.
+        if (id.getPath().equals("add_xp") && modified > 1) return null;
+
+        return modified > 0 ? aggregated : null;
+    }
+
     @Override
     public <T> void execute(Instance data, T t) {
-        final ActionFactory<T>.Instance action = data.get("action");
+        final RepeatedAction<T> action = data.get("action");
         final int repeat = data.getInt("repeat");
 
-        for (int i = 0; i < repeat; i += 1) action.accept(t);
+        if (repeat <= 0) return;
+
+        if (data.getBoolean("bulk")) {
+            final @Nullable ActionFactory<T>.Instance bulk = action.getBulkInstance(repeat);
+
+            if (bulk != null) {
+                bulk.accept(t);
+
+                return;
+            }
+        }
+
+        for (int i = 0; i < repeat; i += 1) action.getInstance().accept(t);
     }
 
     @Override
     public <T> AstralActionFactory<T> factory(SerializableDataType<ActionFactory<T>.Instance> type) {
-        final SerializableData data = new SerializableData().add("repeat", SerializableDataTypes.INT)
-            .add("action", type);
+        @SuppressWarnings("unchecked") final Class<RepeatedAction<T>> dataClass
+            = (Class<RepeatedAction<T>>) (Object) RepeatedAction.class;
+        final SerializableDataType<RepeatedAction<T>> actionType = new SerializableDataType<>(dataClass,
+            (buffer, action) -> type.send(buffer, action.getInstance()),
+            buffer -> new RepeatedAction<>(type, type.receive(buffer), null),
+            json -> new RepeatedAction<>(type, type.read(json), json.isJsonObject() ? json.getAsJsonObject() : null)
+        );
+        final SerializableData data = new SerializableData().add("repeat", REPEAT_COUNT)
+            .add("action", actionType)
+            .add("bulk", SerializableDataTypes.BOOLEAN, false);
 
         return new AstralActionFactory<>(this.getRegistryPath(), data, this::execute);
     }
 
+    /**
+     * A wrapped action that may be compiled into its aggregated form.
+     *
+     * @param <T> The type of the action's expected value.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class RepeatedAction<T> {
+
+        /**
+         * The action's data type, used to read its aggregated form.
+         *
+         * @since 2.7.0
+         */
+        private final SerializableDataType<ActionFactory<T>.Instance> type;
+
+        /**
+         * The wrapped action.
+         *
+         * @since 2.7.0
+         */
+        private final ActionFactory<T>.Instance instance;
+
+        /**
+         * The wrapped action's JSON, or {@code null} if it was received from a packet.
+         *
+         * @since 2.7.0
+         */
+        private final @Nullable JsonObject json;
+
+        /**
+         * The aggregated action, or {@code null} if it has not been compiled or could not be aggregated.
+         *
+         * @since 2.7.0
+         */
+        private volatile @Nullable ActionFactory<T>.Instance bulkInstance = null;
+
+        /**
+         * The repeat count that the aggregated action was compiled for, or {@code -1} if it has not been compiled.
+         *
+         * @since 2.7.0
+         */
+        private volatile int bulkRepeat = -1;
+
+        /**
+         * Creates a new repeated action.
+         *
+         * @param type The action's data type.
+         * @param instance The wrapped action.
+         * @param json The wrapped action's JSON.
+         *
+         * @since 2.7.0
+         */
+        private RepeatedAction(
+            SerializableDataType<ActionFactory<T>.Instance> type,
+            ActionFactory<T>.Instance instance,
+            @Nullable JsonObject json
+        ) {
+            this.type = type;
+            this.instance = instance;
+            this.json = json;
+        }
+
+        /**
+         * Returns the wrapped action.
+         *
+         * @return The wrapped action.
+         *
+         * @since 2.7.0
+         */
+        public ActionFactory<T>.Instance getInstance() {
+            return this.instance;
+        }
+
+        /**
+         * Returns the aggregated form of the wrapped action, or {@code null} if it cannot be aggregated.
+         * <p>
+         * The aggregated form is compiled once when first requested, and is then re-used.
+         *
+         * @param repeat The repeat count.
+         *
+         * @return The aggregated action.
+         *
+         * @since 2.7.0
+         */
+        public @Nullable ActionFactory<T>.Instance getBulkInstance(int repeat) {
+            if (this.bulkRepeat == repeat) return this.bulkInstance;
+            if (this.json == null) return null;
+
+            @Nullable ActionFactory<T>.Instance instance = null;
+
+            try {
+                final @Nullable JsonObject aggregated = aggregate(this.json, repeat);
+
+                if (aggregated != null) instance = this.type.read(aggregated);
+            } catch (RuntimeException exception) {
+                Astral.LOGGER.warn("Unable to aggregate repeated action, falling back to a loop", exception);
+            }
+
+            this.bulkInstance = instance;
+            this.bulkRepeat = repeat;
+
+            return instance;
+        }
+
+    }
+
 }
@@ -14,7 +14,7 @@
 
 package dev.jaxydog.astral.content.power.condition;
 
-import dev.jaxydog.astral.Astral;
+import dev.jaxydog.astral.content.data.AstralData;
 import dev.jaxydog.astral.content.power.AstralCondition;
 import dev.jaxydog.astral.content.power.AstralConditionFactory;
 import io.github.apace100.apoli.data.ApoliDataTypes;
@@ -26,10 +26,9 @@ import io.github.apace100.calio.data.SerializableData.Instance;
 import io.github.apace100.calio.data.SerializableDataTypes;
 import net.minecraft.entity.Entity;
 import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.Vec3d;
 
-import java.util.List;
-
 /**
  * The distance condition.
  * <p>
@@ -40,6 +39,16 @@ import java.util.List;
  */
 public class DistanceCondition extends AstralCondition<Entity> {
 
+    /**
+     * The hidden data field that stores the squared {@code compare_to} value.
+     * <p>
+     * This is not part of the condition's serializable data, and is only set the first time that the condition is
+     * tested.
+     *
+     * @since 2.7.0
+     */
+    private static final String COMPARE_TO_SQUARED = "astral:compare_to_squared";
+
     /**
      * Creates a new distance condition.
      *
@@ -53,26 +62,39 @@ public class DistanceCondition extends AstralCondition<Entity> {
 
     @Override
     public boolean test(Instance data, Entity entity) {
-        final List<Double> targetList = data.get("position");
+        if (data.isPresent("dimension")) {
+            final Identifier dimension = data.get("dimension");
 
-        if (targetList.size() < 3) {
-            Astral.LOGGER.warn("Expected three position coordinates!");
-
-            return false;
+            if (!entity.getWorld().getRegistryKey().getValue().equals(dimension)) return false;
         }
 
-        final Vec3d targetPos = new Vec3d(targetList.get(0), targetList.get(1), targetList.get(2));
-        final double distance = Math.sqrt(entity.getPos().squaredDistanceTo(targetPos));
+        final Comparison comparison = data.get("comparison");
+        final double compareTo = data.getDouble("compare_to");
+
+        // Distances are never negative, so any non-negative distance compares the same way as zero.
+        if (compareTo < 0D) return comparison.compare(0D, compareTo);
+
+        // The threshold never changes, so it is squared once and then stored alongside the condition's data.
+        if (!data.isPresent(COMPARE_TO_SQUARED)) data.set(COMPARE_TO_SQUARED, compareTo * compareTo);
+
+        final Vec3d target = data.get("position");
+        final double x = entity.getX() - target.getX();
+        final double y = data.getBoolean("horizontal") ? 0D : entity.getY() - target.getY();
+        final double z = entity.getZ() - target.getZ();
 
-        return data.<Comparison>get("comparison").compare(distance, data.getDouble("compare_to"));
+        // Both sides are non-negative, so comparing their squares is equivalent and avoids a square root.
+        return comparison.compare(x * x + y * y + z * z, data.getDouble(COMPARE_TO_SQUARED));
     }
 
     @Override
     public AstralConditionFactory<Entity> factory() {
-        final SerializableData data = new SerializableData().add("position", SerializableDataTypes.DOUBLES)
+        final SerializableData data = new SerializableData().add("position", AstralData.POSITION)
             .add("comparison", ApoliDataTypes.COMPARISON)
-            .add("compare_to", SerializableDataTypes.DOUBLE);
+            .add("compare_to", SerializableDataTypes.DOUBLE)
+            .add("dimension", SerializableDataTypes.IDENTIFIER, null)
+            .add("horizontal", SerializableDataTypes.BOOLEAN, false);
 
+        // Not memoized, since testing the condition is cheaper than looking up a cached result.
         return new AstralConditionFactory<>(this.getRegistryPath(), data, this::test);
     }
 
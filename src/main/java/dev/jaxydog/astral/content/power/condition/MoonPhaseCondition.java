@@ -24,10 +24,6 @@ import io.github.apace100.calio.data.SerializableData;
 import io.github.apace100.calio.data.SerializableData.Instance;
 import net.minecraft.entity.Entity;
 import net.minecraft.registry.Registry;
-import net.minecraft.world.World;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * The moon phase condition.
@@ -48,23 +44,34 @@ public class MoonPhaseCondition extends AstralCondition<Entity> {
         super(path);
     }
 
+    /**
+     * Returns the bit mask of the moon phases accepted by the given data.
+     *
+     * @param data The condition's data.
+     *
+     * @return The moon phase mask.
+     *
+     * @since 2.7.0
+     */
+    private int getMask(Instance data) {
+        final MoonPhase phase = data.get("phase");
+
+        return phase != MoonPhase.NONE ? phase.getMask() : data.getInt("phases");
+    }
+
     @Override
     public boolean test(Instance data, Entity value) {
-        final MoonPhase phase = data.get("phase");
-        final World world = value.getWorld();
+        final int mask = this.getMask(data);
 
-        if (phase != MoonPhase.NONE) {
-            return phase.isCurrent(world);
-        } else {
-            return data.<List<MoonPhase>>get("phases").stream().anyMatch(e -> e.isCurrent(world));
-        }
+        return (mask & (1 << value.getWorld().astral$getMoonPhase())) != 0;
     }
 
     @Override
     public AstralConditionFactory<Entity> factory() {
         final SerializableData data = new SerializableData().add("phase", AstralData.MOON_PHASE, MoonPhase.NONE)
-            .add("phases", AstralData.MOON_PHASES, new ArrayList<>());
+            .add("phases", AstralData.MOON_PHASE_MASK, 0);
 
+        // Not memoized, since testing the condition is cheaper than looking up a cached result.
         return new AstralConditionFactory<>(this.getRegistryPath(), data, this::test);
     }
 
@@ -16,6 +16,7 @@ package dev.jaxydog.astral.content.power.condition;
 
 import dev.jaxydog.astral.content.power.AstralCondition;
 import dev.jaxydog.astral.content.power.AstralConditionFactory;
+import dev.jaxydog.astral.utility.OcclusionCache;
 import io.github.apace100.apoli.data.ApoliDataTypes;
 import io.github.apace100.apoli.power.factory.condition.ConditionFactory;
 import io.github.apace100.apoli.registry.ApoliRegistries;
@@ -25,17 +26,16 @@ import io.github.apace100.calio.data.SerializableData;
 import io.github.apace100.calio.data.SerializableData.Instance;
 import io.github.apace100.calio.data.SerializableDataType;
 import io.github.apace100.calio.data.SerializableDataTypes;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.block.pattern.CachedBlockPosition;
 import net.minecraft.entity.Entity;
 import net.minecraft.registry.Registry;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Box;
-import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.Direction.Axis;
 import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.world.World;
 
-import java.util.Set;
+import java.util.Arrays;
 import java.util.function.Predicate;
 
 /**
@@ -50,11 +50,21 @@ public class UnobstructedBlockInRadiusCondition extends AstralCondition<Entity>
     /**
      * The default ray-cast step size.
      * <p>
-     * This is chosen to be reasonably accurate, while not being so small as to hinder performance.
+     * This is no longer used, as ray-casts now visit every block along the ray exactly, and is only kept so that
+     * existing definitions that specify a step size continue to load.
      *
      * @since 1.7.0
      */
     private static final double DEFAULT_STEP_SIZE = 0.125D;
+    /**
+     * The maximum radius at which {@link Mode#FLOOD_FILL} may be used.
+     * <p>
+     * Flood fills store a byte for every block within the radius' cube, so this limits the size of each thread's
+     * buffer. Conditions with a larger radius will always cast individual rays.
+     *
+     * @since 2.7.0
+     */
+    private static final int FLOOD_FILL_MAX_RADIUS = 32;
 
     /**
      * Creates a new unobstructed block in radius condition.
@@ -68,68 +78,200 @@ public class UnobstructedBlockInRadiusCondition extends AstralCondition<Entity>
     }
 
     /**
-     * Performs a simple ray-cast between two start and end block positions, returning whether a block is within the
-     * path.
+     * Returns whether the given offset is within the given shape.
+     * <p>
+     * This matches the positions returned by {@link Shape#getPositions(BlockPos, Shape, int)}, without needing to
+     * allocate a set of positions.
+     *
+     * @param shape The shape.
+     * @param x The X offset.
+     * @param y The Y offset.
+     * @param z The Z offset.
+     * @param radius The shape's radius.
+     *
+     * @return Whether the offset is within the shape.
+     *
+     * @since 2.7.0
+     */
+    private static boolean isWithin(Shape shape, int x, int y, int z, int radius) {
+        return switch (shape) {
+            case CUBE -> true;
+            case STAR -> Math.abs(x) + Math.abs(y) + Math.abs(z) <= radius;
+            case SPHERE -> x * x + y * y + z * z <= radius * radius;
+        };
+    }
+
+    /**
+     * Returns whether the ray intersects the given block's collision bounds.
+     * <p>
+     * The ray is given relative to the block's position, and is tested using the slab method. The ray must pass through
+     * the bounds for a non-zero distance to count as an intersection.
+     *
+     * @param shape The block's collision shape.
+     * @param originX The ray's X origin, relative to the block.
+     * @param originY The ray's Y origin, relative to the block.
+     * @param originZ The ray's Z origin, relative to the block.
+     * @param directionX The ray's X direction.
+     * @param directionY The ray's Y direction.
+     * @param directionZ The ray's Z direction.
      *
-     * @param world The current world.
+     * @return Whether the ray intersects the bounds.
+     *
+     * @since 2.7.0
+     */
+    private static boolean intersects(
+        VoxelShape shape,
+        double originX,
+        double originY,
+        double originZ,
+        double directionX,
+        double directionY,
+        double directionZ
+    ) {
+        double enter = Double.NEGATIVE_INFINITY;
+        double exit = Double.POSITIVE_INFINITY;
+
+        for (final Axis axis : Axis.VALUES) {
+            final double origin = axis.choose(originX, originY, originZ);
+            final double direction = axis.choose(directionX, directionY, directionZ);
+            final double min = shape.getMin(axis);
+            final double max = shape.getMax(axis);
+
+            if (direction == 0D) {
+                // The ray is parallel to this slab, so it must start within it.
+                if (origin < min || origin >= max) return false;
+
+                continue;
+            }
+
+            final double first = (min - origin) / direction;
+            final double second = (max - origin) / direction;
+
+            enter = Math.max(enter, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+
+            if (enter >= exit) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Performs a ray-cast between the centers of the start and end block positions, returning whether a block is
+     * within the path.
+     * <p>
+     * This uses a voxel traversal that visits every block along the ray exactly once, in order, without allocating.
+     * Since both ends of the ray are block centers, the distances to each block boundary are compared using integer
+     * arithmetic, so rays that pass exactly through a block edge or corner step diagonally instead of arbitrarily
+     * choosing one of the neighboring blocks. The start and end blocks themselves are never considered obstructions.
+     *
+     * @param cache The current world's occlusion cache.
      * @param start The starting position.
      * @param end The ending position.
-     * @param stepSize The size of a single step along the ray.
+     * @param mutable A mutable position that is used during traversal.
      *
      * @return Whether a block is within the path.
      *
      * @since 1.7.0
      */
-    private boolean simpleRaycast(World world, BlockPos start, BlockPos end, double stepSize) {
-        final Vec3d startCenter = start.toCenterPos();
-        final Vec3d endCenter = end.toCenterPos();
-        final Vec3d step = endCenter.subtract(startCenter).normalize().multiply(stepSize);
-        final Set<BlockPos> checkedBlocks = new ObjectOpenHashSet<>((int) Math.ceil(startCenter.distanceTo(endCenter)));
-        final double endDistance = startCenter.distanceTo(endCenter);
+    static boolean simpleRaycast(OcclusionCache cache, BlockPos start, BlockPos end, BlockPos.Mutable mutable) {
+        final int deltaX = end.getX() - start.getX();
+        final int deltaY = end.getY() - start.getY();
+        final int deltaZ = end.getZ() - start.getZ();
+        final int lengthX = Math.abs(deltaX);
+        final int lengthY = Math.abs(deltaY);
+        final int lengthZ = Math.abs(deltaZ);
 
-        // Ignore the two blocks themselves.
-        checkedBlocks.add(start);
-        checkedBlocks.add(end);
+        // Crossing the n-th boundary on an axis happens at `t = (2n + 1) / (2 * length)`. Each axis' numerator is
+        // scaled by the other non-zero lengths so that they share a denominator and can be compared directly.
+        final long weightX = (long) Math.max(lengthY, 1) * Math.max(lengthZ, 1);
+        final long weightY = (long) Math.max(lengthX, 1) * Math.max(lengthZ, 1);
+        final long weightZ = (long) Math.max(lengthX, 1) * Math.max(lengthY, 1);
 
-        Vec3d position = startCenter;
+        int stepsX = 0;
+        int stepsY = 0;
+        int stepsZ = 0;
 
-        // Ensure the ray distance is not exceeded.
-        while (startCenter.distanceTo(position) < endDistance) {
-            position = position.add(step);
+        mutable.set(start);
 
-            final BlockPos pos = BlockPos.ofFloored(position);
+        while (true) {
+            final long nextX = stepsX < lengthX ? (2L * stepsX + 1L) * weightX : Long.MAX_VALUE;
+            final long nextY = stepsY < lengthY ? (2L * stepsY + 1L) * weightY : Long.MAX_VALUE;
+            final long nextZ = stepsZ < lengthZ ? (2L * stepsZ + 1L) * weightZ : Long.MAX_VALUE;
+            final long next = Math.min(nextX, Math.min(nextY, nextZ));
 
-            if (checkedBlocks.contains(pos)) continue;
+            // Every boundary has been crossed, so the end position has been reached.
+            if (next == Long.MAX_VALUE) return false;
 
-            final CachedBlockPosition cached = new CachedBlockPosition(world, pos, true);
-            final VoxelShape shape = cached.getBlockState().getCollisionShape(world, pos);
+            // Step along every axis whose boundary is crossed at this exact point.
+            if (nextX == next) {
+                mutable.move(Integer.signum(deltaX), 0, 0);
+                stepsX += 1;
+            }
+            if (nextY == next) {
+                mutable.move(0, Integer.signum(deltaY), 0);
+                stepsY += 1;
+            }
+            if (nextZ == next) {
+                mutable.move(0, 0, Integer.signum(deltaZ));
+                stepsZ += 1;
+            }
 
-            if (!shape.isEmpty()) {
-                // Calculate the step's position within the block.
-                final Vec3d relative = Vec3d.of(pos).relativize(position);
-                final Box bounds = shape.getBoundingBox();
+            if (mutable.equals(end)) return false;
 
-                if (bounds.contains(relative)) return true;
-            }
+            final VoxelShape shape = cache.getCollisionShape(mutable);
+
+            if (shape.isEmpty()) continue;
+            if (shape == VoxelShapes.fullCube()) return true;
 
-            checkedBlocks.add(pos);
+            // Convert the ray's origin to be relative to the current block.
+            final double originX = start.getX() - mutable.getX() + 0.5D;
+            final double originY = start.getY() - mutable.getY() + 0.5D;
+            final double originZ = start.getZ() - mutable.getZ() + 0.5D;
+
+            if (intersects(shape, originX, originY, originZ, deltaX, deltaY, deltaZ)) return true;
         }
+    }
 
-        return false;
+    /**
+     * Returns the memoization key of the given data.
+     * <p>
+     * Block conditions cannot be compared by value, so only conditions that share the same block condition instance
+     * will share results.
+     *
+     * @param data The condition's data.
+     *
+     * @return The memoization key.
+     *
+     * @since 2.7.0
+     */
+    private Object getMemoizationKey(Instance data) {
+        return Arrays.asList(data.get("block_condition"),
+            data.get("shape"),
+            data.get("radius"),
+            data.get("comparison"),
+            data.get("compare_to"),
+            data.get("mode")
+        );
     }
 
     @Override
     public boolean test(Instance data, Entity entity) {
         final Shape shape = data.get("shape");
         final int radius = data.getInt("radius");
-        final double stepSize = data.getDouble("step_size");
         final Predicate<CachedBlockPosition> blockCondition = data.get("block_condition");
         final Comparison comparison = data.get("comparison");
         final int compareTo = data.getInt("compare_to");
 
-        final double actualStepSize = stepSize <= 0D ? DEFAULT_STEP_SIZE : stepSize;
         final World world = entity.getWorld();
         final BlockPos entityPos = entity.getBlockPos();
+        final OcclusionCache cache = world.astral$getOcclusionCache();
+        // The result only depends on the entity's block position, so it may be shared with other entities this tick.
+        final Boolean cached = cache.getResult(data, entityPos);
+
+        if (cached != null) return cached;
+
+        final BlockPos.Mutable mutable = new BlockPos.Mutable();
         // Exits early if there are more blocks than expected, or if the count quota is reached.
         final int stopAt = switch (comparison) {
             case EQUAL, LESS_THAN_OR_EQUAL, GREATER_THAN -> compareTo + 1;
@@ -137,20 +279,48 @@ public class UnobstructedBlockInRadiusCondition extends AstralCondition<Entity>
             default -> -1;
         };
 
+        final Mode mode = data.get("mode");
+        final FloodFill fill;
+
+        if (mode == Mode.FLOOD_FILL && radius <= FLOOD_FILL_MAX_RADIUS) {
+            fill = new FloodFill(cache, entityPos, radius);
+        } else {
+            fill = null;
+        }
+
         int count = 0;
 
-        for (final BlockPos blockPos : Shape.getPositions(entityPos, shape, radius)) {
-            final CachedBlockPosition cached = new CachedBlockPosition(world, blockPos, true);
+        search:
+        for (int x = -radius; x <= radius; x += 1) {
+            for (int y = -radius; y <= radius; y += 1) {
+                for (int z = -radius; z <= radius; z += 1) {
+                    if (!isWithin(shape, x, y, z, radius)) continue;
+
+                    final BlockPos blockPos = entityPos.add(x, y, z);
+                    final CachedBlockPosition block = new CachedBlockPosition(world, blockPos, true);
 
-            // Skip if the block condition fails or if there is a block in the way.
-            if (!blockCondition.test(cached) || simpleRaycast(world, entityPos, blockPos, actualStepSize)) continue;
+                    // Skip if the block condition fails.
+                    if (!blockCondition.test(block)) continue;
 
-            count += 1;
+                    // Skip if there is a block in the way.
+                    if (fill == null) {
+                        if (simpleRaycast(cache, entityPos, blockPos, mutable)) continue;
+                    } else if (!fill.isVisible(x, y, z)) {
+                        continue;
+                    }
 
-            if (count == stopAt) break;
+                    count += 1;
+
+                    if (count == stopAt) break search;
+                }
+            }
         }
 
-        return comparison.compare(count, compareTo);
+        final boolean result = comparison.compare(count, compareTo);
+
+        cache.putResult(data, entityPos, result);
+
+        return result;
     }
 
     @Override
@@ -162,8 +332,10 @@ public class UnobstructedBlockInRadiusCondition extends AstralCondition<Entity>
                 .add("radius", SerializableDataTypes.INT)
                 .add("step_size", SerializableDataTypes.DOUBLE, DEFAULT_STEP_SIZE)
                 .add("comparison", ApoliDataTypes.COMPARISON, Comparison.GREATER_THAN_OR_EQUAL)
-                .add("compare_to", SerializableDataTypes.INT, 1),
-            this::test
+                .add("compare_to", SerializableDataTypes.INT, 1)
+                .add("mode", SerializableDataType.enumValue(Mode.class), Mode.RAY),
+            this::test,
+            this::getMemoizationKey
         );
     }
 
@@ -172,4 +344,246 @@ public class UnobstructedBlockInRadiusCondition extends AstralCondition<Entity>
         return ApoliRegistries.ENTITY_CONDITION;
     }
 
+    /**
+     * The ways in which obstructions may be tested.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    public enum Mode {
+
+        /**
+         * Casts an exact ray towards every matching block.
+         * <p>
+         * This is the default.
+         *
+         * @since 2.7.0
+         */
+        RAY,
+        /**
+         * Floods visibility outwards from the entity, visiting each block within the radius at most once.
+         * <p>
+         * This is approximate, and may differ from {@link #RAY} near small or scattered obstructions, since rays towards
+         * distant blocks are assumed to follow the rays towards closer blocks. It must be chosen explicitly, and is
+         * only used for radii of at most 32 blocks, falling back to {@link #RAY} otherwise.
+         *
+         * @since 2.7.0
+         */
+        FLOOD_FILL
+
+    }
+
+    /**
+     * A lazily computed flood fill of block visibility around an origin position.
+     * <p>
+     * Blocks are grouped into cube-shaped shells by their distance from the origin, and visibility floods outwards from
+     * the origin one shell at a time. A block is considered visible if the block closest to where its ray crosses the
+     * previous shell is visible, and neither that block nor the block directly before it along the ray obstruct the
+     * ray. Each block's visibility is computed at most once, so testing every block within the radius is proportional
+     * to the radius' volume rather than to the volume times the radius.
+     * <p>
+     * This is not shadowcasting, and does not trace the exact shadow of each obstruction. A ray that only grazes an
+     * obstruction between two shells may be considered blocked, and an obstruction that a ray passes through between
+     * the sampled blocks may be missed.
+     * <p>
+     * Each thread reuses a single buffer for its flood fills, so at most one flood fill may be in use per thread.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class FloodFill {
+
+        /**
+         * Represents a block whose visibility has not been computed.
+         *
+         * @since 2.7.0
+         */
+        private static final byte UNKNOWN = 0;
+        /**
+         * Represents a visible block.
+         *
+         * @since 2.7.0
+         */
+        private static final byte VISIBLE = 1;
+        /**
+         * Represents an obstructed block.
+         *
+         * @since 2.7.0
+         */
+        private static final byte HIDDEN = 2;
+
+        /**
+         * The buffer used to store each thread's flood fill states, which only ever grows.
+         *
+         * @since 2.7.0
+         */
+        private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[0]);
+
+        /**
+         * The current world's occlusion cache.
+         *
+         * @since 2.7.0
+         */
+        private final OcclusionCache cache;
+        /**
+         * The flood fill's origin.
+         *
+         * @since 2.7.0
+         */
+        private final BlockPos origin;
+        /**
+         * The flood fill's radius.
+         *
+         * @since 2.7.0
+         */
+        private final int radius;
+        /**
+         * The length of each side of the flood fill's cube.
+         *
+         * @since 2.7.0
+         */
+        private final int size;
+        /**
+         * The visibility of every block within the flood fill, which is this thread's shared buffer.
+         *
+         * @since 2.7.0
+         */
+        private final byte[] states;
+        /**
+         * A mutable position used when reading blocks.
+         *
+         * @since 2.7.0
+         */
+        private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+
+        /**
+         * Creates a new flood fill, resetting this thread's buffer.
+         *
+         * @param cache The current world's occlusion cache.
+         * @param origin The flood fill's origin.
+         * @param radius The flood fill's radius, which must be at most {@link #FLOOD_FILL_MAX_RADIUS}.
+         *
+         * @since 2.7.0
+         */
+        public FloodFill(OcclusionCache cache, BlockPos origin, int radius) {
+            this.cache = cache;
+            this.origin = origin;
+            this.radius = radius;
+            this.size = radius * 2 + 1;
+
+            final int volume = this.size * this.size * this.size;
+            byte[] states = BUFFER.get();
+
+            if (states.length < volume) {
+                states = new byte[volume];
+
+                BUFFER.set(states);
+            } else {
+                Arrays.fill(states, 0, volume, UNKNOWN);
+            }
+
+            this.states = states;
+        }
+
+        /**
+         * Returns whether the given offset is the origin.
+         *
+         * @param x The X offset.
+         * @param y The Y offset.
+         * @param z The Z offset.
+         *
+         * @return Whether the offset is the origin.
+         *
+         * @since 2.7.0
+         */
+        private static boolean isOrigin(int x, int y, int z) {
+            return x == 0 && y == 0 && z == 0;
+        }
+
+        /**
+         * Scales the given offset from the shell at the given distance onto the previous shell, rounding half away from
+         * zero.
+         *
+         * @param value The offset.
+         * @param distance The offset's shell distance, which must be positive.
+         *
+         * @return The scaled offset.
+         *
+         * @since 2.7.0
+         */
+        private static int scale(int value, int distance) {
+            final int scaled = (2 * Math.abs(value) * (distance - 1) + distance) / (2 * distance);
+
+            return value < 0 ? -scaled : scaled;
+        }
+
+        /**
+         * Returns whether the block at the given offset is visible from the origin.
+         *
+         * @param x The X offset.
+         * @param y The Y offset.
+         * @param z The Z offset.
+         *
+         * @return Whether the block is visible.
+         *
+         * @since 2.7.0
+         */
+        public boolean isVisible(int x, int y, int z) {
+            if (isOrigin(x, y, z)) return true;
+
+            final int index = ((x + this.radius) * this.size + y + this.radius) * this.size + z + this.radius;
+
+            if (this.states[index] != UNKNOWN) return this.states[index] == VISIBLE;
+
+            final int max = Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
+            // The block directly before this one along the ray.
+            final int lastX = Math.abs(x) == max ? x - Integer.signum(x) : x;
+            final int lastY = Math.abs(y) == max ? y - Integer.signum(y) : y;
+            final int lastZ = Math.abs(z) == max ? z - Integer.signum(z) : z;
+            // The block closest to where the ray crosses the previous shell.
+            final int previousX = scale(x, max);
+            final int previousY = scale(y, max);
+            final int previousZ = scale(z, max);
+
+            boolean visible = isOrigin(lastX, lastY, lastZ) || !this.obstructs(lastX, lastY, lastZ, x, y, z);
+
+            if (visible && !isOrigin(previousX, previousY, previousZ)) {
+                visible = this.isVisible(previousX, previousY, previousZ);
+
+                final boolean isLast = previousX == lastX && previousY == lastY && previousZ == lastZ;
+
+                if (visible && !isLast) visible = !this.obstructs(previousX, previousY, previousZ, x, y, z);
+            }
+
+            this.states[index] = visible ? VISIBLE : HIDDEN;
+
+            return visible;
+        }
+
+        /**
+         * Returns whether the block at the given offset obstructs the ray from the origin towards the given target.
+         *
+         * @param x The block's X offset.
+         * @param y The block's Y offset.
+         * @param z The block's Z offset.
+         * @param targetX The target's X offset.
+         * @param targetY The target's Y offset.
+         * @param targetZ The target's Z offset.
+         *
+         * @return Whether the block obstructs the ray.
+         *
+         * @since 2.7.0
+         */
+        private boolean obstructs(int x, int y, int z, int targetX, int targetY, int targetZ) {
+            final VoxelShape shape = this.cache.getCollisionShape(this.mutable.set(this.origin, x, y, z));
+
+            if (shape.isEmpty()) return false;
+            if (shape == VoxelShapes.fullCube()) return true;
+
+            // The ray's origin, relative to the block, is the origin block's center.
+            return intersects(shape, 0.5D - x, 0.5D - y, 0.5D - z, targetX, targetY, targetZ);
+        }
+
+    }
+
 }
@@ -62,9 +62,10 @@ public class ActionOnKeyPower extends TickingCooldownPower implements Active {
      * @param minAction An action run when the cooldown is set.
      * @param setAction An action run when the cooldown is changed.
      * @param maxAction An action run when the cooldown is recharged.
+     * @param syncInterval The number of ticks between periodic progress synchronizations.
      * @param activeFunction An action run when the key is pressed.
      *
-     * @since 1.7.0
+     * @since 2.7.0
      */
     public ActionOnKeyPower(
         PowerType<?> type,
@@ -75,13 +76,53 @@ public class ActionOnKeyPower extends TickingCooldownPower implements Active {
         @Nullable Consumer<Entity> minAction,
         @Nullable Consumer<Entity> setAction,
         @Nullable Consumer<Entity> maxAction,
+        int syncInterval,
         Consumer<Entity> activeFunction
     ) {
-        super(type, entity, duration, hudRender, tickCondition, minAction, setAction, maxAction);
+        super(type, entity, duration, hudRender, tickCondition, minAction, setAction, maxAction, syncInterval);
 
         this.activeFunction = activeFunction;
     }
 
+    /**
+     * Creates a new ticking cooldown power.
+     *
+     * @param type The power's type.
+     * @param entity The holding entity.
+     * @param duration The duration of the cooldown.
+     * @param hudRender The power's HUD render.
+     * @param tickCondition The condition that allows this cooldown to update.
+     * @param minAction An action run when the cooldown is set.
+     * @param setAction An action run when the cooldown is changed.
+     * @param maxAction An action run when the cooldown is recharged.
+     * @param activeFunction An action run when the key is pressed.
+     *
+     * @since 1.7.0
+     */
+    public ActionOnKeyPower(
+        PowerType<?> type,
+        LivingEntity entity,
+        int duration,
+        HudRender hudRender,
+        @Nullable Predicate<Entity> tickCondition,
+        @Nullable Consumer<Entity> minAction,
+        @Nullable Consumer<Entity> setAction,
+        @Nullable Consumer<Entity> maxAction,
+        Consumer<Entity> activeFunction
+    ) {
+        this(type,
+            entity,
+            duration,
+            hudRender,
+            tickCondition,
+            minAction,
+            setAction,
+            maxAction,
+            DEFAULT_SYNC_INTERVAL,
+            activeFunction
+        );
+    }
+
     /**
      * Returns this power's default factory.
      *
@@ -98,6 +139,7 @@ public class ActionOnKeyPower extends TickingCooldownPower implements Active {
                 .add("min_action", ApoliDataTypes.ENTITY_ACTION, null)
                 .add("set_action", ApoliDataTypes.ENTITY_ACTION, null)
                 .add("max_action", ApoliDataTypes.ENTITY_ACTION, null)
+                .add("sync_interval", SerializableDataTypes.INT, DEFAULT_SYNC_INTERVAL)
                 .add("entity_action", ApoliDataTypes.ENTITY_ACTION)
                 .add("key", ApoliDataTypes.KEY, new Key()),
             data -> (type, player) -> {
@@ -110,6 +152,7 @@ public class ActionOnKeyPower extends TickingCooldownPower implements Active {
                     data.get("min_action"),
                     data.get("set_action"),
                     data.get("max_action"),
+                    data.getInt("sync_interval"),
                     data.get("entity_action")
                 );
 
@@ -76,6 +76,15 @@ public class ModifyScalePower extends AstralPower {
      */
     private final boolean resetOnLoss;
 
+    /**
+     * The holding entity's scale data for each modified scale type.
+     * <p>
+     * This is resolved the first time that it is needed, and is then kept for the lifetime of the power.
+     *
+     * @since 2.7.0
+     */
+    private ScaleData @Nullable [] scales = null;
+
     /**
      * Creates a new modify scale power.
      *
@@ -160,33 +169,62 @@ public class ModifyScalePower extends AstralPower {
     }
 
     /**
-     * Applies all modifiers to the entity.
+     * Returns the holding entity's scale data for each modified scale type.
      *
-     * @since 1.7.0
+     * @return The scale data.
+     *
+     * @since 2.7.0
      */
-    private void applyModifiers() {
-        this.scaleTypes.forEach(this::applyModifiers);
+    private ScaleData[] getScales() {
+        if (this.scales == null) {
+            final ScaleData[] scales = new ScaleData[this.scaleTypes.size()];
+            int index = 0;
+
+            for (final ScaleType type : this.scaleTypes) {
+                scales[index] = type.getScaleData(this.entity);
+                index += 1;
+            }
+
+            this.scales = scales;
+        }
+
+        return this.scales;
     }
 
     /**
-     * Applies all modifiers to the entity for the provided scale type.
+     * Sets the target scale of the given scale data, if it differs from its current target.
      *
-     * @param type The target scale type.
+     * @param scale The scale data.
+     * @param target The target scale.
      *
-     * @since 1.7.0
+     * @since 2.7.0
      */
-    private void applyModifiers(ScaleType type) {
-        final ScaleData scale = ScaleData.Builder.create().entity(this.entity).type(type).build();
+    private void setTargetScale(ScaleData scale, float target) {
+        // Avoid restarting the transition and marking the data for synchronization if nothing would change.
+        if (scale.getTargetScale() == target) return;
+
+        scale.setScaleTickDelay(this.transition);
+        scale.setTargetScale(target);
+    }
 
+    /**
+     * Applies all modifiers to the entity.
+     *
+     * @since 1.7.0
+     */
+    private void applyModifiers() {
         double target = 1D;
 
+        // Modifiers do not depend on the scale type, so they only need to be applied once for all of them.
         for (final Modifier modifier : this.modifiers) {
             target = modifier.apply(this.entity, target);
         }
 
-        if (target != scale.getTargetScale()) {
-            scale.setScaleTickDelay(this.transition);
-            scale.setTargetScale((float) target);
+        // Cast before comparing, otherwise any target that is not exactly representable as a float would never match.
+        final float scale = (float) target;
+
+        for (final ScaleData data : this.getScales()) {
+            this.setTargetScale(data, scale);
         }
     }
 
@@ -196,27 +234,13 @@ public class ModifyScalePower extends AstralPower {
      * @since 1.7.0
      */
     private void removeModifiers() {
-        this.scaleTypes.forEach(this::removeModifiers);
-    }
-
-    /**
-     * Removes all modifiers from the entity for the provided scale type.
-     *
-     * @param type The target scale type.
-     *
-     * @since 1.7.0
-     */
-    private void removeModifiers(ScaleType type) {
-        final ScaleData scale = ScaleData.Builder.create().entity(this.entity).type(type).build();
-
-        if (scale.getScale() != 1F) {
-            scale.setScaleTickDelay(this.transition);
-            scale.setTargetScale(1F);
+        for (final ScaleData data : this.getScales()) {
+            this.setTargetScale(data, 1F);
         }
     }
 
     @Override
-    public void tick() {
+    protected void tickPower() {
         if (this.entity.age % this.tickRate != 0) return;
 
         if (this.isActive()) {
@@ -15,6 +15,7 @@
 package dev.jaxydog.astral.content.power.custom;
 
 import dev.jaxydog.astral.content.power.AstralPowerFactory;
+import dev.jaxydog.astral.utility.PowerProfiler;
 import io.github.apace100.apoli.component.PowerHolderComponent;
 import io.github.apace100.apoli.data.ApoliDataTypes;
 import io.github.apace100.apoli.power.CooldownPower;
@@ -24,6 +25,7 @@ import io.github.apace100.calio.data.SerializableData;
 import io.github.apace100.calio.data.SerializableDataTypes;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtInt;
 import net.minecraft.util.math.MathHelper;
@@ -40,6 +42,32 @@ import java.util.function.Predicate;
  */
 public class TickingCooldownPower extends CooldownPower {
 
+    /**
+     * The default number of ticks between periodic progress synchronizations.
+     *
+     * @since 2.7.0
+     */
+    public static final int DEFAULT_SYNC_INTERVAL = 100;
+
+    /**
+     * The NBT key used to store the cooldown's progress.
+     *
+     * @since 2.7.0
+     */
+    private static final String PROGRESS_KEY = "Progress";
+    /**
+     * The NBT key used to store the world time at which the progress was set.
+     *
+     * @since 2.7.0
+     */
+    private static final String TIME_KEY = "Time";
+    /**
+     * The NBT key used to store whether the cooldown is ticking.
+     *
+     * @since 2.7.0
+     */
+    private static final String TICKING_KEY = "Ticking";
+
     /**
      * A predicate that determines whether the cooldown may update.
      *
@@ -65,13 +93,47 @@ public class TickingCooldownPower extends CooldownPower {
      * @since 1.7.0
      */
     private final @Nullable Consumer<Entity> maxAction;
+    /**
+     * The number of ticks between periodic progress synchronizations, or zero if progress should only be synchronized
+     * when the cooldown's state changes.
+     *
+     * @since 2.7.0
+     */
+    private final int syncInterval;
 
     /**
      * The current cooldown progress.
+     * <p>
+     * On the client, this is the progress at {@link #progressTime}, and should be read using
+     * {@link #getCurrentProgress()} instead.
      *
      * @since 1.7.0
      */
     protected int progress;
+    /**
+     * The world time at which {@link #progress} was last set.
+     *
+     * @since 2.7.0
+     */
+    private long progressTime;
+    /**
+     * Whether the cooldown's progress was increasing during the last tick.
+     *
+     * @since 2.7.0
+     */
+    private boolean ticking = true;
+    /**
+     * Whether the cooldown has changed in a way that must be synchronized.
+     *
+     * @since 2.7.0
+     */
+    private boolean dirty = false;
+    /**
+     * The number of ticks since the cooldown was last synchronized.
+     *
+     * @since 2.7.0
+     */
+    private int ticksSinceSync = 0;
 
     /**
      * Creates a new ticking cooldown power.
@@ -84,8 +146,9 @@ public class TickingCooldownPower extends CooldownPower {
      * @param minAction An action run when the cooldown is set.
      * @param setAction An action run when the cooldown is changed.
      * @param maxAction An action run when the cooldown is recharged.
+     * @param syncInterval The number of ticks between periodic progress synchronizations.
      *
-     * @since 1.7.0
+     * @since 2.7.0
      */
     public TickingCooldownPower(
         PowerType<?> type,
@@ -95,7 +158,8 @@ public class TickingCooldownPower extends CooldownPower {
         @Nullable Predicate<Entity> tickCondition,
         @Nullable Consumer<Entity> minAction,
         @Nullable Consumer<Entity> setAction,
-        @Nullable Consumer<Entity> maxAction
+        @Nullable Consumer<Entity> maxAction,
+        int syncInterval
     ) {
         super(type, entity, duration, hudRender);
 
@@ -103,11 +167,49 @@ public class TickingCooldownPower extends CooldownPower {
         this.minAction = minAction;
         this.setAction = setAction;
         this.maxAction = maxAction;
+        this.syncInterval = Math.max(syncInterval, 0);
         this.progress = duration;
+        this.progressTime = entity.getWorld().getTime();
 
         this.setTicking(true);
     }
 
+    /**
+     * Creates a new ticking cooldown power.
+     *
+     * @param type The power's type.
+     * @param entity The holding entity.
+     * @param duration The duration of the cooldown.
+     * @param hudRender The power's HUD render.
+     * @param tickCondition The condition that allows this cooldown to update.
+     * @param minAction An action run when the cooldown is set.
+     * @param setAction An action run when the cooldown is changed.
+     * @param maxAction An action run when the cooldown is recharged.
+     *
+     * @since 1.7.0
+     */
+    public TickingCooldownPower(
+        PowerType<?> type,
+        LivingEntity entity,
+        int duration,
+        HudRender hudRender,
+        @Nullable Predicate<Entity> tickCondition,
+        @Nullable Consumer<Entity> minAction,
+        @Nullable Consumer<Entity> setAction,
+        @Nullable Consumer<Entity> maxAction
+    ) {
+        this(type,
+            entity,
+            duration,
+            hudRender,
+            tickCondition,
+            minAction,
+            setAction,
+            maxAction,
+            DEFAULT_SYNC_INTERVAL
+        );
+    }
+
     /**
      * Returns this power's default factory.
      *
@@ -123,7 +225,8 @@ public class TickingCooldownPower extends CooldownPower {
                 .add("tick_condition", ApoliDataTypes.ENTITY_CONDITION, null)
                 .add("min_action", ApoliDataTypes.ENTITY_ACTION, null)
                 .add("set_action", ApoliDataTypes.ENTITY_ACTION, null)
-                .add("max_action", ApoliDataTypes.ENTITY_ACTION, null),
+                .add("max_action", ApoliDataTypes.ENTITY_ACTION, null)
+                .add("sync_interval", SerializableDataTypes.INT, DEFAULT_SYNC_INTERVAL),
             data -> (type, entity) -> new TickingCooldownPower(
                 type,
                 entity,
@@ -132,79 +235,171 @@ public class TickingCooldownPower extends CooldownPower {
                 data.get("tick_condition"),
                 data.get("min_action"),
                 data.get("set_action"),
-                data.get("max_action")
+                data.get("max_action"),
+                data.getInt("sync_interval")
             )
         );
     }
 
+    /**
+     * Returns the cooldown's current progress.
+     * <p>
+     * Progress is only synchronized when the cooldown's state changes, so the client extrapolates it from the last
+     * synchronized value while the cooldown is ticking.
+     *
+     * @return The current progress.
+     *
+     * @since 2.7.0
+     */
+    protected int getCurrentProgress() {
+        if (!this.entity.getWorld().isClient() || !this.ticking || this.progress >= this.cooldownDuration) {
+            return this.progress;
+        }
+
+        final long elapsed = Math.max(this.entity.getWorld().getTime() - this.progressTime, 0L);
+
+        return (int) Math.min(this.progress + elapsed, this.cooldownDuration);
+    }
+
+    /**
+     * Sets the cooldown's progress.
+     *
+     * @param progress The new progress.
+     *
+     * @since 2.7.0
+     */
+    private void setProgress(int progress) {
+        this.progress = MathHelper.clamp(progress, 0, this.cooldownDuration);
+        this.progressTime = this.entity.getWorld().getTime();
+        this.dirty = true;
+    }
+
+    /**
+     * Synchronizes this power with the client, if the holding entity is on the server.
+     *
+     * @since 2.7.0
+     */
+    private void sync() {
+        this.dirty = false;
+        this.ticksSinceSync = 0;
+
+        if (!this.entity.getWorld().isClient()) PowerHolderComponent.syncPower(this.entity, this.type);
+    }
+
     @Override
     public boolean canUse() {
-        return this.progress >= this.cooldownDuration && this.isActive();
+        return this.getCurrentProgress() >= this.cooldownDuration && this.isActive();
     }
 
     @Override
     public void use() {
         this.setCooldown(this.cooldownDuration);
-
-        PowerHolderComponent.syncPower(this.entity, this.type);
+        this.sync();
     }
 
     @Override
     public float getProgress() {
-        return MathHelper.clamp((float) this.progress / (float) this.cooldownDuration, 0F, 1F);
+        return MathHelper.clamp((float) this.getCurrentProgress() / (float) this.cooldownDuration, 0F, 1F);
     }
 
     @Override
     public int getRemainingTicks() {
-        return MathHelper.clamp(this.cooldownDuration - this.progress, 0, this.cooldownDuration);
+        return MathHelper.clamp(this.cooldownDuration - this.getCurrentProgress(), 0, this.cooldownDuration);
     }
 
     @Override
     public void modify(int changeInTicks) {
-        this.progress = MathHelper.clamp(this.progress - changeInTicks, 0, this.cooldownDuration);
+        this.setProgress(this.getCurrentProgress() - changeInTicks);
 
         if (this.setAction != null) this.setAction.accept(this.entity);
     }
 
     @Override
     public void setCooldown(int cooldownInTicks) {
-        this.progress = MathHelper.clamp(this.cooldownDuration - cooldownInTicks, 0, this.cooldownDuration);
+        this.setProgress(this.cooldownDuration - cooldownInTicks);
 
         if (this.setAction != null) this.setAction.accept(this.entity);
     }
 
     @Override
     public void tick() {
-        if (this.progress >= this.cooldownDuration) return;
+        if (PowerProfiler.isRunning()) {
+            PowerProfiler.profileTick(this.type.getIdentifier(), this::tickCooldown);
+        } else {
+            this.tickCooldown();
+        }
+    }
+
+    /**
+     * Ticks the cooldown.
+     *
+     * @since 2.7.0
+     */
+    private void tickCooldown() {
+        if (this.progress >= this.cooldownDuration) {
+            // The cooldown may have been modified externally since the last tick.
+            if (this.dirty) this.sync();
+
+            return;
+        }
 
         if (this.progress <= 0 && this.minAction != null) {
             this.minAction.accept(this.entity);
         }
 
-        if (this.tickCondition == null || this.tickCondition.test(this.entity)) {
+        final boolean ticking = this.tickCondition == null || this.tickCondition.test(this.entity);
+
+        // The client only needs to know when to start or stop extrapolating progress.
+        if (ticking != this.ticking) {
+            this.ticking = ticking;
+            this.dirty = true;
+        }
+
+        if (ticking) {
             this.progress += 1;
+            this.progressTime = this.entity.getWorld().getTime();
+            this.ticksSinceSync += 1;
 
-            PowerHolderComponent.syncPower(this.entity, this.type);
+            // Periodically re-synchronize to correct any drift in the client's extrapolation.
+            if (this.syncInterval > 0 && this.ticksSinceSync >= this.syncInterval) this.dirty = true;
         }
 
-        if (this.progress >= this.cooldownDuration && this.maxAction != null) {
-            this.maxAction.accept(this.entity);
+        if (this.progress >= this.cooldownDuration) {
+            this.dirty = true;
+
+            if (this.maxAction != null) this.maxAction.accept(this.entity);
         }
+
+        if (this.dirty) this.sync();
     }
 
     @Override
     public NbtElement toTag() {
-        return NbtInt.of(this.progress);
+        final NbtCompound compound = new NbtCompound();
+
+        compound.putInt(PROGRESS_KEY, this.progress);
+        compound.putLong(TIME_KEY, this.progressTime);
+        compound.putBoolean(TICKING_KEY, this.ticking);
+
+        return compound;
     }
 
     @Override
     public void fromTag(NbtElement tag) {
-        this.progress = ((NbtInt) tag).intValue();
+        if (tag instanceof final NbtCompound compound) {
+            this.progress = compound.getInt(PROGRESS_KEY);
+            this.progressTime = compound.getLong(TIME_KEY);
+            this.ticking = compound.getBoolean(TICKING_KEY);
+        } else if (tag instanceof final NbtInt legacy) {
+            // Older versions only stored the progress.
+            this.progress = legacy.intValue();
+            this.progressTime = this.entity.getWorld().getTime();
+        }
     }
 
     @Override
     public boolean shouldRender() {
-        return this.progress < this.cooldownDuration;
+        return this.getCurrentProgress() < this.cooldownDuration;
     }
 
 }
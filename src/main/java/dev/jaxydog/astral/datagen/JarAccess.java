@@ -12,27 +12,39 @@
  * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
  */
 
+
 package dev.jaxydog.astral.datagen;
 
-import com.mojang.serialization.DataResult;
 import dev.jaxydog.astral.Astral;
-import net.minecraft.util.PathUtil;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.MissingEnvironmentVariableException;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.regex.Pattern;
 
 /**
  * Provides safe access to the Minecraft Jar file's assets.
  * <p>
  * The location of the jar itself should be specified via the {@value #ENV_KEY} environment variable.
+ * <p>
+ * The Jar is opened once and kept open until {@link #close()} is called, and its central directory is indexed the first
+ * time that it's needed. Lookups walk a trie of path segments, so a missing entry costs time proportional to the length
+ * of its path rather than the size of the Jar. The Jar itself is never handed out, so that it may only be closed here.
  *
  * @author Jaxydog
  */
@@ -41,11 +53,14 @@ public final class JarAccess {
     // Formatted to be akin to Fabric's style of environment variable names.
     private static final String ENV_KEY = "astral.datagen.jar-path";
     private static final int MAX_HINTS = 5;
+    // Tokens shared by more than this fraction of entries, such as `assets` or `png`, are useless as hints.
+    private static final int COMMON_TOKEN_RATIO = 8;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^A-Za-z0-9]+");
     private static @Nullable JarAccess instance;
 
     private final @Nullable String path = System.getenv(ENV_KEY);
     private @Nullable JarFile file;
-    private boolean closed = false;
+    private @Nullable Index index;
 
     private JarAccess() {
         if (this.path == null) {
@@ -58,7 +73,7 @@ public final class JarAccess {
      *
      * @return The instance.
      */
-    private static @NotNull JarAccess getInstance() {
+    private static synchronized @NotNull JarAccess getInstance() {
         if (instance == null) instance = new JarAccess();
 
         return instance;
@@ -74,31 +89,22 @@ public final class JarAccess {
     }
 
     /**
-     * Returns the handle for the opened Jar file.
+     * Returns the handle for the opened Jar file, opening it if it is not yet open.
      * <p>
-     * If closed, the jar will automatically re-open itself when requested again.
+     * This is synchronized, as textures may be requested from multiple generators at once.
      *
      * @return The jar file.
      */
-    public static @NotNull JarFile getJar() {
+    private static synchronized @NotNull JarFile getJar() {
         final JarAccess access = getInstance();
 
         if (access.path == null) {
             throw new MissingEnvironmentVariableException("The '%s' has not been set".formatted(ENV_KEY));
         }
 
-        if (access.file == null || access.closed) {
+        if (access.file == null) {
             try {
-                access.file = new JarFile(access.path) {
-
-                    @Override
-                    public void close() throws IOException {
-                        // Track when the Jar is closed, so that we know when we need to re-open it.
-                        access.closed = true;
-
-                        super.close();
-                    }
-                };
+                access.file = new JarFile(access.path);
             } catch (IOException exception) {
                 throw new IllegalArgumentException("Unable to load Jar file", exception);
             }
@@ -107,6 +113,67 @@ public final class JarAccess {
         return access.file;
     }
 
+    /**
+     * Closes the Jar file and discards its index, if it is open.
+     * <p>
+     * This should be called once every generator has finished reading from the Jar. Any later access re-opens it.
+     */
+    public static synchronized void close() {
+        final JarAccess access = getInstance();
+
+        if (access.file == null) return;
+
+        try {
+            access.file.close();
+        } catch (IOException exception) {
+            Astral.LOGGER.error(exception.getLocalizedMessage());
+        }
+
+        access.file = null;
+        access.index = null;
+    }
+
+    /**
+     * Returns the index of the Jar's entries, building it if it does not yet exist.
+     *
+     * @return The index.
+     */
+    private static synchronized @NotNull Index getIndex() {
+        final JarAccess access = getInstance();
+
+        if (access.index == null) access.index = new Index(getJar());
+
+        return access.index;
+    }
+
+    /**
+     * Splits the given path into its alphanumeric tokens.
+     *
+     * @param path The path.
+     *
+     * @return The path's distinct tokens.
+     */
+    private static List<String> tokenize(String path) {
+        return TOKEN_SEPARATOR.splitAsStream(path).filter(s -> !s.isEmpty()).distinct().toList();
+    }
+
+    /**
+     * Returns the number of leading characters that the given strings share.
+     *
+     * @param left The first string.
+     * @param right The second string.
+     *
+     * @return The length of the shared prefix.
+     */
+    private static int sharedPrefixLength(String left, String right) {
+        final int length = Math.min(left.length(), right.length());
+        int index = 0;
+
+        while (index < length && left.charAt(index) == right.charAt(index)) index += 1;
+
+        return index;
+    }
+
     /**
      * Returns an entry from the Jar, if it exists.
      *
@@ -116,33 +183,19 @@ public final class JarAccess {
      * @return The optional Jar entry.
      */
     public static Optional<JarEntry> getJarEntry(String path, boolean allowDirs) {
-        final JarFile jar = getJar();
-        final JarEntry entry = jar.getJarEntry(path);
+        final Index index = getIndex();
+        final @Nullable Node node = index.find(path);
 
-        if (entry == null) {
+        if (node == null) {
             Astral.LOGGER.warn("Unable to load entry '{}'", path);
 
-            final Predicate<JarEntry> filter = e -> {
-                if (!allowDirs && e.isDirectory()) return false;
-
-                final DataResult<List<String>> maybeParts = PathUtil.split(e.getName());
-                // This converts the returned optional list into a concrete list of distinct parts.
-                final List<String> parts = maybeParts.result().stream().flatMap(List::stream).distinct().toList();
-
-                if (parts.isEmpty()) return false;
-
-                // Accept if the number of matching parts is greater than half of the total part count.
-                // Basically a really simple, *really* dumb fuzzy find.
-                return parts.stream().mapToLong(s -> path.contains(s) ? 1L : 0L).sum() > parts.size() / 2;
-            };
-
-            final List<String> matches = jar.stream().filter(filter).distinct().map(JarEntry::getName).toList();
+            final List<String> matches = index.findHints(path);
 
             if (!matches.isEmpty()) {
                 final StringBuilder builder = new StringBuilder();
 
-                // Scary method chain to combine possible valid paths into a list.
-                matches.stream().sorted().limit(MAX_HINTS).forEach(s -> builder.append("- ").append(s).append("\n"));
+                // Combine the best possible valid paths into a list.
+                matches.stream().limit(MAX_HINTS).forEach(s -> builder.append("- ").append(s).append("\n"));
 
                 // Adds a little ellipsis if the number of possible paths exceeds the defined limit.
                 if (matches.size() > MAX_HINTS) builder.append("  ...");
@@ -151,19 +204,45 @@ public final class JarAccess {
             } else {
                 Astral.LOGGER.warn("No valid entries found.");
             }
-        } else if (!allowDirs && entry.isDirectory()) {
-            Astral.LOGGER.warn("Entry '{}' is a directory", path);
 
             return Optional.empty();
+        } else if (node.isDirectory()) {
+            if (!allowDirs) {
+                Astral.LOGGER.warn("Entry '{}' is a directory", path);
+
+                return Optional.empty();
+            }
+
+            // Not every Jar contains explicit directory entries.
+            return Optional.of(node.entry != null ? node.entry : new JarEntry(path.endsWith("/") ? path : path + "/"));
         }
 
-        return Optional.ofNullable(entry);
+        return Optional.ofNullable(node.entry);
+    }
 
-        // scary method
+    /**
+     * Returns the bytes of an entry within the Jar, if it exists.
+     *
+     * @param path The requested Jar path.
+     *
+     * @return The optional entry bytes.
+     */
+    public static Optional<byte[]> getBytes(String path) {
+        return getInputStream(path).flatMap(stream -> {
+            try (stream) {
+                return Optional.of(stream.readAllBytes());
+            } catch (IOException exception) {
+                Astral.LOGGER.error(exception.getLocalizedMessage());
+
+                return Optional.empty();
+            }
+        });
     }
 
     /**
      * Returns an input stream corresponding to an entry within the Jar, if it exists.
+     * <p>
+     * The returned stream should be closed before the Jar is closed.
      *
      * @param path The requested Jar path.
      *
@@ -172,7 +251,7 @@ public final class JarAccess {
     public static Optional<InputStream> getInputStream(String path) {
         return getJarEntry(path, false).flatMap(entry -> {
             try {
-                return Optional.ofNullable(getJar().getInputStream(entry));
+                return Optional.of(getJar().getInputStream(entry));
             } catch (IOException exception) {
                 Astral.LOGGER.error(exception.getLocalizedMessage());
 
@@ -181,4 +260,155 @@ public final class JarAccess {
         });
     }
 
+    /**
+     * A single node within the Jar's path trie.
+     *
+     * @author Jaxydog
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new Object2ObjectOpenHashMap<>();
+        private @Nullable JarEntry entry;
+
+        /**
+         * Returns whether this node represents a directory.
+         *
+         * @return Whether this node is a directory.
+         */
+        private boolean isDirectory() {
+            return !this.children.isEmpty() || (this.entry != null && this.entry.isDirectory());
+        }
+
+    }
+
+    /**
+     * An in-memory index of the Jar's central directory, built once and never modified afterward.
+     *
+     * @author Jaxydog
+     */
+    private static final class Index {
+
+        private final Node root = new Node();
+        // Every file's name, indexed by the identifiers used within the token postings.
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, IntList> postings = new Object2ObjectOpenHashMap<>();
+
+        private Index(JarFile jar) {
+            final Enumeration<JarEntry> entries = jar.entries();
+
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+
+                this.insert(entry.getName()).entry = entry;
+
+                if (entry.isDirectory()) continue;
+
+                final int id = this.names.size();
+
+                this.names.add(entry.getName());
+
+                for (final String token : tokenize(entry.getName())) {
+                    this.postings.computeIfAbsent(token, t -> new IntArrayList()).add(id);
+                }
+            }
+        }
+
+        /**
+         * Returns the node for the given path, creating it and all of its parents if they do not yet exist.
+         *
+         * @param path The path.
+         *
+         * @return The path's node.
+         */
+        private Node insert(String path) {
+            Node node = this.root;
+            int start = 0;
+
+            while (start < path.length()) {
+                int end = path.indexOf('/', start);
+
+                if (end == -1) end = path.length();
+                if (end > start) node = node.children.computeIfAbsent(path.substring(start, end), s -> new Node());
+
+                start = end + 1;
+            }
+
+            return node;
+        }
+
+        /**
+         * Returns the node for the given path, if it exists.
+         *
+         * @param path The path.
+         *
+         * @return The path's node, or {@code null} if it does not exist.
+         */
+        private @Nullable Node find(String path) {
+            Node node = this.root;
+            int start = 0;
+
+            while (start < path.length()) {
+                int end = path.indexOf('/', start);
+
+                if (end == -1) end = path.length();
+
+                if (end > start) {
+                    node = node.children.get(path.substring(start, end));
+
+                    if (node == null) return null;
+                }
+
+                start = end + 1;
+            }
+
+            return node == this.root ? null : node;
+        }
+
+        /**
+         * Returns the files that best resemble the given path, ordered from most to least similar.
+         * <p>
+         * Files are scored by the number of the path's distinctive tokens that they share, and are only accepted if
+         * they share more than half of them.
+         *
+         * @param path The missing path.
+         *
+         * @return The possible valid paths.
+         */
+        private List<String> findHints(String path) {
+            final Int2IntOpenHashMap scores = new Int2IntOpenHashMap();
+            final int commonLimit = this.names.size() / COMMON_TOKEN_RATIO;
+            int distinctive = 0;
+
+            for (final String token : tokenize(path)) {
+                final @Nullable IntList ids = this.postings.get(token);
+
+                // Skipping common tokens keeps this from visiting every entry within the Jar.
+                if (ids != null && ids.size() > commonLimit) continue;
+
+                distinctive += 1;
+
+                if (ids == null) continue;
+
+                for (int index = 0; index < ids.size(); index += 1) scores.addTo(ids.getInt(index), 1);
+            }
+
+            final int threshold = distinctive / 2;
+            final List<Int2IntMap.Entry> matches = new ArrayList<>();
+
+            for (final Int2IntMap.Entry entry : scores.int2IntEntrySet()) {
+                if (entry.getIntValue() > threshold) matches.add(entry);
+            }
+
+            // Ties are broken by how much of the path each file shares, which favors likely typos.
+            return matches.stream()
+                .sorted(Comparator.comparingInt(Int2IntMap.Entry::getIntValue)
+                    .thenComparingInt(entry -> sharedPrefixLength(path, this.names.get(entry.getIntKey())))
+                    .reversed()
+                    .thenComparing(entry -> this.names.get(entry.getIntKey())))
+                .map(entry -> this.names.get(entry.getIntKey()))
+                .toList();
+        }
+
+    }
+
 }
@@ -0,0 +1,536 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.datagen;
+
+import dev.jaxydog.astral.utility.color.ImageHelper;
+import dev.jaxydog.astral.utility.color.PackedColor;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A small, dedicated PNG encoder for generated textures.
+ * <p>
+ * Images with at most 256 distinct colors are written as 8-bit indexed images, and all others are written as 8-bit
+ * RGBA images. No metadata or timestamps are written, the palette is ordered deterministically, and the compressed
+ * data is produced by the JDK's bundled zlib, so the same image always produces the same bytes.
+ * <p>
+ * Each thread re-uses its own {@link Deflater} and buffers, so encoding many small images allocates very little.
+ *
+ * @author Jaxydog
+ */
+public final class PngWriter {
+
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final int CHUNK_IHDR = 0x49_48_44_52;
+    private static final int CHUNK_PLTE = 0x50_4C_54_45;
+    private static final int CHUNK_TRNS = 0x74_52_4E_53;
+    private static final int CHUNK_IDAT = 0x49_44_41_54;
+    private static final int CHUNK_IEND = 0x49_45_4E_44;
+    private static final int COLOR_TYPE_INDEXED = 3;
+    private static final int COLOR_TYPE_RGBA = 6;
+    private static final int MAX_PALETTE_SIZE = 256;
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final Filter filter;
+    private final int level;
+
+    /**
+     * Creates a new PNG writer.
+     *
+     * @param filter The filter heuristic used for each row.
+     * @param level The deflate compression level, within a range of {@code [0, 9]}.
+     *
+     * @throws IllegalArgumentException If the compression level is invalid.
+     */
+    public PngWriter(Filter filter, int level) {
+        if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        this.filter = filter;
+        this.level = level;
+    }
+
+    /**
+     * Returns the filter heuristic used for each row.
+     *
+     * @return The filter heuristic.
+     */
+    public Filter getFilter() {
+        return this.filter;
+    }
+
+    /**
+     * Returns the deflate compression level.
+     *
+     * @return The compression level.
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Returns the Paeth predictor of the given neighboring bytes.
+     *
+     * @param left The byte to the left.
+     * @param up The byte above.
+     * @param upLeft The byte above and to the left.
+     *
+     * @return The predicted byte.
+     */
+    private static int paeth(int left, int up, int upLeft) {
+        final int estimate = left + up - upLeft;
+        final int leftDistance = Math.abs(estimate - left);
+        final int upDistance = Math.abs(estimate - up);
+        final int upLeftDistance = Math.abs(estimate - upLeft);
+
+        if (leftDistance <= upDistance && leftDistance <= upLeftDistance) return left;
+
+        return upDistance <= upLeftDistance ? up : upLeft;
+    }
+
+    /**
+     * Filters a single row using the given filter type.
+     *
+     * @param type The PNG filter type, within a range of {@code [0, 4]}.
+     * @param row The unfiltered row.
+     * @param previous The unfiltered previous row, which is all zeroes for the first row.
+     * @param length The length of each row in bytes.
+     * @param stride The number of bytes per pixel.
+     * @param output The filtered row's destination.
+     * @param offset The filtered row's offset within the destination.
+     *
+     * @return The sum of the absolute values of the filtered bytes, used to compare filters.
+     */
+    private static int filterRow(
+        int type,
+        byte[] row,
+        byte[] previous,
+        int length,
+        int stride,
+        byte[] output,
+        int offset
+    ) {
+        int sum = 0;
+
+        for (int index = 0; index < length; index += 1) {
+            final int current = row[index] & 0xFF;
+            final int left = index >= stride ? row[index - stride] & 0xFF : 0;
+            final int up = previous[index] & 0xFF;
+            final int upLeft = index >= stride ? previous[index - stride] & 0xFF : 0;
+
+            final byte filtered = (byte) switch (type) {
+                case 1 -> current - left;
+                case 2 -> current - up;
+                case 3 -> current - ((left + up) >>> 1);
+                case 4 -> current - paeth(left, up, upLeft);
+                default -> current;
+            };
+
+            output[offset + index] = filtered;
+            sum += Math.abs(filtered);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Writes a 32-bit big-endian integer.
+     *
+     * @param output The output stream.
+     * @param value The integer.
+     */
+    private static void writeInt(ByteArrayOutputStream output, int value) {
+        output.write(value >>> 24);
+        output.write(value >>> 16);
+        output.write(value >>> 8);
+        output.write(value);
+    }
+
+    /**
+     * Writes a single chunk, including its length and checksum.
+     *
+     * @param buffers The current thread's buffers.
+     * @param type The chunk type.
+     * @param data The chunk's data.
+     * @param length The length of the chunk's data.
+     */
+    private static void writeChunk(Buffers buffers, int type, byte[] data, int length) {
+        final CRC32 crc = buffers.crc;
+
+        crc.reset();
+        crc.update(type >>> 24);
+        crc.update(type >>> 16);
+        crc.update(type >>> 8);
+        crc.update(type);
+        crc.update(data, 0, length);
+
+        writeInt(buffers.output, length);
+        writeInt(buffers.output, type);
+        buffers.output.write(data, 0, length);
+        writeInt(buffers.output, (int) crc.getValue());
+    }
+
+    /**
+     * Builds the image's palette, if it has few enough colors.
+     * <p>
+     * Translucent colors are placed first, so that the transparency chunk may omit every trailing opaque color. Within
+     * each group, colors are ordered by their first appearance.
+     *
+     * @param pixels The image's packed ARGB pixels.
+     * @param buffers The current thread's buffers.
+     *
+     * @return The number of colors within the palette, or {@code -1} if the image has too many colors.
+     */
+    private static int buildPalette(int[] pixels, Buffers buffers) {
+        final Int2IntOpenHashMap indices = buffers.indices;
+        final int[] palette = buffers.palette;
+        int translucent = 0;
+        int size = 0;
+
+        indices.clear();
+
+        for (final int pixel : pixels) {
+            if (indices.containsKey(pixel)) continue;
+            if (size == MAX_PALETTE_SIZE) return -1;
+
+            indices.put(pixel, size);
+            palette[size] = pixel;
+            size += 1;
+
+            if (PackedColor.alpha(pixel) != 0xFF) translucent += 1;
+        }
+
+        // Stable partition of the palette into translucent and opaque colors.
+        final int[] ordered = buffers.ordered;
+        int nextTranslucent = 0;
+        int nextOpaque = translucent;
+
+        for (int index = 0; index < size; index += 1) {
+            final int color = palette[index];
+            final int target = PackedColor.alpha(color) != 0xFF ? nextTranslucent++ : nextOpaque++;
+
+            ordered[target] = color;
+            indices.put(color, target);
+        }
+
+        System.arraycopy(ordered, 0, palette, 0, size);
+
+        return size;
+    }
+
+    /**
+     * Encodes the given image as a PNG.
+     *
+     * @param image The image.
+     *
+     * @return The encoded bytes.
+     */
+    public byte[] write(BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int[] pixels = ImageHelper.getPixels(ImageHelper.hasPackedPixels(image)
+            ? image
+            : ImageHelper.copyPacked(image));
+        final Buffers buffers = BUFFERS.get();
+        final int paletteSize = buildPalette(pixels, buffers);
+        final boolean indexed = paletteSize != -1;
+        final int stride = indexed ? 1 : 4;
+        final int rowLength = width * stride;
+        final byte[] raw = buffers.raw(height * (rowLength + 1));
+        byte[] row = buffers.row(rowLength);
+        byte[] previous = buffers.previous(rowLength);
+
+        for (int y = 0; y < height; y += 1) {
+            for (int x = 0; x < width; x += 1) {
+                final int pixel = pixels[y * width + x];
+
+                if (indexed) {
+                    row[x] = (byte) buffers.indices.get(pixel);
+                } else {
+                    row[x * 4] = (byte) PackedColor.red(pixel);
+                    row[x * 4 + 1] = (byte) PackedColor.green(pixel);
+                    row[x * 4 + 2] = (byte) PackedColor.blue(pixel);
+                    row[x * 4 + 3] = (byte) PackedColor.alpha(pixel);
+                }
+            }
+
+            this.filterInto(buffers, indexed, row, previous, rowLength, stride, raw, y * (rowLength + 1));
+
+            final byte[] swap = previous;
+
+            previous = row;
+            row = swap;
+        }
+
+        buffers.output.reset();
+        buffers.output.write(SIGNATURE, 0, SIGNATURE.length);
+
+        final byte[] header = buffers.header;
+
+        header[0] = (byte) (width >>> 24);
+        header[1] = (byte) (width >>> 16);
+        header[2] = (byte) (width >>> 8);
+        header[3] = (byte) width;
+        header[4] = (byte) (height >>> 24);
+        header[5] = (byte) (height >>> 16);
+        header[6] = (byte) (height >>> 8);
+        header[7] = (byte) height;
+        header[8] = 8;
+        header[9] = (byte) (indexed ? COLOR_TYPE_INDEXED : COLOR_TYPE_RGBA);
+        // Compression, filter, and interlace methods are always the defaults.
+        header[10] = 0;
+        header[11] = 0;
+        header[12] = 0;
+
+        writeChunk(buffers, CHUNK_IHDR, header, 13);
+
+        if (indexed) this.writePalette(buffers, paletteSize);
+
+        // The compression buffer may grow while deflating, so it must only be read afterward.
+        final int compressed = this.deflate(buffers, raw, height * (rowLength + 1));
+
+        writeChunk(buffers, CHUNK_IDAT, buffers.compressed, compressed);
+        writeChunk(buffers, CHUNK_IEND, buffers.header, 0);
+
+        return buffers.output.toByteArray();
+    }
+
+    /**
+     * Filters a single row into the raw image data, preceded by its filter type.
+     *
+     * @param buffers The current thread's buffers.
+     * @param indexed Whether the image is indexed.
+     * @param row The unfiltered row.
+     * @param previous The unfiltered previous row.
+     * @param length The length of each row in bytes.
+     * @param stride The number of bytes per pixel.
+     * @param raw The raw image data.
+     * @param offset The row's offset within the raw image data.
+     */
+    private void filterInto(
+        Buffers buffers,
+        boolean indexed,
+        byte[] row,
+        byte[] previous,
+        int length,
+        int stride,
+        byte[] raw,
+        int offset
+    ) {
+        // Filtering rarely helps indexed images, as their indices are not continuous values.
+        if (this.filter != Filter.ADAPTIVE || indexed) {
+            final int type = indexed && this.filter == Filter.ADAPTIVE ? Filter.NONE.type : this.filter.type;
+
+            raw[offset] = (byte) type;
+            filterRow(type, row, previous, length, stride, raw, offset + 1);
+
+            return;
+        }
+
+        final byte[] candidate = buffers.candidate(length);
+        int bestType = 0;
+        int bestSum = Integer.MAX_VALUE;
+
+        // Picks the filter with the smallest sum of absolute differences, preferring lower types on ties.
+        for (int type = 0; type <= 4; type += 1) {
+            final int sum = filterRow(type, row, previous, length, stride, candidate, 0);
+
+            if (sum < bestSum) {
+                bestType = type;
+                bestSum = sum;
+            }
+        }
+
+        raw[offset] = (byte) bestType;
+        filterRow(bestType, row, previous, length, stride, raw, offset + 1);
+    }
+
+    /**
+     * Writes the palette chunk, followed by the transparency chunk if any colors are translucent.
+     *
+     * @param buffers The current thread's buffers.
+     * @param size The number of colors within the palette.
+     */
+    private void writePalette(Buffers buffers, int size) {
+        final byte[] data = buffers.chunk;
+        int translucent = 0;
+
+        for (int index = 0; index < size; index += 1) {
+            final int color = buffers.palette[index];
+
+            data[index * 3] = (byte) PackedColor.red(color);
+            data[index * 3 + 1] = (byte) PackedColor.green(color);
+            data[index * 3 + 2] = (byte) PackedColor.blue(color);
+
+            if (PackedColor.alpha(color) != 0xFF) translucent = index + 1;
+        }
+
+        writeChunk(buffers, CHUNK_PLTE, data, size * 3);
+
+        if (translucent == 0) return;
+
+        for (int index = 0; index < translucent; index += 1) {
+            data[index] = (byte) PackedColor.alpha(buffers.palette[index]);
+        }
+
+        writeChunk(buffers, CHUNK_TRNS, data, translucent);
+    }
+
+    /**
+     * Compresses the raw image data into the current thread's compression buffer.
+     *
+     * @param buffers The current thread's buffers.
+     * @param raw The raw image data.
+     * @param length The length of the raw image data.
+     *
+     * @return The length of the compressed data.
+     */
+    private int deflate(Buffers buffers, byte[] raw, int length) {
+        final Deflater deflater = buffers.deflater;
+
+        deflater.reset();
+        deflater.setLevel(this.level);
+        deflater.setInput(raw, 0, length);
+        deflater.finish();
+
+        int written = 0;
+
+        while (!deflater.finished()) {
+            if (written == buffers.compressed.length) {
+                final byte[] grown = new byte[buffers.compressed.length * 2];
+
+                System.arraycopy(buffers.compressed, 0, grown, 0, written);
+
+                buffers.compressed = grown;
+            }
+
+            written += deflater.deflate(buffers.compressed, written, buffers.compressed.length - written);
+        }
+
+        return written;
+    }
+
+    /**
+     * The filter heuristics that may be used for each row.
+     *
+     * @author Jaxydog
+     */
+    public enum Filter {
+
+        NONE(0),
+        SUB(1),
+        UP(2),
+        AVERAGE(3),
+        PAETH(4),
+        /**
+         * Picks the filter with the smallest sum of absolute differences for each row of RGBA images, and no filter
+         * for indexed images.
+         */
+        ADAPTIVE(-1);
+
+        private final int type;
+
+        Filter(int type) {
+            this.type = type;
+        }
+
+    }
+
+    /**
+     * The re-usable buffers owned by each thread.
+     *
+     * @author Jaxydog
+     */
+    private static final class Buffers {
+
+        // The deflater is intentionally never ended, as it lives for as long as its thread.
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private final CRC32 crc = new CRC32();
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+        private final Int2IntOpenHashMap indices = new Int2IntOpenHashMap(MAX_PALETTE_SIZE);
+        private final int[] palette = new int[MAX_PALETTE_SIZE];
+        private final int[] ordered = new int[MAX_PALETTE_SIZE];
+        private final byte[] header = new byte[13];
+        private final byte[] chunk = new byte[MAX_PALETTE_SIZE * 3];
+        private byte[] compressed = new byte[1024];
+        private byte[] raw = new byte[0];
+        private byte[] row = new byte[0];
+        private byte[] previous = new byte[0];
+        private byte[] candidate = new byte[0];
+
+        /**
+         * Returns the raw image data buffer, growing it if needed.
+         *
+         * @param length The required length.
+         *
+         * @return The buffer.
+         */
+        private byte[] raw(int length) {
+            if (this.raw.length < length) this.raw = new byte[length];
+
+            return this.raw;
+        }
+
+        /**
+         * Returns the current row buffer, growing it if needed.
+         *
+         * @param length The required length.
+         *
+         * @return The buffer.
+         */
+        private byte[] row(int length) {
+            if (this.row.length < length) this.row = new byte[length];
+
+            return this.row;
+        }
+
+        /**
+         * Returns the previous row buffer, cleared and grown if needed.
+         *
+         * @param length The required length.
+         *
+         * @return The buffer.
+         */
+        private byte[] previous(int length) {
+            if (this.previous.length < length) this.previous = new byte[length];
+
+            // The row before the first row is defined to be all zeroes.
+            Arrays.fill(this.previous, 0, length, (byte) 0);
+
+            return this.previous;
+        }
+
+        /**
+         * Returns the candidate row buffer, growing it if needed.
+         *
+         * @param length The required length.
+         *
+         * @return The buffer.
+         */
+        private byte[] candidate(int length) {
+            if (this.candidate.length < length) this.candidate = new byte[length];
+
+            return this.candidate;
+        }
+
+    }
+
+}
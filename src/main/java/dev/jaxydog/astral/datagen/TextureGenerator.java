@@ -14,9 +14,16 @@
 
 package dev.jaxydog.astral.datagen;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
-import com.google.common.hash.HashingOutputStream;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import dev.jaxydog.astral.Astral;
+import dev.jaxydog.astral.utility.color.ImageHelper;
+import dev.jaxydog.astral.utility.color.ImageTiling;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.fabricmc.fabric.api.datagen.v1.FabricDataGenerator.Pack;
 import net.fabricmc.fabric.api.datagen.v1.FabricDataOutput;
@@ -28,21 +35,35 @@ import net.minecraft.registry.Registry;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.RegistryWrapper.WrapperLookup;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
 import net.minecraft.util.Util;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.imageio.ImageIO;
-import javax.imageio.stream.ImageOutputStream;
 import java.awt.image.BufferedImage;
-import java.awt.image.IndexColorModel;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
 
 /**
  * Provides a simple data generation API for textures.
@@ -107,9 +128,64 @@ public class TextureGenerator implements DataProvider {
      */
     public static class Instance<T> implements DataProvider {
 
-        private static final Map<String, BufferedImage> IMAGE_CACHE = new Object2ObjectOpenHashMap<>();
+        /**
+         * The maximum number of decoded source textures that are kept in memory at once.
+         * <p>
+         * This may be configured using the {@code astral.datagen.image_cache_size} system property.
+         */
+        private static final int IMAGE_CACHE_SIZE = Math.max(1,
+            Integer.getInteger("astral.datagen.image_cache_size", 256)
+        );
+        /**
+         * Decoded source textures, keyed by their full path within the Jar.
+         * <p>
+         * Each texture is stored as a future, such that concurrent requests for the same texture only decode it once.
+         */
+        private static final Map<String, CompletableFuture<Optional<SourceImage>>> IMAGE_CACHE
+            = new ConcurrentHashMap<>();
+        /**
+         * The order in which source textures were added to the cache, used to evict the oldest textures first.
+         */
+        private static final Queue<String> IMAGE_CACHE_ORDER = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The version of the generator's output, which must be incremented whenever textures would be encoded
+         * differently.
+         */
+        private static final int GENERATOR_VERSION = 2;
+        /**
+         * The encoder used for every generated texture.
+         * <p>
+         * The compression level may be configured using the {@code astral.datagen.png_level} system property, and the
+         * filter heuristic using the {@code astral.datagen.png_filter} system property.
+         */
+        private static final PngWriter PNG_WRITER = createPngWriter();
+        /**
+         * Whether every texture should be re-generated, regardless of whether its inputs have changed.
+         * <p>
+         * This may be enabled using the {@code astral.datagen.full_rebuild} system property.
+         */
+        private static final boolean FULL_REBUILD = Boolean.getBoolean("astral.datagen.full_rebuild");
+        /**
+         * The directory containing each instance's manifest, relative to the data generator's run directory.
+         * <p>
+         * This may be configured using the {@code astral.datagen.manifest_dir} system property.
+         */
+        private static final Path MANIFEST_DIRECTORY = Path.of(System.getProperty("astral.datagen.manifest_dir",
+            "astral"
+        ));
+        private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+        /**
+         * The hashes of each source texture's encoded bytes, keyed by their full path within the Jar.
+         */
+        private static final Map<String, HashCode> SOURCE_HASHES = new ConcurrentHashMap<>();
+        /**
+         * The number of instances that have not yet finished running, after which the Jar is closed.
+         */
+        private static final AtomicInteger RUNNING = new AtomicInteger();
 
         private final Map<Identifier, BufferedImage> images = new Object2ObjectOpenHashMap<>();
+        private final Map<Identifier, DeferredTexture> textures = new Object2ObjectOpenHashMap<>();
 
         private final RegistryKey<? extends Registry<T>> registryKey;
         private final CompletableFuture<WrapperLookup> lookupFuture;
@@ -125,27 +201,84 @@ public class TextureGenerator implements DataProvider {
             this.pathResolver = output.getResolver(OutputType.RESOURCE_PACK,
                 "textures/" + registryKey.getValue().getPath()
             );
+
+            RUNNING.incrementAndGet();
         }
 
         /**
-         * Creates a copy of the provided image.
+         * Creates the encoder used for every generated texture from its system properties.
+         * <p>
+         * Invalid properties are reported and replaced with their defaults, rather than preventing the generator from
+         * loading.
          *
-         * @param image The source image.
-         *
-         * @return A copy of the given image.
+         * @return The encoder.
          */
-        private static @NotNull BufferedImage copyImage(@NotNull BufferedImage image) {
-            final BufferedImage copy;
+        private static PngWriter createPngWriter() {
+            final String filterName = System.getProperty("astral.datagen.png_filter", "ADAPTIVE");
+            final String levelName = System.getProperty("astral.datagen.png_level");
+            PngWriter.Filter filter = PngWriter.Filter.ADAPTIVE;
+            int level = Deflater.BEST_COMPRESSION;
+
+            try {
+                filter = PngWriter.Filter.valueOf(filterName.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException exception) {
+                Astral.LOGGER.warn("Invalid PNG filter '{}', expected one of {}; using {}",
+                    filterName,
+                    Arrays.toString(PngWriter.Filter.values()),
+                    filter
+                );
+            }
+
+            if (levelName != null) {
+                try {
+                    final int parsed = Integer.parseInt(levelName.trim());
+
+                    if (parsed < Deflater.NO_COMPRESSION || parsed > Deflater.BEST_COMPRESSION) {
+                        throw new NumberFormatException("Out of range");
+                    }
 
-            if (image.getColorModel() instanceof IndexColorModel model) {
-                copy = new BufferedImage(image.getWidth(), image.getHeight(), image.getType(), model);
-            } else {
-                copy = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+                    level = parsed;
+                } catch (NumberFormatException exception) {
+                    Astral.LOGGER.warn("Invalid PNG compression level '{}', expected [0, 9]; using {}",
+                        levelName,
+                        level
+                    );
+                }
             }
 
-            image.copyData(copy.getRaster());
+            return new PngWriter(filter, level);
+        }
+
+        /**
+         * Reads and decodes a source texture from the Jar.
+         *
+         * @param jarPath The texture's path within the Jar.
+         *
+         * @return The decoded texture, if it exists and could be read.
+         */
+        private static Optional<SourceImage> readImage(String jarPath) {
+            return JarAccess.getInputStream(jarPath).flatMap(stream -> {
+                try (stream) {
+                    return Optional.ofNullable(ImageIO.read(stream)).map(SourceImage::of);
+                } catch (IOException exception) {
+                    Astral.LOGGER.error(exception.toString());
+
+                    return Optional.empty();
+                }
+            });
+        }
+
+        /**
+         * Evicts the oldest source textures until the cache is within its size limit.
+         */
+        private static void evictImages() {
+            while (IMAGE_CACHE.size() > IMAGE_CACHE_SIZE) {
+                final String path = IMAGE_CACHE_ORDER.poll();
+
+                if (path == null) break;
 
-            return image;
+                IMAGE_CACHE.remove(path);
+            }
         }
 
         /**
@@ -158,29 +291,101 @@ public class TextureGenerator implements DataProvider {
             this.images.put(identifier, image);
         }
 
-        public Optional<BufferedImage> getImage(String path) {
-            // Early return to prevent duplicate file reads.
-            // Intentionally checked *before* checking for Jar access in case any values are still set.
-            if (IMAGE_CACHE.containsKey(path)) return Optional.of(copyImage(IMAGE_CACHE.get(path)));
-            if (!JarAccess.canLoad()) return Optional.empty();
+        /**
+         * Generates a new texture from source textures within the Minecraft Jar.
+         * <p>
+         * The texture is only created once the generator runs, and is skipped entirely if its input key matches that of
+         * the previous run. The key is computed from the source textures' bytes and the given parameters, so the
+         * parameters must identify the transform, its version, and all of its arguments.
+         *
+         * @param identifier The texture's identifier.
+         * @param sources The source textures' paths, relative to the registry folder.
+         * @param parameters A string that identifies the transform and all of its arguments.
+         * @param transform Creates the texture from copies of the source textures, in the same order.
+         */
+        public void generate(
+            Identifier identifier,
+            List<String> sources,
+            String parameters,
+            Function<List<BufferedImage>, BufferedImage> transform
+        ) {
+            this.textures.put(identifier, new DeferredTexture(List.copyOf(sources), parameters, transform));
+        }
+
+        /**
+         * Generates a new texture from a source texture within the Minecraft Jar.
+         *
+         * @param identifier The texture's identifier.
+         * @param source The source texture's path, relative to the registry folder.
+         * @param parameters A string that identifies the transform and all of its arguments.
+         * @param transform Creates the texture from a copy of the source texture.
+         *
+         * @see #generate(Identifier, List, String, Function)
+         */
+        public void generate(
+            Identifier identifier,
+            String source,
+            String parameters,
+            UnaryOperator<BufferedImage> transform
+        ) {
+            this.generate(identifier, List.of(source), parameters, images -> transform.apply(images.get(0)));
+        }
 
+        /**
+         * Returns the full path of a source texture within the Minecraft Jar.
+         *
+         * @param path The texture's path, relative to the registry folder.
+         *
+         * @return The texture's path within the Jar.
+         */
+        private String getJarPath(String path) {
             // We currently only support loading directly from the Minecraft jar.
             // As such, we can safely assume all file paths are within `BASE_PATH`.
-            final String jarPath = "%s/%s/%s.png".formatted(BASE_PATH, this.registryKey.getValue().getPath(), path);
+            return "%s/%s/%s.png".formatted(BASE_PATH, this.registryKey.getValue().getPath(), path);
+        }
 
-            return JarAccess.getInputStream(jarPath).flatMap(stream -> {
-                try {
-                    final BufferedImage image = ImageIO.read(stream);
+        /**
+         * Returns a copy of a source texture from the Minecraft Jar, within this instance's registry folder.
+         * <p>
+         * The returned image always uses the {@link BufferedImage#TYPE_INT_ARGB} format, and may be freely modified.
+         *
+         * @param path The texture's path, relative to the registry folder.
+         *
+         * @return The texture, if it exists and could be read.
+         */
+        public Optional<BufferedImage> getImage(String path) {
+            final String jarPath = this.getJarPath(path);
 
-                    if (image != null) IMAGE_CACHE.put(path, copyImage(image));
+            // Intentionally checked *before* checking for Jar access in case any values are still set.
+            CompletableFuture<Optional<SourceImage>> future = IMAGE_CACHE.get(jarPath);
 
-                    return Optional.ofNullable(image);
-                } catch (IOException exception) {
-                    Astral.LOGGER.error(exception.toString());
+            if (future == null) {
+                if (!JarAccess.canLoad()) return Optional.empty();
 
-                    return Optional.empty();
+                final CompletableFuture<Optional<SourceImage>> created = new CompletableFuture<>();
+
+                future = IMAGE_CACHE.putIfAbsent(jarPath, created);
+
+                // Only the thread that inserted the future decodes the texture, all others wait for its result.
+                if (future == null) {
+                    future = created;
+
+                    try {
+                        created.complete(readImage(jarPath));
+                    } catch (RuntimeException exception) {
+                        // Unexpected failures are not cached, allowing later requests to try again.
+                        IMAGE_CACHE.remove(jarPath, created);
+                        created.completeExceptionally(exception);
+
+                        throw exception;
+                    }
+
+                    IMAGE_CACHE_ORDER.add(jarPath);
+                    evictImages();
                 }
-            });
+            }
+
+            return future.join().map(SourceImage::copy);
         }
 
         @Override
@@ -188,34 +393,357 @@ public class TextureGenerator implements DataProvider {
             return "Textures for " + this.registryKey;
         }
 
-        @SuppressWarnings("UnstableApiUsage")
+        /**
+         * Returns the hash of a source texture's encoded bytes, computing it if it has not yet been hashed.
+         *
+         * @param jarPath The texture's path within the Jar.
+         *
+         * @return The texture's hash, if it exists.
+         */
+        @SuppressWarnings("deprecation")
+        private static Optional<HashCode> getSourceHash(String jarPath) {
+            final @Nullable HashCode cached = SOURCE_HASHES.get(jarPath);
+
+            if (cached != null) return Optional.of(cached);
+
+            return JarAccess.getBytes(jarPath).map(bytes -> {
+                final HashCode hash = Hashing.sha1().hashBytes(bytes);
+
+                SOURCE_HASHES.putIfAbsent(jarPath, hash);
+
+                return hash;
+            });
+        }
+
+        /**
+         * Encodes the given image and writes it to the given path.
+         *
+         * @param writer The data writer.
+         * @param path The output path.
+         * @param image The image.
+         *
+         * @return The hash of the written bytes, or {@code null} if the image could not be written.
+         */
+        private static @Nullable HashCode writeImage(DataWriter writer, Path path, BufferedImage image) {
+            final byte[] bytes = PNG_WRITER.write(image);
+            // For hashing, we don't need anything cryptographic, just consistent between runs.
+            // For this case, `sha1` works perfectly fine, as it's fast and stupid.
+            @SuppressWarnings("deprecation")
+            final HashCode hash = Hashing.sha1().hashBytes(bytes);
+
+            try {
+                writer.write(path, bytes, hash);
+
+                return hash;
+            } catch (IOException exception) {
+                Astral.LOGGER.error("Failed to save file to {}", path);
+                Astral.LOGGER.error(exception.getLocalizedMessage());
+
+                return null;
+            }
+        }
+
+        /**
+         * Re-submits a previously generated texture to the writer, if it still exists and has not been modified.
+         * <p>
+         * The data writer deletes any outputs that were not written during a run, so skipped textures must still be
+         * written. Since their hashes are unchanged, the writer does not actually write them to the disk.
+         *
+         * @param writer The data writer.
+         * @param path The output path.
+         * @param entry The texture's manifest entry.
+         *
+         * @return Whether the texture was re-submitted.
+         */
+        @SuppressWarnings({ "UnstableApiUsage", "deprecation" })
+        private static boolean reuseImage(DataWriter writer, Path path, ManifestEntry entry) {
+            if (!Files.isRegularFile(path)) return false;
+
+            try {
+                final byte[] bytes = Files.readAllBytes(path);
+                final HashCode hash = Hashing.sha1().hashBytes(bytes);
+
+                if (!hash.toString().equals(entry.hash())) return false;
+
+                writer.write(path, bytes, hash);
+
+                return true;
+            } catch (IOException exception) {
+                return false;
+            }
+        }
+
+        /**
+         * Reads a manifest from the given path.
+         *
+         * @param path The manifest's path.
+         *
+         * @return The manifest's entries, or an empty map if it does not exist or is outdated.
+         */
+        private static Map<Identifier, ManifestEntry> readManifest(Path path) {
+            if (!Files.isRegularFile(path)) return Map.of();
+
+            try (final Reader reader = Files.newBufferedReader(path)) {
+                final JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+
+                if (JsonHelper.getInt(json, "version", 0) != GENERATOR_VERSION) return Map.of();
+
+                final JsonObject textures = JsonHelper.getObject(json, "textures");
+                final Map<Identifier, ManifestEntry> entries = new Object2ObjectOpenHashMap<>(textures.size());
+
+                for (final String key : textures.keySet()) {
+                    final JsonObject entry = JsonHelper.getObject(textures, key);
+
+                    entries.put(new Identifier(key),
+                        new ManifestEntry(JsonHelper.getString(entry, "key"), JsonHelper.getString(entry, "hash"))
+                    );
+                }
+
+                return entries;
+            } catch (IOException | RuntimeException exception) {
+                Astral.LOGGER.warn("Ignoring invalid texture manifest {}: {}", path, exception.getLocalizedMessage());
+
+                return Map.of();
+            }
+        }
+
+        /**
+         * Writes a manifest to the given path.
+         *
+         * @param path The manifest's path.
+         * @param entries The manifest's entries.
+         */
+        private static void writeManifest(Path path, Map<Identifier, ManifestEntry> entries) {
+            final JsonObject json = new JsonObject();
+            final JsonObject textures = new JsonObject();
+
+            json.addProperty("version", GENERATOR_VERSION);
+
+            // Sorted so that the manifest stays stable between runs.
+            entries.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                final JsonObject object = new JsonObject();
+
+                object.addProperty("key", entry.getValue().key());
+                object.addProperty("hash", entry.getValue().hash());
+                textures.add(entry.getKey().toString(), object);
+            });
+
+            json.add("textures", textures);
+
+            try {
+                Files.createDirectories(path.getParent());
+                Files.writeString(path, GSON.toJson(json));
+            } catch (IOException exception) {
+                Astral.LOGGER.error("Failed to save texture manifest to {}", path);
+                Astral.LOGGER.error(exception.getLocalizedMessage());
+            }
+        }
+
+        /**
+         * Returns the path of this instance's manifest.
+         *
+         * @return The manifest's path.
+         */
+        private Path getManifestPath() {
+            final String name = this.registryKey.getValue().getPath().replace('/', '_');
+
+            return MANIFEST_DIRECTORY.resolve("textures_%s.json".formatted(name));
+        }
+
+        /**
+         * Computes the input key of the given texture.
+         *
+         * @param texture The texture.
+         *
+         * @return The texture's input key, or an empty optional if any of its sources do not exist.
+         */
+        @SuppressWarnings({ "UnstableApiUsage", "deprecation" })
+        private Optional<String> getInputKey(DeferredTexture texture) {
+            final Hasher hasher = Hashing.sha1().newHasher();
+            final String filter = PNG_WRITER.getFilter().name();
+
+            // Strings are prefixed by their lengths, so that adjacent values can't be confused for each other.
+            hasher.putInt(GENERATOR_VERSION);
+            // The encoder's settings change the written bytes, so textures must be re-encoded when they change.
+            hasher.putInt(filter.length()).putUnencodedChars(filter).putInt(PNG_WRITER.getLevel());
+            hasher.putInt(texture.parameters().length()).putUnencodedChars(texture.parameters());
+
+            for (final String source : texture.sources()) {
+                final String jarPath = this.getJarPath(source);
+                final Optional<HashCode> hash = getSourceHash(jarPath);
+
+                if (hash.isEmpty()) return Optional.empty();
+
+                hasher.putInt(jarPath.length()).putUnencodedChars(jarPath).putBytes(hash.get().asBytes());
+            }
+
+            return Optional.of(hasher.hash().toString());
+        }
+
+        /**
+         * Generates a deferred texture, skipping it if its inputs have not changed since the previous run.
+         *
+         * @param writer The data writer.
+         * @param identifier The texture's identifier.
+         * @param texture The texture.
+         * @param previous The previous run's manifest entries.
+         *
+         * @return The texture's manifest entry, or {@code null} if it could not be generated.
+         */
+        private @Nullable ManifestEntry generateTexture(
+            DataWriter writer,
+            Identifier identifier,
+            DeferredTexture texture,
+            Map<Identifier, ManifestEntry> previous
+        ) {
+            final Optional<String> maybeKey = this.getInputKey(texture);
+
+            // Missing sources are already reported when they're read, and produce no texture.
+            if (maybeKey.isEmpty()) return null;
+
+            final String key = maybeKey.get();
+            final Path path = this.pathResolver.resolve(identifier, "png");
+            final @Nullable ManifestEntry entry = previous.get(identifier);
+
+            // Skipped before any source is decoded, transformed, or encoded.
+            if (entry != null && entry.key().equals(key) && reuseImage(writer, path, entry)) return entry;
+
+            final List<BufferedImage> sources = new ArrayList<>(texture.sources().size());
+
+            for (final String source : texture.sources()) {
+                final Optional<BufferedImage> image = this.getImage(source);
+
+                if (image.isEmpty()) return null;
+
+                sources.add(image.get());
+            }
+
+            final @Nullable HashCode hash = writeImage(writer, path, texture.transform().apply(sources));
+
+            return hash == null ? null : new ManifestEntry(key, hash.toString());
+        }
+
+        /**
+         * Generates a batch of deferred textures that share the same source textures.
+         * <p>
+         * Every texture within the batch, such as each dyed variant of a source texture, is transformed and encoded on
+         * the image worker pool.
+         *
+         * @param writer The data writer.
+         * @param batch The textures, keyed by their identifiers.
+         * @param previous The previous run's manifest entries.
+         * @param next The current run's manifest entries.
+         *
+         * @see ImageTiling
+         */
+        private void generateBatch(
+            DataWriter writer,
+            List<Map.Entry<Identifier, DeferredTexture>> batch,
+            Map<Identifier, ManifestEntry> previous,
+            Map<Identifier, ManifestEntry> next
+        ) {
+            final List<ManifestEntry> entries = ImageTiling.convertAll(batch,
+                entry -> this.generateTexture(writer, entry.getKey(), entry.getValue(), previous)
+            );
+
+            for (int index = 0; index < batch.size(); index += 1) {
+                final @Nullable ManifestEntry entry = entries.get(index);
+
+                if (entry != null) next.put(batch.get(index).getKey(), entry);
+            }
+        }
+
         @Override
         public CompletableFuture<?> run(DataWriter writer) {
-            return this.lookupFuture.thenCompose(lookup -> CompletableFuture.allOf(this.images.entrySet()
-                .stream()
-                .map(entry -> CompletableFuture.runAsync(() -> {
-
-                    // Images are typically ~250-350 bytes, so overshooting prevents repeated reallocation.
-                    // 512 bytes should be enough that most images never exceed the buffer size, with a few exceptions.
-                    final ByteArrayOutputStream output = new ByteArrayOutputStream(512);
-                    // For hashing, we don't need anything cryptographic, just consistent between runs.
-                    // For this case, `sha1` works perfectly fine, as it's fast and stupid.
-                    @SuppressWarnings("deprecation")
-                    final HashingOutputStream hash = new HashingOutputStream(Hashing.sha1(), output);
-                    final Path path = this.pathResolver.resolve(entry.getKey(), "png");
-
-                    try (final ImageOutputStream stream = ImageIO.createImageOutputStream(hash)) {
-                        ImageIO.write(entry.getValue(), "png", stream);
-
-                        // Ensure that all bytes are written to the stream before writing the file.
-                        stream.flush();
-                        writer.write(path, output.toByteArray(), hash.hash());
-                    } catch (IOException exception) {
-                        Astral.LOGGER.error("Failed to save file to {}", path);
-                        Astral.LOGGER.error(exception.getLocalizedMessage());
-                    }
-                }, Util.getMainWorkerExecutor()))
-                .toArray(CompletableFuture[]::new)));
+            return this.lookupFuture.thenCompose(lookup -> {
+                final Path manifestPath = this.getManifestPath();
+                final Map<Identifier, ManifestEntry> previous = FULL_REBUILD ? Map.of() : readManifest(manifestPath);
+                final Map<Identifier, ManifestEntry> next = new ConcurrentHashMap<>();
+
+                final Stream<CompletableFuture<?>> images = this.images.entrySet()
+                    .stream()
+                    .map(entry -> CompletableFuture.runAsync(() -> writeImage(writer,
+                        this.pathResolver.resolve(entry.getKey(), "png"),
+                        entry.getValue()
+                    ), Util.getMainWorkerExecutor()));
+                // Textures are batched by their sources, so that each source's variants are generated together.
+                final Stream<CompletableFuture<?>> textures = this.textures.entrySet()
+                    .stream()
+                    .collect(Collectors.groupingBy(entry -> entry.getValue().sources(),
+                        LinkedHashMap::new,
+                        Collectors.toList()
+                    ))
+                    .values()
+                    .stream()
+                    .map(batch -> CompletableFuture.runAsync(() -> this.generateBatch(writer, batch, previous, next),
+                        Util.getMainWorkerExecutor()
+                    ));
+
+                return CompletableFuture.allOf(Stream.concat(images, textures).toArray(CompletableFuture[]::new))
+                    .thenRun(() -> writeManifest(manifestPath, next));
+            }).whenComplete((result, exception) -> {
+                // Every instance is created before any are run, so the last to finish no longer needs the Jar.
+                if (RUNNING.decrementAndGet() == 0) JarAccess.close();
+            });
+        }
+
+        /**
+         * A texture that is generated from source textures once the generator runs.
+         *
+         * @param sources The source textures' paths, relative to the registry folder.
+         * @param parameters A string that identifies the transform and all of its arguments.
+         * @param transform Creates the texture from copies of the source textures, in the same order.
+         */
+        private record DeferredTexture(
+            List<String> sources,
+            String parameters,
+            Function<List<BufferedImage>, BufferedImage> transform
+        ) { }
+
+        /**
+         * A single texture within a manifest.
+         *
+         * @param key The input key that the texture was generated from.
+         * @param hash The hash of the texture's encoded bytes.
+         */
+        private record ManifestEntry(String key, String hash) { }
+
+        /**
+         * A decoded source texture, stored as packed ARGB pixels that are never modified.
+         *
+         * @param width The texture's width.
+         * @param height The texture's height.
+         * @param pixels The texture's packed ARGB pixels.
+         */
+        private record SourceImage(int width, int height, int[] pixels) {
+
+            /**
+             * Creates a new source texture from the given image.
+             *
+             * @param image The decoded image.
+             *
+             * @return The source texture.
+             */
+            private static SourceImage of(BufferedImage image) {
+                // The packed copy is never exposed, so its pixels may be held directly.
+                final BufferedImage packed = ImageHelper.copyPacked(image);
+
+                return new SourceImage(packed.getWidth(), packed.getHeight(), ImageHelper.getPixels(packed));
+            }
+
+            /**
+             * Returns a new image containing a copy of this texture's pixels.
+             *
+             * @return The copied image.
+             */
+            private BufferedImage copy() {
+                final BufferedImage image = new BufferedImage(this.width(), this.height(), BufferedImage.TYPE_INT_ARGB);
+
+                System.arraycopy(this.pixels(), 0, ImageHelper.getPixels(image), 0, this.pixels().length);
+
+                return image;
+            }
+
         }
 
     }
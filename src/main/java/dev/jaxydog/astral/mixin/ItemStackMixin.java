@@ -21,6 +21,7 @@ import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Mutable;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 
 /**
  * Implements the {@link AstralItemStack} interface.
@@ -41,6 +42,14 @@ public abstract class ItemStackMixin implements AstralItemStack {
     @Mutable
     private Item item;
 
+    /**
+     * The stack's transient storminess value.
+     *
+     * @since 2.7.0
+     */
+    @Unique
+    private double storminess = Double.NaN;
+
     @Override
     public void astral$setItem(Item item) {
         this.item = item;
@@ -60,4 +69,14 @@ public abstract class ItemStackMixin implements AstralItemStack {
         return copy;
     }
 
+    @Override
+    public double astral$getStorminess() {
+        return this.storminess;
+    }
+
+    @Override
+    public void astral$setStorminess(double storminess) {
+        this.storminess = storminess;
+    }
+
 }
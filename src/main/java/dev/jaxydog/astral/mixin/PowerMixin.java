@@ -0,0 +1,86 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2023–2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.mixin;
+
+import com.llamalad7.mixinextras.sugar.Share;
+import com.llamalad7.mixinextras.sugar.ref.LocalBooleanRef;
+import com.llamalad7.mixinextras.sugar.ref.LocalRef;
+import dev.jaxydog.astral.utility.PowerProfiler;
+import io.github.apace100.apoli.power.Power;
+import io.github.apace100.apoli.power.PowerType;
+import net.minecraft.util.Identifier;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Attributes the conditions checked by every power to that power's type while the {@link PowerProfiler} is running.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@Mixin(value = Power.class, remap = false)
+public abstract class PowerMixin {
+
+    /**
+     * The power's type.
+     *
+     * @since 2.7.0
+     */
+    @Shadow
+    protected PowerType<?> type;
+
+    /**
+     * Attributes the power's condition checks to its type.
+     *
+     * @param callbackInfo The callback information.
+     * @param entered Whether the power was attributed.
+     * @param previous The previously attributed power type.
+     *
+     * @since 2.7.0
+     */
+    @Inject(method = "isActive", at = @At("HEAD"))
+    private void enterProfiledPower(
+        CallbackInfoReturnable<Boolean> callbackInfo,
+        @Share("entered") LocalBooleanRef entered,
+        @Share("previous") LocalRef<Identifier> previous
+    ) {
+        if (!PowerProfiler.isRunning()) return;
+
+        entered.set(true);
+        previous.set(PowerProfiler.enterPower(this.type.getIdentifier()));
+    }
+
+    /**
+     * Restores the previously attributed power type.
+     *
+     * @param callbackInfo The callback information.
+     * @param entered Whether the power was attributed.
+     * @param previous The previously attributed power type.
+     *
+     * @since 2.7.0
+     */
+    @Inject(method = "isActive", at = @At("RETURN"))
+    private void exitProfiledPower(
+        CallbackInfoReturnable<Boolean> callbackInfo,
+        @Share("entered") LocalBooleanRef entered,
+        @Share("previous") LocalRef<Identifier> previous
+    ) {
+        if (entered.get()) PowerProfiler.exitPower(previous.get());
+    }
+
+}
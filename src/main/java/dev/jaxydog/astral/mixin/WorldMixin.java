@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.mixin;
+
+import dev.jaxydog.astral.utility.ConditionCache;
+import dev.jaxydog.astral.utility.OcclusionCache;
+import dev.jaxydog.astral.utility.injected.AstralWorld;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * Implements the {@link AstralWorld} interface.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@Mixin(World.class)
+public abstract class WorldMixin implements AstralWorld {
+
+    /**
+     * The world's occlusion cache.
+     *
+     * @since 2.7.0
+     */
+    @SuppressWarnings({ "RedundantCast", "DataFlowIssue" })
+    @Unique
+    private final OcclusionCache occlusionCache = new OcclusionCache((World) (Object) this);
+    /**
+     * The world's condition cache.
+     *
+     * @since 2.7.0
+     */
+    @SuppressWarnings({ "RedundantCast", "DataFlowIssue" })
+    @Unique
+    private final ConditionCache conditionCache = new ConditionCache((World) (Object) this);
+
+    /**
+     * The world time that the cached moon phase was computed during.
+     *
+     * @since 2.7.0
+     */
+    @Unique
+    private long moonPhaseTime = Long.MIN_VALUE;
+    /**
+     * The cached moon phase.
+     *
+     * @since 2.7.0
+     */
+    @Unique
+    private int moonPhase = 0;
+
+    @Override
+    public OcclusionCache astral$getOcclusionCache() {
+        return this.occlusionCache;
+    }
+
+    @Override
+    public ConditionCache astral$getConditionCache() {
+        return this.conditionCache;
+    }
+
+    @SuppressWarnings({ "RedundantCast", "DataFlowIssue" })
+    @Override
+    public int astral$getMoonPhase() {
+        final World self = (World) (Object) this;
+        // Only compare the world's tick counter, which is a single read, rather than re-deriving the lunar day.
+        final long time = self.getTime();
+
+        if (time != this.moonPhaseTime) {
+            this.moonPhaseTime = time;
+            this.moonPhase = self.getMoonPhase();
+        }
+
+        return this.moonPhase;
+    }
+
+}
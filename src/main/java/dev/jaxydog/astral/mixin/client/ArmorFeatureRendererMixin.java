@@ -18,7 +18,7 @@ import com.llamalad7.mixinextras.sugar.Local;
 import dev.jaxydog.astral.content.item.AstralArmorItem;
 import dev.jaxydog.astral.content.item.Colored;
 import dev.jaxydog.astral.content.trinket.AstralTrinketPredicates;
-import dev.jaxydog.astral.utility.color.Rgb;
+import dev.jaxydog.astral.utility.color.PackedColor;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.client.rendering.v1.ArmorRenderer;
@@ -230,11 +230,11 @@ public abstract class ArmorFeatureRendererMixin<T extends LivingEntity, M extend
             final String overlay = String.valueOf(layer);
 
             if (armorItem instanceof final Colored colored) {
-                final Rgb color = new Rgb(colored.getStackColor(stack, layer));
+                final int color = colored.getStackColor(stack, layer);
 
-                final float r = (float) color.redScaled();
-                final float g = (float) color.greenScaled();
-                final float b = (float) color.blueScaled();
+                final float r = PackedColor.red(color) / 255F;
+                final float g = PackedColor.green(color) / 255F;
+                final float b = PackedColor.blue(color) / 255F;
 
                 this.renderArmorParts(matrices, vertexConsumers, light, armorItem, model, useInner, r, g, b, overlay);
             } else {
@@ -0,0 +1,304 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * A per-world cache of condition results that is only valid for a single tick.
+ * <p>
+ * This allows conditions that are pure within a tick to be evaluated once per entity, even if they are tested by many
+ * powers. Results are only valid for the tick and the exact entity position that they were computed for, so an entity
+ * that moves within a tick, for example by being teleported, is tested again. The cache is pruned lazily the first time
+ * that it is accessed after the world's time changes.
+ * <p>
+ * Memoization may be disabled by setting the {@code astral.condition_memoization} system property to {@code false}.
+ * <p>
+ * This is not thread-safe, and should only be accessed from the world's own thread.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public final class ConditionCache {
+
+    /**
+     * Whether condition memoization is enabled.
+     *
+     * @since 2.7.0
+     */
+    public static final boolean ENABLED = !"false".equals(System.getProperty("astral.condition_memoization"));
+
+    /**
+     * The world that this cache belongs to.
+     *
+     * @since 2.7.0
+     */
+    private final World world;
+    /**
+     * The cached results, keyed by their condition's memoization key and then by the tested entity's identifier.
+     *
+     * @since 2.7.0
+     */
+    private final Object2ObjectMap<Key, Int2ObjectMap<Result>> results = new Object2ObjectOpenHashMap<>();
+
+    /**
+     * The world time that the cache's contents were computed during.
+     *
+     * @since 2.7.0
+     */
+    private long time = Long.MIN_VALUE;
+
+    /**
+     * Creates a new condition cache.
+     *
+     * @param world The world that this cache belongs to.
+     *
+     * @since 2.7.0
+     */
+    public ConditionCache(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Prunes the cache if the world's time has changed since it was last accessed.
+     * <p>
+     * Results from the previous tick are kept so that they may be re-used, but are never returned. Results that went
+     * unused for an entire tick are dropped, since their entity or condition has most likely been unloaded.
+     *
+     * @since 2.7.0
+     */
+    private void validate() {
+        final long time = this.world.getTime();
+
+        if (this.time == time) return;
+
+        final long previous = this.time;
+
+        this.time = time;
+
+        final Iterator<Int2ObjectMap<Result>> iterator = this.results.values().iterator();
+
+        while (iterator.hasNext()) {
+            final Int2ObjectMap<Result> map = iterator.next();
+
+            map.values().removeIf(result -> result.time != previous);
+
+            if (map.isEmpty()) iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the cached result of the given condition for the given entity.
+     *
+     * @param key The condition's memoization key.
+     * @param entity The tested entity.
+     *
+     * @return The cached result, or {@code null} if the condition has not been tested during this tick at the entity's
+     * current position.
+     *
+     * @since 2.7.0
+     */
+    public @Nullable Boolean getResult(Key key, Entity entity) {
+        this.validate();
+
+        final Int2ObjectMap<Result> map = this.results.get(key);
+
+        if (map == null) return null;
+
+        final @Nullable Result result = map.get(entity.getId());
+
+        if (result == null || !result.isValid(this.time, entity)) return null;
+
+        return result.value;
+    }
+
+    /**
+     * Caches the result of the given condition for the given entity for the rest of this tick, or until the entity
+     * moves.
+     *
+     * @param key The condition's memoization key.
+     * @param entity The tested entity.
+     * @param result The condition's result.
+     *
+     * @since 2.7.0
+     */
+    public void putResult(Key key, Entity entity, boolean result) {
+        this.validate();
+
+        final Int2ObjectMap<Result> map = this.results.computeIfAbsent(key, k -> new Int2ObjectOpenHashMap<>());
+        final @Nullable Result cached = map.get(entity.getId());
+
+        // Re-use the entity's previous result, since most entities are tested every tick.
+        if (cached == null) {
+            map.put(entity.getId(), new Result(this.time, entity, result));
+        } else {
+            cached.set(this.time, entity, result);
+        }
+    }
+
+    /**
+     * A cached condition result, along with the tick and entity position that it was computed for.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class Result {
+
+        /**
+         * The world time that the result was computed during.
+         *
+         * @since 2.7.0
+         */
+        private long time;
+        /**
+         * The entity's X position when the result was computed.
+         *
+         * @since 2.7.0
+         */
+        private double x;
+        /**
+         * The entity's Y position when the result was computed.
+         *
+         * @since 2.7.0
+         */
+        private double y;
+        /**
+         * The entity's Z position when the result was computed.
+         *
+         * @since 2.7.0
+         */
+        private double z;
+        /**
+         * The condition's result.
+         *
+         * @since 2.7.0
+         */
+        private boolean value;
+
+        /**
+         * Creates a new cached result.
+         *
+         * @param time The world time that the result was computed during.
+         * @param entity The tested entity.
+         * @param value The condition's result.
+         *
+         * @since 2.7.0
+         */
+        private Result(long time, Entity entity, boolean value) {
+            this.set(time, entity, value);
+        }
+
+        /**
+         * Replaces this result.
+         *
+         * @param time The world time that the result was computed during.
+         * @param entity The tested entity.
+         * @param value The condition's result.
+         *
+         * @since 2.7.0
+         */
+        private void set(long time, Entity entity, boolean value) {
+            this.time = time;
+            this.x = entity.getX();
+            this.y = entity.getY();
+            this.z = entity.getZ();
+            this.value = value;
+        }
+
+        /**
+         * Returns whether this result was computed during the given tick, at the entity's current position.
+         *
+         * @param time The current world time.
+         * @param entity The tested entity.
+         *
+         * @return Whether this result is valid.
+         *
+         * @since 2.7.0
+         */
+        private boolean isValid(long time, Entity entity) {
+            return this.time == time && this.x == entity.getX() && this.y == entity.getY() && this.z == entity.getZ();
+        }
+
+    }
+
+    /**
+     * A condition's memoization key.
+     * <p>
+     * Keys are equal if their condition types are equal and their conditions' data always produce the same results. The
+     * key's hash is computed once, as keys are compared on every memoized test.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    public static final class Key {
+
+        /**
+         * The condition's type.
+         *
+         * @since 2.7.0
+         */
+        private final Object type;
+        /**
+         * The condition's data key.
+         *
+         * @since 2.7.0
+         */
+        private final Object data;
+        /**
+         * The key's hash.
+         *
+         * @since 2.7.0
+         */
+        private final int hash;
+
+        /**
+         * Creates a new key.
+         *
+         * @param type The condition's type.
+         * @param data The condition's data key.
+         *
+         * @since 2.7.0
+         */
+        public Key(Object type, Object data) {
+            this.type = type;
+            this.data = data;
+            this.hash = Objects.hash(type, data);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (!(object instanceof final Key key)) return false;
+
+            return this.hash == key.hash && this.type.equals(key.type) && this.data.equals(key.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.function.LongSupplier;
+
+/**
+ * A per-world cache of collision shapes and occlusion test results that is only valid for a single tick.
+ * <p>
+ * This allows many entities, or many powers on the same entity, to share block state reads and ray-cast results when
+ * testing for unobstructed blocks within the same tick. The cache is cleared lazily the first time that it is accessed
+ * after the world's time changes, so any block changes made during a tick will only be seen on the next tick.
+ * <p>
+ * This is not thread-safe, and should only be accessed from the world's own thread.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public final class OcclusionCache {
+
+    /**
+     * The value returned for results that have not been cached.
+     *
+     * @since 2.7.0
+     */
+    private static final byte UNKNOWN = -1;
+
+    /**
+     * The view that blocks are read from.
+     *
+     * @since 2.7.0
+     */
+    private final BlockView view;
+    /**
+     * Returns the current time, which is used to determine when the cache should be cleared.
+     *
+     * @since 2.7.0
+     */
+    private final LongSupplier clock;
+    /**
+     * The collision shapes of every block read during the current tick, keyed by their packed positions.
+     *
+     * @since 2.7.0
+     */
+    private final Long2ObjectOpenHashMap<VoxelShape> shapes = new Long2ObjectOpenHashMap<>();
+    /**
+     * The cached test results, keyed by their test's identity and then by the tested packed position.
+     *
+     * @since 2.7.0
+     */
+    private final Reference2ObjectMap<Object, Long2ByteMap> results = new Reference2ObjectOpenHashMap<>();
+
+    /**
+     * The world time that the cache's contents were computed during.
+     *
+     * @since 2.7.0
+     */
+    private long time = Long.MIN_VALUE;
+
+    /**
+     * Creates a new occlusion cache.
+     *
+     * @param world The world that this cache belongs to.
+     *
+     * @since 2.7.0
+     */
+    public OcclusionCache(World world) {
+        this(world, world::getTime);
+    }
+
+    /**
+     * Creates a new occlusion cache that reads blocks from the given view, and that is cleared whenever the given
+     * clock's time changes.
+     *
+     * @param view The view that blocks are read from.
+     * @param clock Returns the current time.
+     *
+     * @since 2.7.0
+     */
+    public OcclusionCache(BlockView view, LongSupplier clock) {
+        this.view = view;
+        this.clock = clock;
+    }
+
+    /**
+     * Clears the cache if the current time has changed since it was last accessed.
+     *
+     * @since 2.7.0
+     */
+    private void validate() {
+        final long time = this.clock.getAsLong();
+
+        if (this.time == time) return;
+
+        this.time = time;
+        this.shapes.clear();
+
+        final Iterator<Long2ByteMap> iterator = this.results.values().iterator();
+
+        while (iterator.hasNext()) {
+            final Long2ByteMap map = iterator.next();
+
+            // Drop maps that went unused for an entire tick, since their test has most likely been unloaded.
+            if (map.isEmpty()) {
+                iterator.remove();
+            } else {
+                map.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the collision shape of the block at the given position.
+     *
+     * @param pos The block position.
+     *
+     * @return The block's collision shape.
+     *
+     * @since 2.7.0
+     */
+    public VoxelShape getCollisionShape(BlockPos pos) {
+        this.validate();
+
+        final long key = pos.asLong();
+        VoxelShape shape = this.shapes.get(key);
+
+        if (shape == null) {
+            shape = this.view.getBlockState(pos).getCollisionShape(this.view, pos);
+
+            this.shapes.put(key, shape);
+        }
+
+        return shape;
+    }
+
+    /**
+     * Returns the cached result of the given test at the given position.
+     *
+     * @param test The test, compared by identity.
+     * @param pos The tested position.
+     *
+     * @return The cached result, or {@code null} if the test has not been run at the given position during this tick.
+     *
+     * @since 2.7.0
+     */
+    public @Nullable Boolean getResult(Object test, BlockPos pos) {
+        this.validate();
+
+        final Long2ByteMap map = this.results.get(test);
+
+        if (map == null) return null;
+
+        final byte result = map.get(pos.asLong());
+
+        return result == UNKNOWN ? null : result != 0;
+    }
+
+    /**
+     * Caches the result of the given test at the given position for the rest of this tick.
+     *
+     * @param test The test, compared by identity.
+     * @param pos The tested position.
+     * @param result The test's result.
+     *
+     * @since 2.7.0
+     */
+    public void putResult(Object test, BlockPos pos, boolean result) {
+        this.validate();
+
+        this.results.computeIfAbsent(test, t -> {
+            final Long2ByteMap map = new Long2ByteOpenHashMap();
+
+            map.defaultReturnValue(UNKNOWN);
+
+            return map;
+        }).put(pos.asLong(), (byte) (result ? 1 : 0));
+    }
+
+}
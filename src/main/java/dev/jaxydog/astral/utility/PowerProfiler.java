@@ -0,0 +1,511 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility;
+
+import io.github.apace100.calio.data.SerializableData.Instance;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * A sampling profiler for Astral powers, conditions, and actions.
+ * <p>
+ * While a profiling session is running, each evaluation on the thread that started it is timed with a chance of one in
+ * {@link #SAMPLE_INTERVAL}, and the timings are keyed by the evaluated power, condition, or action type, as well as the
+ * power type that was being ticked or checked at the time, if any. Evaluations on other threads, such as the client
+ * thread in singleplayer, are never recorded. When no session is running, profiling costs a single field read per
+ * evaluation.
+ * <p>
+ * Samples are taken at random rather than at a fixed interval, since each tick evaluates the same sequence in the same
+ * order, and a fixed interval would repeatedly sample the same evaluations.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public final class PowerProfiler {
+
+    /**
+     * The average number of evaluations per timed sample.
+     * <p>
+     * This may be configured using the {@code astral.profiler.sample_interval} system property.
+     *
+     * @since 2.7.0
+     */
+    public static final int SAMPLE_INTERVAL = Math.max(1, Integer.getInteger("astral.profiler.sample_interval", 16));
+
+    /**
+     * The value returned by {@link #begin()} when an evaluation should not be timed.
+     *
+     * @since 2.7.0
+     */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    /**
+     * The power type currently being ticked or checked on each thread.
+     * <p>
+     * This is only updated while a session is running.
+     *
+     * @since 2.7.0
+     */
+    private static final ThreadLocal<Identifier> CURRENT_POWER = new ThreadLocal<>();
+
+    /**
+     * The currently running session, or {@code null} if the profiler is not running.
+     *
+     * @since 2.7.0
+     */
+    private static volatile @Nullable Session session = null;
+
+    /**
+     * Prevents this class from being instantiated.
+     *
+     * @since 2.7.0
+     */
+    private PowerProfiler() { }
+
+    /**
+     * Returns whether a profiling session is currently running.
+     *
+     * @return Whether a profiling session is running.
+     *
+     * @since 2.7.0
+     */
+    public static boolean isRunning() {
+        return session != null;
+    }
+
+    /**
+     * Returns whether the current profiling session has run for its full duration.
+     *
+     * @return Whether the current session has expired.
+     *
+     * @since 2.7.0
+     */
+    public static boolean isExpired() {
+        final @Nullable Session current = session;
+
+        return current != null && System.nanoTime() - current.endTime >= 0L;
+    }
+
+    /**
+     * Starts a new profiling session, which only records evaluations on the calling thread.
+     *
+     * @param duration The session's duration in nanoseconds.
+     *
+     * @return Whether the session was started, or {@code false} if a session is already running.
+     *
+     * @since 2.7.0
+     */
+    public static synchronized boolean start(long duration) {
+        if (session != null) return false;
+
+        session = new Session(Thread.currentThread(), System.nanoTime() + duration);
+
+        return true;
+    }
+
+    /**
+     * Stops the current profiling session, returning its results sorted by their estimated total time.
+     *
+     * @return The session's results, or an empty list if no session was running.
+     *
+     * @since 2.7.0
+     */
+    public static synchronized List<Result> stop() {
+        final @Nullable Session current = session;
+
+        if (current == null) return List.of();
+
+        session = null;
+
+        final List<Result> results = new ArrayList<>(current.entries.size());
+
+        current.entries.forEach((key, entry) -> results.add(entry.toResult(key)));
+        results.sort(Comparator.comparingLong(Result::totalTime).reversed());
+
+        return results;
+    }
+
+    /**
+     * Begins a possibly-timed evaluation.
+     *
+     * @return The evaluation's start time, or {@link #NOT_SAMPLED} if it should not be timed.
+     *
+     * @since 2.7.0
+     */
+    public static long begin() {
+        final @Nullable Session current = session;
+
+        if (current == null || !current.shouldSample()) return NOT_SAMPLED;
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends a possibly-timed evaluation.
+     *
+     * @param kind The kind of evaluation.
+     * @param type The evaluated power, condition, or action type.
+     * @param start The evaluation's start time, as returned by {@link #begin()}.
+     *
+     * @since 2.7.0
+     */
+    public static void end(Kind kind, Identifier type, long start) {
+        if (start == NOT_SAMPLED) return;
+
+        final long elapsed = System.nanoTime() - start;
+        final @Nullable Session current = session;
+
+        if (current != null) current.record(new Key(kind, type, CURRENT_POWER.get()), elapsed);
+    }
+
+    /**
+     * Attributes all following evaluations on the current thread to the given power type, until
+     * {@link #exitPower(Identifier)} is called.
+     * <p>
+     * Callers should only use this after checking {@link #isRunning()}.
+     *
+     * @param power The power type.
+     *
+     * @return The previously attributed power type, which must be passed to {@link #exitPower(Identifier)}.
+     *
+     * @since 2.7.0
+     */
+    public static @Nullable Identifier enterPower(Identifier power) {
+        final @Nullable Identifier previous = CURRENT_POWER.get();
+
+        CURRENT_POWER.set(power);
+
+        return previous;
+    }
+
+    /**
+     * Restores the power type that evaluations on the current thread are attributed to.
+     *
+     * @param previous The power type returned by the matching call to {@link #enterPower(Identifier)}.
+     *
+     * @since 2.7.0
+     */
+    public static void exitPower(@Nullable Identifier previous) {
+        CURRENT_POWER.set(previous);
+    }
+
+    /**
+     * Ticks the given power while a session is running, timing the tick if it is sampled.
+     * <p>
+     * Callers should only use this after checking {@link #isRunning()}, so that no tick callback has to be allocated
+     * while the profiler is not running.
+     *
+     * @param power The ticked power type.
+     * @param tick The power's tick logic.
+     *
+     * @since 2.7.0
+     */
+    public static void profileTick(Identifier power, Runnable tick) {
+        final @Nullable Identifier previous = enterPower(power);
+        final long start = begin();
+
+        try {
+            tick.run();
+        } finally {
+            end(Kind.POWER, power, start);
+            exitPower(previous);
+        }
+    }
+
+    /**
+     * Wraps the given condition so that it is profiled while a session is running.
+     *
+     * @param type The condition type.
+     * @param condition The condition.
+     * @param <T> The type of the tested value.
+     *
+     * @return The profiled condition.
+     *
+     * @since 2.7.0
+     */
+    public static <T> BiPredicate<Instance, T> profileCondition(Identifier type, BiPredicate<Instance, T> condition) {
+        return (data, value) -> {
+            final long start = begin();
+
+            if (start == NOT_SAMPLED) return condition.test(data, value);
+
+            try {
+                return condition.test(data, value);
+            } finally {
+                end(Kind.CONDITION, type, start);
+            }
+        };
+    }
+
+    /**
+     * Wraps the given action so that it is profiled while a session is running.
+     *
+     * @param type The action type.
+     * @param action The action.
+     * @param <T> The type of the value that the action is executed on.
+     *
+     * @return The profiled action.
+     *
+     * @since 2.7.0
+     */
+    public static <T> BiConsumer<Instance, T> profileAction(Identifier type, BiConsumer<Instance, T> action) {
+        return (data, value) -> {
+            final long start = begin();
+
+            if (start == NOT_SAMPLED) {
+                action.accept(data, value);
+
+                return;
+            }
+
+            try {
+                action.accept(data, value);
+            } finally {
+                end(Kind.ACTION, type, start);
+            }
+        };
+    }
+
+    /**
+     * The kinds of profiled evaluations.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    public enum Kind {
+
+        /**
+         * A power tick.
+         *
+         * @since 2.7.0
+         */
+        POWER,
+        /**
+         * A condition test.
+         *
+         * @since 2.7.0
+         */
+        CONDITION,
+        /**
+         * An action execution.
+         *
+         * @since 2.7.0
+         */
+        ACTION;
+
+        /**
+         * Returns the kind's name.
+         *
+         * @return The kind's name.
+         *
+         * @since 2.7.0
+         */
+        public String getName() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+
+    }
+
+    /**
+     * The key that profiled timings are grouped by.
+     *
+     * @param kind The kind of evaluation.
+     * @param type The evaluated power, condition, or action type.
+     * @param power The power type that was being ticked or checked during the evaluation, if any.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    public record Key(Kind kind, Identifier type, @Nullable Identifier power) { }
+
+    /**
+     * The profiled timings of a single key.
+     *
+     * @param key The profiled key.
+     * @param samples The number of timed samples.
+     * @param sampledTime The total time of all samples, in nanoseconds.
+     * @param maximumTime The longest sample, in nanoseconds.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    public record Result(Key key, long samples, long sampledTime, long maximumTime) {
+
+        /**
+         * Returns the estimated number of evaluations, extrapolated from the number of samples.
+         *
+         * @return The estimated number of evaluations.
+         *
+         * @since 2.7.0
+         */
+        public long calls() {
+            return this.samples * SAMPLE_INTERVAL;
+        }
+
+        /**
+         * Returns the estimated total time of all evaluations in nanoseconds, extrapolated from the sampled time.
+         *
+         * @return The estimated total time.
+         *
+         * @since 2.7.0
+         */
+        public long totalTime() {
+            return this.sampledTime * SAMPLE_INTERVAL;
+        }
+
+        /**
+         * Returns the mean time of each evaluation in nanoseconds.
+         *
+         * @return The mean time.
+         *
+         * @since 2.7.0
+         */
+        public double meanTime() {
+            return this.samples == 0L ? 0D : (double) this.sampledTime / this.samples;
+        }
+
+    }
+
+    /**
+     * A single profiling session.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class Session {
+
+        /**
+         * The thread whose evaluations are recorded.
+         *
+         * @since 2.7.0
+         */
+        private final Thread thread;
+        /**
+         * The time at which the session expires, in nanoseconds.
+         *
+         * @since 2.7.0
+         */
+        private final long endTime;
+        /**
+         * The session's recorded timings.
+         *
+         * @since 2.7.0
+         */
+        private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+        /**
+         * Creates a new session.
+         *
+         * @param thread The thread whose evaluations are recorded.
+         * @param endTime The time at which the session expires, in nanoseconds.
+         *
+         * @since 2.7.0
+         */
+        private Session(Thread thread, long endTime) {
+            this.thread = thread;
+            this.endTime = endTime;
+        }
+
+        /**
+         * Returns whether the next evaluation should be timed.
+         *
+         * @return Whether the next evaluation should be timed.
+         *
+         * @since 2.7.0
+         */
+        private boolean shouldSample() {
+            return Thread.currentThread() == this.thread && ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0;
+        }
+
+        /**
+         * Records a sample.
+         *
+         * @param key The sample's key.
+         * @param elapsed The sample's duration in nanoseconds.
+         *
+         * @since 2.7.0
+         */
+        private void record(Key key, long elapsed) {
+            this.entries.computeIfAbsent(key, ignored -> new Entry()).record(elapsed);
+        }
+
+    }
+
+    /**
+     * The accumulated timings of a single key.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class Entry {
+
+        /**
+         * The number of samples.
+         *
+         * @since 2.7.0
+         */
+        private long samples = 0L;
+        /**
+         * The total time of all samples, in nanoseconds.
+         *
+         * @since 2.7.0
+         */
+        private long sampledTime = 0L;
+        /**
+         * The longest sample, in nanoseconds.
+         *
+         * @since 2.7.0
+         */
+        private long maximumTime = 0L;
+
+        /**
+         * Records a sample.
+         *
+         * @param elapsed The sample's duration in nanoseconds.
+         *
+         * @since 2.7.0
+         */
+        private synchronized void record(long elapsed) {
+            this.samples += 1L;
+            this.sampledTime += elapsed;
+            this.maximumTime = Math.max(this.maximumTime, elapsed);
+        }
+
+        /**
+         * Returns the entry's result.
+         *
+         * @param key The entry's key.
+         *
+         * @return The entry's result.
+         *
+         * @since 2.7.0
+         */
+        private synchronized Result toResult(Key key) {
+            return new Result(key, this.samples, this.sampledTime, this.maximumTime);
+        }
+
+    }
+
+}
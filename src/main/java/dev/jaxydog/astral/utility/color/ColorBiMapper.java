@@ -14,6 +14,9 @@
 
 package dev.jaxydog.astral.utility.color;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Maps a color using additional data as context.
  *
@@ -51,4 +54,126 @@ public interface ColorBiMapper<T> {
         return this.map(new Rgba(rgba), value).integer();
     }
 
+    /**
+     * Returns whether this mapper is a pure function of its input color and additional value.
+     * <p>
+     * The results of pure mappers may be cached, such that each distinct color is only mapped once.
+     *
+     * @return Whether this mapper is pure.
+     *
+     * @since 2.7.0
+     */
+    default boolean isPure() {
+        return false;
+    }
+
+    /**
+     * Returns a pure mapper that caches every mapped opaque color within a {@link ColorLookupTable}, one for each
+     * distinct additional value.
+     * <p>
+     * This is intended for mappers that are applied across many textures. Tables are only created once a value is
+     * first used, and colors mapped with a {@code null} value are never cached.
+     *
+     * @return A new, compiled color mapper.
+     *
+     * @throws IllegalStateException If this mapper is not pure.
+     * @since 2.7.0
+     */
+    default ColorBiMapper<T> compile() {
+        if (!this.isPure()) throw new IllegalStateException("Only pure color mappers may be compiled");
+
+        final Map<T, ColorLookupTable> tables = new ConcurrentHashMap<>();
+
+        return ColorBiMapper.pure((color, value) -> {
+            if (value == null) return this.map(color, null);
+
+            return tables.computeIfAbsent(value, v -> new ColorLookupTable(c -> this.map(c, v))).applyAsInt(color);
+        });
+    }
+
+    /**
+     * Creates a color mapper that operates directly on packed colors.
+     * <p>
+     * Mapping a packed color using the returned mapper does not allocate.
+     *
+     * @param map The packed color mapping method.
+     * @param <T> The additional data type.
+     *
+     * @return A new color mapper.
+     *
+     * @see PackedColor
+     * @since 2.7.0
+     */
+    static <T> ColorBiMapper<T> packed(Packed<T> map) {
+        return new ColorBiMapper<>() {
+            @Override
+            public Rgba map(Rgba rgba, T value) {
+                return new Rgba(map.map(rgba.integer(), value));
+            }
+
+            @Override
+            public int map(int rgba, T value) {
+                return map.map(rgba, value);
+            }
+        };
+    }
+
+    /**
+     * Creates a pure color mapper that operates directly on packed colors.
+     * <p>
+     * The given method must always return the same color for the same input and value, which allows its results to be
+     * cached.
+     *
+     * @param map The packed color mapping method.
+     * @param <T> The additional data type.
+     *
+     * @return A new color mapper.
+     *
+     * @see #isPure()
+     * @since 2.7.0
+     */
+    static <T> ColorBiMapper<T> pure(Packed<T> map) {
+        return new ColorBiMapper<>() {
+            @Override
+            public Rgba map(Rgba rgba, T value) {
+                return new Rgba(map.map(rgba.integer(), value));
+            }
+
+            @Override
+            public int map(int rgba, T value) {
+                return map.map(rgba, value);
+            }
+
+            @Override
+            public boolean isPure() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Maps a packed color using additional data as context.
+     *
+     * @param <T> The additional data type.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    @FunctionalInterface
+    interface Packed<T> {
+
+        /**
+         * Maps a packed ARGB color.
+         *
+         * @param rgba The starting color.
+         * @param value An additional value.
+         *
+         * @return A converted color.
+         *
+         * @since 2.7.0
+         */
+        int map(int rgba, T value);
+
+    }
+
 }
@@ -0,0 +1,167 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A small open-addressing cache of mapped packed colors.
+ * <p>
+ * This is intended to be created for each mapped texture, such that every distinct color is only converted once. Fully
+ * transparent colors are never cached, which allows a key of {@code 0} to mark an empty slot.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public final class ColorCache implements IntUnaryOperator {
+
+    /**
+     * The default number of slots within a new cache.
+     *
+     * @since 2.7.0
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The cached mapping method.
+     *
+     * @since 2.7.0
+     */
+    private final IntUnaryOperator map;
+
+    /**
+     * The cached source colors, where {@code 0} is an empty slot.
+     *
+     * @since 2.7.0
+     */
+    private int[] keys;
+    /**
+     * The cached mapped colors.
+     *
+     * @since 2.7.0
+     */
+    private int[] values;
+    /**
+     * The number of cached colors.
+     *
+     * @since 2.7.0
+     */
+    private int size;
+
+    /**
+     * Creates a new color cache.
+     *
+     * @param map The cached mapping method, which must be a pure function of its input color.
+     *
+     * @since 2.7.0
+     */
+    public ColorCache(IntUnaryOperator map) {
+        this(map, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new color cache.
+     *
+     * @param map The cached mapping method, which must be a pure function of its input color.
+     * @param capacity The initial number of slots, which is rounded up to a power of two.
+     *
+     * @since 2.7.0
+     */
+    public ColorCache(IntUnaryOperator map, int capacity) {
+        final int slots = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+
+        this.map = map;
+        this.keys = new int[slots];
+        this.values = new int[slots];
+    }
+
+    /**
+     * Spreads the bits of the given color to reduce collisions between similar colors.
+     *
+     * @param color The color.
+     *
+     * @return The color's hash.
+     *
+     * @since 2.7.0
+     */
+    private static int hash(int color) {
+        final int hash = color * 0x9E3779B9;
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the number of cached colors.
+     *
+     * @return The number of cached colors.
+     *
+     * @since 2.7.0
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int applyAsInt(int color) {
+        if (PackedColor.alpha(color) == 0) return this.map.applyAsInt(color);
+
+        final int mask = this.keys.length - 1;
+        int index = hash(color) & mask;
+
+        while (this.keys[index] != 0) {
+            if (this.keys[index] == color) return this.values[index];
+
+            index = (index + 1) & mask;
+        }
+
+        final int mapped = this.map.applyAsInt(color);
+
+        this.keys[index] = color;
+        this.values[index] = mapped;
+
+        // Keeping the table at most half full keeps probe sequences short.
+        if ((this.size += 1) * 2 > this.keys.length) this.grow();
+
+        return mapped;
+    }
+
+    /**
+     * Doubles the number of slots within this cache, re-inserting all cached colors.
+     *
+     * @since 2.7.0
+     */
+    private void grow() {
+        final int[] keys = this.keys;
+        final int[] values = this.values;
+        final int mask = (keys.length << 1) - 1;
+
+        this.keys = new int[keys.length << 1];
+        this.values = new int[values.length << 1];
+
+        for (int slot = 0; slot < keys.length; slot += 1) {
+            if (keys[slot] == 0) continue;
+
+            int index = hash(keys[slot]) & mask;
+
+            while (this.keys[index] != 0) index = (index + 1) & mask;
+
+            this.keys[index] = keys[slot];
+            this.values[index] = values[slot];
+        }
+    }
+
+}
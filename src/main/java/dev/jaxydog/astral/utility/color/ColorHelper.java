@@ -37,18 +37,7 @@ public interface ColorHelper {
      * @since 2.0.0
      */
     static Rgba transition(Rgba start, Rgba end, double delta) {
-        // Scary math, just linearly interpolates between the start and end values per component.
-        final double r = (end.redScaled() - start.redScaled()) * delta;
-        final double g = (end.greenScaled() - start.greenScaled()) * delta;
-        final double b = (end.blueScaled() - start.blueScaled()) * delta;
-        final double a = (end.alphaScaled() - start.alphaScaled()) * delta;
-
-        // Add the transitional colors into the base color.
-        return new Rgba(start.redScaled() + r,
-            start.greenScaled() + g,
-            start.blueScaled() + b,
-            start.alphaScaled() + a
-        );
+        return new Rgba(PackedColor.lerp(start.integer(), end.integer(), delta));
     }
 
     /**
@@ -63,13 +52,8 @@ public interface ColorHelper {
      * @since 2.0.0
      */
     static Rgb transition(Rgb start, Rgb end, double delta) {
-        // Scary math, just linearly interpolates between the start and end values per component.
-        final double r = (end.redScaled() - start.redScaled()) * delta;
-        final double g = (end.greenScaled() - start.greenScaled()) * delta;
-        final double b = (end.blueScaled() - start.blueScaled()) * delta;
-
-        // Add the transitional colors into the base color.
-        return new Rgb(start.redScaled() + r, start.greenScaled() + g, start.blueScaled() + b);
+        // RGB colors have no alpha component, so it is interpolated between zeroes and then discarded.
+        return new Rgb(PackedColor.lerp(start.integer(), end.integer(), delta));
     }
 
     /**
@@ -84,7 +68,33 @@ public interface ColorHelper {
      * @since 2.0.0
      */
     static int transition(int start, int end, double delta) {
-        return transition(new Rgba(start), new Rgba(end), delta).integer();
+        return PackedColor.lerp(start, end, delta);
+    }
+
+    /**
+     * Returns a table of colors that are evenly interpolated between a starting and ending color.
+     * <p>
+     * The first entry is always the start color, and the last entry is always the end color.
+     *
+     * @param start The start color.
+     * @param end The end color.
+     * @param steps The number of entries, which must be at least {@code 2}.
+     *
+     * @return A new array of colors as integers.
+     *
+     * @since 2.7.0
+     */
+    static int[] gradient(Rgb start, Rgb end, int steps) {
+        final int[] colors = new int[steps];
+
+        for (int index = 0; index < steps - 1; index += 1) {
+            colors[index] = transition(start, end, (double) index / (steps - 1)).integer();
+        }
+
+        // Interpolating with a delta of one may round the end color's components down, so it is assigned exactly.
+        colors[steps - 1] = end.integer();
+
+        return colors;
     }
 
 }
@@ -0,0 +1,123 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A sparse, lazily populated lookup table covering every opaque RGB color.
+ * <p>
+ * The table is split into pages of {@value #PAGE_SIZE} colors, which are only allocated once a color within them is
+ * first mapped. This allows a single table to be shared between every texture converted by the same mapper, while only
+ * storing the colors that are actually used.
+ * <p>
+ * Only fully opaque colors are stored. All other colors are passed directly to the mapping method. This class is
+ * thread-safe.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public final class ColorLookupTable implements IntUnaryOperator {
+
+    /**
+     * The number of low RGB bits used to index within a single page.
+     *
+     * @since 2.7.0
+     */
+    private static final int PAGE_BITS = 12;
+    /**
+     * The number of colors stored within a single page.
+     *
+     * @since 2.7.0
+     */
+    public static final int PAGE_SIZE = 1 << PAGE_BITS;
+    /**
+     * The number of pages needed to cover every RGB color.
+     *
+     * @since 2.7.0
+     */
+    private static final int PAGE_COUNT = 1 << (24 - PAGE_BITS);
+    /**
+     * The value that marks an entry that has not yet been mapped.
+     *
+     * @since 2.7.0
+     */
+    private static final int MISSING = 0;
+
+    /**
+     * The cached mapping method.
+     *
+     * @since 2.7.0
+     */
+    private final IntUnaryOperator map;
+    /**
+     * The table's pages, which are allocated on first use.
+     *
+     * @since 2.7.0
+     */
+    private final AtomicReferenceArray<int[]> pages = new AtomicReferenceArray<>(PAGE_COUNT);
+
+    /**
+     * Creates a new lookup table.
+     *
+     * @param map The cached mapping method, which must be a pure function of its input color.
+     *
+     * @since 2.7.0
+     */
+    public ColorLookupTable(IntUnaryOperator map) {
+        this.map = map;
+    }
+
+    @Override
+    public int applyAsInt(int color) {
+        if (PackedColor.alpha(color) != 0xFF) return this.map.applyAsInt(color);
+
+        final int rgb = color & 0xFF_FF_FF;
+        final int[] page = this.getPage(rgb >>> PAGE_BITS);
+        final int index = rgb & (PAGE_SIZE - 1);
+        final int cached = page[index];
+
+        if (cached != MISSING) return cached;
+
+        // Racing threads always compute the same value, so a repeated or lost write only costs a re-computation.
+        // Colors that map to the missing value are simply never cached.
+        final int mapped = this.map.applyAsInt(color);
+
+        page[index] = mapped;
+
+        return mapped;
+    }
+
+    /**
+     * Returns the page at the given index, allocating it if it does not yet exist.
+     *
+     * @param index The page index.
+     *
+     * @return The page.
+     *
+     * @since 2.7.0
+     */
+    private int[] getPage(int index) {
+        final int[] page = this.pages.get(index);
+
+        if (page != null) return page;
+
+        final int[] created = new int[PAGE_SIZE];
+
+        return this.pages.compareAndSet(index, null, created) ? created : this.pages.get(index);
+    }
+
+}
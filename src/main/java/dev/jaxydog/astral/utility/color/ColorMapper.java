@@ -14,6 +14,8 @@
 
 package dev.jaxydog.astral.utility.color;
 
+import java.util.function.IntUnaryOperator;
+
 /**
  * Maps a color.
  *
@@ -47,4 +49,90 @@ public interface ColorMapper {
         return this.map(new Rgba(rgba)).integer();
     }
 
+    /**
+     * Returns whether this mapper is a pure function of its input color.
+     * <p>
+     * The results of pure mappers may be cached, such that each distinct color is only mapped once.
+     *
+     * @return Whether this mapper is pure.
+     *
+     * @since 2.7.0
+     */
+    default boolean isPure() {
+        return false;
+    }
+
+    /**
+     * Returns a pure mapper that caches every mapped opaque color within a shared {@link ColorLookupTable}.
+     * <p>
+     * This is intended for mappers that are applied across many textures.
+     *
+     * @return A new, compiled color mapper.
+     *
+     * @throws IllegalStateException If this mapper is not pure.
+     * @since 2.7.0
+     */
+    default ColorMapper compile() {
+        if (!this.isPure()) throw new IllegalStateException("Only pure color mappers may be compiled");
+
+        return ColorMapper.pure(new ColorLookupTable(color -> this.map(color)));
+    }
+
+    /**
+     * Creates a color mapper that operates directly on packed colors.
+     * <p>
+     * Mapping a packed color using the returned mapper does not allocate.
+     *
+     * @param map The packed color mapping method.
+     *
+     * @return A new color mapper.
+     *
+     * @see PackedColor
+     * @since 2.7.0
+     */
+    static ColorMapper packed(IntUnaryOperator map) {
+        return new ColorMapper() {
+            @Override
+            public Rgba map(Rgba rgba) {
+                return new Rgba(map.applyAsInt(rgba.integer()));
+            }
+
+            @Override
+            public int map(int rgba) {
+                return map.applyAsInt(rgba);
+            }
+        };
+    }
+
+    /**
+     * Creates a pure color mapper that operates directly on packed colors.
+     * <p>
+     * The given method must always return the same color for the same input, which allows its results to be cached.
+     *
+     * @param map The packed color mapping method.
+     *
+     * @return A new color mapper.
+     *
+     * @see #isPure()
+     * @since 2.7.0
+     */
+    static ColorMapper pure(IntUnaryOperator map) {
+        return new ColorMapper() {
+            @Override
+            public Rgba map(Rgba rgba) {
+                return new Rgba(map.applyAsInt(rgba.integer()));
+            }
+
+            @Override
+            public int map(int rgba) {
+                return map.applyAsInt(rgba);
+            }
+
+            @Override
+            public boolean isPure() {
+                return true;
+            }
+        };
+    }
+
 }
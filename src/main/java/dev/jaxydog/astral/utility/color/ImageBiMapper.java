@@ -15,7 +15,9 @@
 package dev.jaxydog.astral.utility.color;
 
 import java.awt.image.BufferedImage;
+import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Maps an image into a new image, using additional data as context.
@@ -31,6 +33,8 @@ public record ImageBiMapper<T>(ColorBiMapper<T> color, BiConsumer<BufferedImage,
 
     /**
      * Processes and converts the provided image into a new, adjusted image.
+     * <p>
+     * The returned image always uses the {@link BufferedImage#TYPE_INT_ARGB} format.
      *
      * @param image The base image.
      * @param value An additional value.
@@ -40,17 +44,17 @@ public record ImageBiMapper<T>(ColorBiMapper<T> color, BiConsumer<BufferedImage,
      * @since 2.0.0
      */
     public BufferedImage convert(BufferedImage image, T value) {
-        final BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+        // Converting into packed pixels once allows the whole image to be mapped as a single array.
+        final BufferedImage converted = ImageHelper.copyPacked(image);
 
-        for (int y = 0; y < image.getHeight(); y += 1) {
-            for (int x = 0; x < image.getWidth(); x += 1) {
-                final Rgba color = new Rgba(image.getRGB(x, y));
+        final int[] pixels = ImageHelper.getPixels(converted);
+        final IntUnaryOperator map = color -> this.color.map(color, value);
 
-                // Ignore the pixel if it's transparent to save computation.
-                if (color.alpha() == 0) continue;
-
-                converted.setRGB(x, y, this.color.map(color, value).integer());
-            }
+        if (this.color.isPure()) {
+            // Pure mappers only need to convert each distinct color once, and may be split between threads.
+            ImageTiling.mapPixels(pixels, () -> new ColorCache(map));
+        } else {
+            ImageHelper.mapPixels(pixels, map);
         }
 
         this.image().accept(converted, value);
@@ -58,4 +62,44 @@ public record ImageBiMapper<T>(ColorBiMapper<T> color, BiConsumer<BufferedImage,
         return converted;
     }
 
+    /**
+     * Processes and converts the provided image into a new, adjusted image for each of the given values.
+     * <p>
+     * If this mapper's color converter is pure, the images may be converted in parallel, and as such the image consumer
+     * must only modify the image that it is given. The output is always identical to converting each image in order.
+     *
+     * @param image The base image.
+     * @param values The additional values.
+     *
+     * @return An unmodifiable list of new images, in the same order as the given values.
+     *
+     * @see ImageTiling
+     * @since 2.7.0
+     */
+    public List<BufferedImage> convertAll(BufferedImage image, List<T> values) {
+        if (!this.color.isPure()) return values.stream().map(value -> this.convert(image, value)).toList();
+
+        return ImageTiling.convertAll(values, value -> this.convert(image, value));
+    }
+
+    /**
+     * Processes and converts each of the provided images into new, adjusted images.
+     * <p>
+     * If this mapper's color converter is pure, the images may be converted in parallel, and as such the image consumer
+     * must only modify the image that it is given. The output is always identical to converting each image in order.
+     *
+     * @param images The base images.
+     * @param value An additional value.
+     *
+     * @return An unmodifiable list of new images, in the same order as the given images.
+     *
+     * @see ImageTiling
+     * @since 2.7.0
+     */
+    public List<BufferedImage> convertAll(List<BufferedImage> images, T value) {
+        if (!this.color.isPure()) return images.stream().map(image -> this.convert(image, value)).toList();
+
+        return ImageTiling.convertAll(images, image -> this.convert(image, value));
+    }
+
 }
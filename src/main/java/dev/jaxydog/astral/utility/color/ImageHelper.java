@@ -0,0 +1,164 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.jetbrains.annotations.ApiStatus.NonExtendable;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Provides an interface for operating on whole images as arrays of packed ARGB colors.
+ * <p>
+ * Reading and writing pixels one at a time using {@link BufferedImage#getRGB(int, int)} and
+ * {@link BufferedImage#setRGB(int, int, int)} converts each pixel through the image's color model. Instead, images are
+ * converted into the {@link BufferedImage#TYPE_INT_ARGB} format once, and then modified directly through their backing
+ * arrays.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@NonExtendable
+public interface ImageHelper {
+
+    /**
+     * Returns whether the given image's pixels are stored contiguously within a packed ARGB array.
+     *
+     * @param image The image.
+     *
+     * @return Whether the image's backing array may be used directly.
+     *
+     * @since 2.7.0
+     */
+    static boolean hasPackedPixels(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB) return false;
+
+        final Raster raster = image.getRaster();
+
+        // Sub-images share their parent's array, so their pixels are neither contiguous nor at its start.
+        if (raster.getParent() != null || raster.getSampleModelTranslateX() != 0) return false;
+        if (raster.getSampleModelTranslateY() != 0) return false;
+        if (!(raster.getSampleModel() instanceof final SinglePixelPackedSampleModel model)) return false;
+
+        return model.getScanlineStride() == image.getWidth() && raster.getDataBuffer().getOffset() == 0;
+    }
+
+    /**
+     * Returns the backing array of the given image's packed ARGB pixels.
+     * <p>
+     * Any changes made to the returned array are reflected within the image.
+     *
+     * @param image The image, which must satisfy {@link #hasPackedPixels(BufferedImage)}.
+     *
+     * @return The image's pixels, in row-major order.
+     *
+     * @throws IllegalArgumentException If the image's pixels are not stored within a packed ARGB array.
+     * @since 2.7.0
+     */
+    static int[] getPixels(BufferedImage image) throws IllegalArgumentException {
+        if (!hasPackedPixels(image)) throw new IllegalArgumentException("Image pixels are not packed");
+
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Copies the given image into a new image with packed ARGB pixels.
+     *
+     * @param image The source image.
+     *
+     * @return A new image.
+     *
+     * @since 2.7.0
+     */
+    static BufferedImage copyPacked(BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final BufferedImage copy = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final int[] pixels = getPixels(copy);
+
+        if (hasPackedPixels(image)) {
+            System.arraycopy(getPixels(image), 0, pixels, 0, pixels.length);
+        } else {
+            // Converts every pixel in one call, rather than going through the color model once per call.
+            image.getRGB(0, 0, width, height, pixels, 0, width);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Maps every visible pixel within the given array, clearing every transparent pixel.
+     *
+     * @param pixels The packed ARGB pixels.
+     * @param map The color mapping method.
+     *
+     * @since 2.7.0
+     */
+    static void mapPixels(int[] pixels, IntUnaryOperator map) {
+        mapPixels(pixels, 0, pixels.length, map);
+    }
+
+    /**
+     * Maps every visible pixel within the given range of the array, clearing every transparent pixel.
+     *
+     * @param pixels The packed ARGB pixels.
+     * @param start The first mapped index, inclusive.
+     * @param end The last mapped index, exclusive.
+     * @param map The color mapping method.
+     *
+     * @since 2.7.0
+     */
+    static void mapPixels(int[] pixels, int start, int end, IntUnaryOperator map) {
+        for (int index = start; index < end; index += 1) {
+            final int color = pixels[index];
+
+            // Ignore the pixel if it's transparent to save computation.
+            pixels[index] = PackedColor.alpha(color) == 0 ? 0 : map.applyAsInt(color);
+        }
+    }
+
+    /**
+     * Scales and offsets each RGB color component of every pixel, leaving the alpha components untouched.
+     * <p>
+     * This matches the results of {@link PackedColor#rescale(int, float, float)} for each pixel.
+     *
+     * @param pixels The packed ARGB pixels, which are modified in place.
+     * @param scale The scale factor.
+     * @param offset The offset, added after scaling.
+     *
+     * @since 2.7.0
+     */
+    static void rescalePixels(int[] pixels, float scale, float offset) {
+        // Every component is rescaled identically, so each possible result is computed once and then looked up.
+        final int[] table = new int[256];
+
+        for (int component = 0; component < table.length; component += 1) {
+            table[component] = PackedColor.blue(PackedColor.rescale(component, scale, offset));
+        }
+
+        for (int index = 0; index < pixels.length; index += 1) {
+            final int color = pixels[index];
+            final int r = table[PackedColor.red(color)] << 16;
+            final int g = table[PackedColor.green(color)] << 8;
+            final int b = table[PackedColor.blue(color)];
+
+            pixels[index] = (color & 0xFF_00_00_00) | r | g | b;
+        }
+    }
+
+}
@@ -15,6 +15,7 @@
 package dev.jaxydog.astral.utility.color;
 
 import java.awt.image.BufferedImage;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -30,6 +31,8 @@ public record ImageMapper(ColorMapper color, Consumer<BufferedImage> image) {
 
     /**
      * Processes and converts the provided image into a new, adjusted image.
+     * <p>
+     * The returned image always uses the {@link BufferedImage#TYPE_INT_ARGB} format.
      *
      * @param image The base image.
      *
@@ -38,17 +41,16 @@ public record ImageMapper(ColorMapper color, Consumer<BufferedImage> image) {
      * @since 2.0.0
      */
     public BufferedImage convert(BufferedImage image) {
-        final BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+        // Converting into packed pixels once allows the whole image to be mapped as a single array.
+        final BufferedImage converted = ImageHelper.copyPacked(image);
 
-        for (int y = 0; y < image.getHeight(); y += 1) {
-            for (int x = 0; x < image.getWidth(); x += 1) {
-                final Rgba color = new Rgba(image.getRGB(x, y));
+        final int[] pixels = ImageHelper.getPixels(converted);
 
-                // Ignore the pixel if it's transparent to save computation.
-                if (color.alpha() == 0) continue;
-
-                converted.setRGB(x, y, this.color.map(color).integer());
-            }
+        if (this.color.isPure()) {
+            // Pure mappers only need to convert each distinct color once, and may be split between threads.
+            ImageTiling.mapPixels(pixels, () -> new ColorCache(this.color::map));
+        } else {
+            ImageHelper.mapPixels(pixels, this.color::map);
         }
 
         this.image().accept(converted);
@@ -56,4 +58,23 @@ public record ImageMapper(ColorMapper color, Consumer<BufferedImage> image) {
         return converted;
     }
 
+    /**
+     * Processes and converts each of the provided images into new, adjusted images.
+     * <p>
+     * If this mapper's color converter is pure, the images may be converted in parallel, and as such the image consumer
+     * must only modify the image that it is given. The output is always identical to converting each image in order.
+     *
+     * @param images The base images.
+     *
+     * @return An unmodifiable list of new images, in the same order as the given images.
+     *
+     * @see ImageTiling
+     * @since 2.7.0
+     */
+    public List<BufferedImage> convertAll(List<BufferedImage> images) {
+        if (!this.color.isPure()) return images.stream().map(this::convert).toList();
+
+        return ImageTiling.convertAll(images, this::convert);
+    }
+
 }
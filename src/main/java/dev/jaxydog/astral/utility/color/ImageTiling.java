@@ -0,0 +1,313 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Splits image transforms into tiles that are processed on a bounded pool of worker threads.
+ * <p>
+ * Large images are split into contiguous ranges of at least {@link #TILE_SIZE} pixels, and batches of images are split
+ * into individual images. Every tile writes to its own range of the output, so as long as the mapping method is pure,
+ * the output is identical to that of serial processing.
+ * <p>
+ * Parallel processing may be disabled for debugging using the {@code astral.image_mapping.serial} system property, and
+ * the number of worker threads may be configured using the {@code astral.image_mapping.parallelism} system property.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public final class ImageTiling {
+
+    /**
+     * Whether all image transforms should be processed on the calling thread.
+     *
+     * @since 2.7.0
+     */
+    public static final boolean SERIAL = Boolean.getBoolean("astral.image_mapping.serial");
+
+    /**
+     * The maximum number of worker threads used to process image transforms.
+     *
+     * @since 2.7.0
+     */
+    public static final int PARALLELISM = Math.max(1, Integer.getInteger("astral.image_mapping.parallelism",
+        Math.min(4, Runtime.getRuntime().availableProcessors())
+    ));
+
+    /**
+     * The minimum number of pixels within a single tile.
+     * <p>
+     * Smaller images are not worth the overhead of being split, and are instead only parallelized as part of a batch.
+     *
+     * @since 2.7.0
+     */
+    public static final int TILE_SIZE = 128 * 128;
+
+    /**
+     * Prevents this class from being instantiated.
+     *
+     * @since 2.7.0
+     */
+    private ImageTiling() { }
+
+    /**
+     * Returns whether image transforms may be processed in parallel.
+     *
+     * @return Whether parallel processing is enabled.
+     *
+     * @since 2.7.0
+     */
+    public static boolean isParallel() {
+        return !SERIAL && PARALLELISM > 1;
+    }
+
+    /**
+     * Maps every visible pixel within the given array, clearing every transparent pixel.
+     * <p>
+     * Each tile is mapped using its own mapping method from the given supplier, which allows them to hold state that
+     * is not thread-safe, such as a {@link ColorCache}. The mapping methods must be pure.
+     *
+     * @param pixels The packed ARGB pixels.
+     * @param map Supplies a new color mapping method for each tile.
+     *
+     * @since 2.7.0
+     */
+    public static void mapPixels(int[] pixels, Supplier<IntUnaryOperator> map) {
+        if (!isParallel() || pixels.length < TILE_SIZE * 2) {
+            ImageHelper.mapPixels(pixels, map.get());
+        } else {
+            invoke(new TileTask(pixels, 0, pixels.length, map));
+        }
+    }
+
+    /**
+     * Converts every given input, returning the outputs in the same order.
+     * <p>
+     * The conversion method must be safe to call from multiple threads at once.
+     *
+     * @param inputs The inputs.
+     * @param convert The conversion method.
+     * @param <I> The input type.
+     * @param <O> The output type.
+     *
+     * @return An unmodifiable list of outputs.
+     *
+     * @since 2.7.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <I, O> List<O> convertAll(List<I> inputs, Function<? super I, ? extends O> convert) {
+        final Object[] outputs = new Object[inputs.size()];
+
+        if (!isParallel() || outputs.length < 2) {
+            for (int index = 0; index < outputs.length; index += 1) {
+                outputs[index] = convert.apply(inputs.get(index));
+            }
+        } else {
+            invoke(new BatchTask<>(inputs, outputs, 0, outputs.length, convert));
+        }
+
+        return (List<O>) Collections.unmodifiableList(Arrays.asList(outputs));
+    }
+
+    /**
+     * Runs the given task on the worker pool, waiting for it to complete.
+     *
+     * @param task The task.
+     *
+     * @since 2.7.0
+     */
+    private static void invoke(ForkJoinTask<?> task) {
+        // Tasks started from a worker thread, such as the tiles of an image within a batch, just fork within the pool.
+        if (ForkJoinTask.getPool() == Pool.INSTANCE) {
+            task.invoke();
+        } else {
+            Pool.INSTANCE.invoke(task);
+        }
+    }
+
+    /**
+     * Lazily holds the worker pool, such that no threads are created unless parallel processing is used.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class Pool {
+
+        /**
+         * The worker pool.
+         *
+         * @since 2.7.0
+         */
+        private static final ForkJoinPool INSTANCE = new ForkJoinPool(PARALLELISM, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+
+            thread.setName("Astral Image Worker-" + thread.getPoolIndex());
+
+            return thread;
+        }, null, false);
+
+    }
+
+    /**
+     * Maps a range of pixels, splitting it in half until each range is no larger than two tiles.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class TileTask extends RecursiveAction {
+
+        /**
+         * The packed ARGB pixels.
+         *
+         * @since 2.7.0
+         */
+        private final int[] pixels;
+        /**
+         * The first mapped index, inclusive.
+         *
+         * @since 2.7.0
+         */
+        private final int start;
+        /**
+         * The last mapped index, exclusive.
+         *
+         * @since 2.7.0
+         */
+        private final int end;
+        /**
+         * Supplies a new color mapping method for each tile.
+         *
+         * @since 2.7.0
+         */
+        private final Supplier<IntUnaryOperator> map;
+
+        /**
+         * Creates a new tile task.
+         *
+         * @param pixels The packed ARGB pixels.
+         * @param start The first mapped index, inclusive.
+         * @param end The last mapped index, exclusive.
+         * @param map Supplies a new color mapping method for each tile.
+         *
+         * @since 2.7.0
+         */
+        private TileTask(int[] pixels, int start, int end, Supplier<IntUnaryOperator> map) {
+            this.pixels = pixels;
+            this.start = start;
+            this.end = end;
+            this.map = map;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start < TILE_SIZE * 2) {
+                ImageHelper.mapPixels(this.pixels, this.start, this.end, this.map.get());
+            } else {
+                final int middle = (this.start + this.end) >>> 1;
+
+                invokeAll(new TileTask(this.pixels, this.start, middle, this.map),
+                    new TileTask(this.pixels, middle, this.end, this.map)
+                );
+            }
+        }
+
+    }
+
+    /**
+     * Converts a range of inputs, splitting it in half until each range contains a single input.
+     *
+     * @param <I> The input type.
+     *
+     * @author Jaxydog
+     * @since 2.7.0
+     */
+    private static final class BatchTask<I> extends RecursiveAction {
+
+        /**
+         * The inputs.
+         *
+         * @since 2.7.0
+         */
+        private final List<I> inputs;
+        /**
+         * The outputs, stored at the same index as their inputs.
+         *
+         * @since 2.7.0
+         */
+        private final Object[] outputs;
+        /**
+         * The first converted index, inclusive.
+         *
+         * @since 2.7.0
+         */
+        private final int start;
+        /**
+         * The last converted index, exclusive.
+         *
+         * @since 2.7.0
+         */
+        private final int end;
+        /**
+         * The conversion method.
+         *
+         * @since 2.7.0
+         */
+        private final Function<? super I, ?> convert;
+
+        /**
+         * Creates a new batch task.
+         *
+         * @param inputs The inputs.
+         * @param outputs The outputs, stored at the same index as their inputs.
+         * @param start The first converted index, inclusive.
+         * @param end The last converted index, exclusive.
+         * @param convert The conversion method.
+         *
+         * @since 2.7.0
+         */
+        private BatchTask(List<I> inputs, Object[] outputs, int start, int end, Function<? super I, ?> convert) {
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.start = start;
+            this.end = end;
+            this.convert = convert;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start == 1) {
+                this.outputs[this.start] = this.convert.apply(this.inputs.get(this.start));
+            } else {
+                final int middle = (this.start + this.end) >>> 1;
+
+                invokeAll(new BatchTask<>(this.inputs, this.outputs, this.start, middle, this.convert),
+                    new BatchTask<>(this.inputs, this.outputs, middle, this.end, this.convert)
+                );
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,501 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.ApiStatus.NonExtendable;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Provides an allocation-free interface for manipulating colors packed into ARGB integers.
+ * <p>
+ * All methods produce the same results as their equivalents on {@link Rgb} and {@link Rgba}, which delegate to this
+ * interface. Methods that require a color's HSB representation accept a caller-provided buffer, so that it may be
+ * re-used across many colors.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+@NonExtendable
+public interface PackedColor {
+
+    /**
+     * Returns the color's alpha component.
+     *
+     * @param color The color.
+     *
+     * @return The alpha component, within a range of {@code [0, 255]}.
+     *
+     * @since 2.7.0
+     */
+    static int alpha(int color) {
+        return color >>> 24;
+    }
+
+    /**
+     * Returns the color's red component.
+     *
+     * @param color The color.
+     *
+     * @return The red component, within a range of {@code [0, 255]}.
+     *
+     * @since 2.7.0
+     */
+    static int red(int color) {
+        return (color >> 16) & 0xFF;
+    }
+
+    /**
+     * Returns the color's green component.
+     *
+     * @param color The color.
+     *
+     * @return The green component, within a range of {@code [0, 255]}.
+     *
+     * @since 2.7.0
+     */
+    static int green(int color) {
+        return (color >> 8) & 0xFF;
+    }
+
+    /**
+     * Returns the color's blue component.
+     *
+     * @param color The color.
+     *
+     * @return The blue component, within a range of {@code [0, 255]}.
+     *
+     * @since 2.7.0
+     */
+    static int blue(int color) {
+        return color & 0xFF;
+    }
+
+    /**
+     * Packs the given components into a color.
+     * <p>
+     * The provided values are expected to be within a range of {@code [0, 255]}. If a value exceeds this, it will be
+     * clamped.
+     *
+     * @param red The red component.
+     * @param green The green component.
+     * @param blue The blue component.
+     * @param alpha The alpha component.
+     *
+     * @return The packed color.
+     *
+     * @since 2.7.0
+     */
+    static int of(int red, int green, int blue, int alpha) {
+        final int r = MathHelper.clamp(red, 0, 255);
+        final int g = MathHelper.clamp(green, 0, 255);
+        final int b = MathHelper.clamp(blue, 0, 255);
+        final int a = MathHelper.clamp(alpha, 0, 255);
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Packs the given scaled components into a color.
+     * <p>
+     * The provided values are expected to be within a range of {@code [0, 1]}. If a value exceeds this, it will be
+     * clamped.
+     *
+     * @param red The red component.
+     * @param green The green component.
+     * @param blue The blue component.
+     * @param alpha The alpha component.
+     *
+     * @return The packed color.
+     *
+     * @since 2.7.0
+     */
+    static int of(double red, double green, double blue, double alpha) {
+        return of(unscale(red), unscale(green), unscale(blue), unscale(alpha));
+    }
+
+    /**
+     * Converts a scaled component into the range {@code [0, 255]}.
+     *
+     * @param component The scaled component, which is clamped to a range of {@code [0, 1]}.
+     *
+     * @return The component.
+     *
+     * @since 2.7.0
+     */
+    static int unscale(double component) {
+        return (int) (MathHelper.clamp(component, 0D, 1D) * 255D);
+    }
+
+    /**
+     * Sets the color's alpha component.
+     *
+     * @param color The color.
+     * @param alpha The new alpha component, which is clamped to a range of {@code [0, 255]}.
+     *
+     * @return The modified color.
+     *
+     * @since 2.7.0
+     */
+    static int withAlpha(int color, int alpha) {
+        return (color & 0x00_FF_FF_FF) | (MathHelper.clamp(alpha, 0, 255) << 24);
+    }
+
+    /**
+     * Sets the color's red component.
+     *
+     * @param color The color.
+     * @param red The new red component, which is clamped to a range of {@code [0, 255]}.
+     *
+     * @return The modified color.
+     *
+     * @since 2.7.0
+     */
+    static int withRed(int color, int red) {
+        return (color & 0xFF_00_FF_FF) | (MathHelper.clamp(red, 0, 255) << 16);
+    }
+
+    /**
+     * Sets the color's green component.
+     *
+     * @param color The color.
+     * @param green The new green component, which is clamped to a range of {@code [0, 255]}.
+     *
+     * @return The modified color.
+     *
+     * @since 2.7.0
+     */
+    static int withGreen(int color, int green) {
+        return (color & 0xFF_FF_00_FF) | (MathHelper.clamp(green, 0, 255) << 8);
+    }
+
+    /**
+     * Sets the color's blue component.
+     *
+     * @param color The color.
+     * @param blue The new blue component, which is clamped to a range of {@code [0, 255]}.
+     *
+     * @return The modified color.
+     *
+     * @since 2.7.0
+     */
+    static int withBlue(int color, int blue) {
+        return (color & 0xFF_FF_FF_00) | MathHelper.clamp(blue, 0, 255);
+    }
+
+    /**
+     * Linearly interpolates a single component.
+     *
+     * @param start The start component, within a range of {@code [0, 255]}.
+     * @param end The end component, within a range of {@code [0, 255]}.
+     * @param delta The amount to transition, with a range of {@code [0, 1]}.
+     *
+     * @return The interpolated component.
+     *
+     * @since 2.7.0
+     */
+    private static int lerpComponent(int start, int end, double delta) {
+        final double scaled = start / 255D;
+
+        // Interpolated in the scaled space to match the results of `ColorHelper#transition` exactly.
+        return unscale(scaled + (end / 255D - scaled) * delta);
+    }
+
+    /**
+     * Linearly interpolates between a starting and ending color, including their alpha components.
+     *
+     * @param start The start color.
+     * @param end The end color.
+     * @param delta The amount to transition, with a range of {@code [0, 1]}.
+     *
+     * @return The interpolated color.
+     *
+     * @since 2.7.0
+     */
+    static int lerp(int start, int end, double delta) {
+        final int r = lerpComponent(red(start), red(end), delta);
+        final int g = lerpComponent(green(start), green(end), delta);
+        final int b = lerpComponent(blue(start), blue(end), delta);
+        final int a = lerpComponent(alpha(start), alpha(end), delta);
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Multiplies two colors together per component, including their alpha components.
+     *
+     * @param color The first color.
+     * @param other The second color.
+     *
+     * @return The multiplied color.
+     *
+     * @since 2.7.0
+     */
+    static int multiply(int color, int other) {
+        final int r = (red(color) * red(other) + 127) / 255;
+        final int g = (green(color) * green(other) + 127) / 255;
+        final int b = (blue(color) * blue(other) + 127) / 255;
+        final int a = (alpha(color) * alpha(other) + 127) / 255;
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Blends the source color over the destination color using their alpha components.
+     *
+     * @param source The source color, drawn on top.
+     * @param destination The destination color, drawn below.
+     *
+     * @return The blended color.
+     *
+     * @since 2.7.0
+     */
+    static int blend(int source, int destination) {
+        final int sourceAlpha = alpha(source);
+
+        if (sourceAlpha == 255) return source;
+        if (sourceAlpha == 0) return destination;
+
+        // The destination's contribution, scaled by 255 to stay within integer arithmetic.
+        final int destinationWeight = alpha(destination) * (255 - sourceAlpha);
+        final int alpha = sourceAlpha * 255 + destinationWeight;
+
+        if (alpha == 0) return 0;
+
+        final int r = (red(source) * sourceAlpha * 255 + red(destination) * destinationWeight) / alpha;
+        final int g = (green(source) * sourceAlpha * 255 + green(destination) * destinationWeight) / alpha;
+        final int b = (blue(source) * sourceAlpha * 255 + blue(destination) * destinationWeight) / alpha;
+
+        return ((alpha + 127) / 255 << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Converts the color into grayscale using its luma, leaving the alpha component untouched.
+     *
+     * @param color The color.
+     *
+     * @return The grayscale color.
+     *
+     * @since 2.7.0
+     */
+    static int grayscale(int color) {
+        // Rec. 601 luma weights in 8-bit fixed point, which sum to exactly 256.
+        final int luma = (red(color) * 77 + green(color) * 150 + blue(color) * 29 + 128) >> 8;
+
+        return (color & 0xFF_00_00_00) | (luma * 0x01_01_01);
+    }
+
+    /**
+     * Scales and offsets each RGB color component, leaving the alpha component untouched.
+     * <p>
+     * This matches the results of a {@link java.awt.image.RescaleOp} with a single scale factor and offset.
+     *
+     * @param color The color.
+     * @param scale The scale factor.
+     * @param offset The offset, added after scaling.
+     *
+     * @return The rescaled color.
+     *
+     * @since 2.7.0
+     */
+    static int rescale(int color, float scale, float offset) {
+        final int r = MathHelper.clamp((int) (red(color) * scale + offset), 0, 255);
+        final int g = MathHelper.clamp((int) (green(color) * scale + offset), 0, 255);
+        final int b = MathHelper.clamp((int) (blue(color) * scale + offset), 0, 255);
+
+        return (color & 0xFF_00_00_00) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Maps each RGB color component using the given method, leaving the alpha component untouched.
+     *
+     * @param color The color.
+     * @param map The mapping method.
+     *
+     * @return The mapped color.
+     *
+     * @since 2.7.0
+     */
+    static int map(int color, IntUnaryOperator map) {
+        final int r = map.applyAsInt(red(color));
+        final int g = map.applyAsInt(green(color));
+        final int b = map.applyAsInt(blue(color));
+
+        return of(r, g, b, alpha(color));
+    }
+
+    /**
+     * Mixes two colors together by combining each of their RGB color components, leaving the first color's alpha
+     * component untouched.
+     *
+     * @param color The first color.
+     * @param other The second color.
+     * @param mix The mixing method.
+     *
+     * @return The mixed color.
+     *
+     * @since 2.7.0
+     */
+    static int mix(int color, int other, IntBinaryOperator mix) {
+        final int r = mix.applyAsInt(red(color), red(other));
+        final int g = mix.applyAsInt(green(color), green(other));
+        final int b = mix.applyAsInt(blue(color), blue(other));
+
+        return of(r, g, b, alpha(color));
+    }
+
+    /**
+     * Converts the color into the HSB format, storing the result in the given buffer.
+     * <p>
+     * The results are bit-identical to {@link java.awt.Color#RGBtoHSB(int, int, int, float[])}, however every division
+     * is replaced with a read from a precomputed table.
+     *
+     * @param color The color.
+     * @param hsb The buffer, which must have a length of at least {@code 3}.
+     *
+     * @return The given buffer, containing the color's hue, saturation, and brightness.
+     *
+     * @since 2.7.0
+     */
+    static float[] toHsb(int color, float[] hsb) {
+        final int r = red(color);
+        final int g = green(color);
+        final int b = blue(color);
+        final int max = Math.max(r, Math.max(g, b));
+        final int chroma = max - Math.min(r, Math.min(g, b));
+
+        hsb[2] = QuotientTable.get(max, 255);
+
+        if (chroma == 0) {
+            hsb[0] = 0F;
+            hsb[1] = 0F;
+
+            return hsb;
+        }
+
+        hsb[1] = QuotientTable.get(chroma, max);
+
+        final float redDistance = QuotientTable.get(max - r, chroma);
+        final float greenDistance = QuotientTable.get(max - g, chroma);
+        final float blueDistance = QuotientTable.get(max - b, chroma);
+        final float hue;
+
+        // The operations must be kept in this order to match the AWT implementation exactly.
+        if (r == max) {
+            hue = (blueDistance - greenDistance) / 6F;
+        } else if (g == max) {
+            hue = (2F + redDistance - blueDistance) / 6F;
+        } else {
+            hue = (4F + greenDistance - redDistance) / 6F;
+        }
+
+        hsb[0] = hue < 0F ? hue + 1F : hue;
+
+        return hsb;
+    }
+
+    /**
+     * Converts the given HSB values into a color.
+     *
+     * @param hue The hue, which is wrapped to a range of {@code [0, 1]}.
+     * @param saturation The saturation, within a range of {@code [0, 1]}.
+     * @param brightness The brightness, within a range of {@code [0, 1]}.
+     * @param alpha The alpha component, within a range of {@code [0, 255]}.
+     *
+     * @return The color.
+     *
+     * @since 2.7.0
+     */
+    static int fromHsb(float hue, float saturation, float brightness, int alpha) {
+        final int value = (int) (brightness * 255F + 0.5F);
+
+        if (saturation == 0F) return withAlpha((value << 16) | (value << 8) | value, alpha);
+
+        // Mirrors `Color#HSBtoRGB` exactly, including its rounding, without needing to load AWT.
+        final float sector = (hue - (float) Math.floor(hue)) * 6F;
+        final float offset = sector - (float) Math.floor(sector);
+        final int p = (int) (brightness * (1F - saturation) * 255F + 0.5F);
+        final int q = (int) (brightness * (1F - saturation * offset) * 255F + 0.5F);
+        final int t = (int) (brightness * (1F - (saturation * (1F - offset))) * 255F + 0.5F);
+
+        final int rgb = switch ((int) sector) {
+            case 0 -> (value << 16) | (t << 8) | p;
+            case 1 -> (q << 16) | (value << 8) | p;
+            case 2 -> (p << 16) | (value << 8) | t;
+            case 3 -> (p << 16) | (q << 8) | value;
+            case 4 -> (t << 16) | (p << 8) | value;
+            case 5 -> (value << 16) | (p << 8) | q;
+            // Only reachable if the wrapped hue rounds up to exactly 1, which AWT also converts to black.
+            default -> 0;
+        };
+
+        return withAlpha(rgb, alpha);
+    }
+
+    /**
+     * Sets the color's hue.
+     *
+     * @param color The color.
+     * @param hue The new hue, which is wrapped to a range of {@code [0, 1]}.
+     * @param hsb A buffer used for the conversion, which must have a length of at least {@code 3}.
+     *
+     * @return The modified color.
+     *
+     * @since 2.7.0
+     */
+    static int withHue(int color, float hue, float[] hsb) {
+        toHsb(color, hsb);
+
+        // Cycles the hue between 0 and 1.
+        return fromHsb(hue % 1F, hsb[1], hsb[2], alpha(color));
+    }
+
+    /**
+     * Sets the color's saturation.
+     *
+     * @param color The color.
+     * @param saturation The new saturation, which is clamped to a range of {@code [0, 1]}.
+     * @param hsb A buffer used for the conversion, which must have a length of at least {@code 3}.
+     *
+     * @return The modified color.
+     *
+     * @since 2.7.0
+     */
+    static int withSaturation(int color, float saturation, float[] hsb) {
+        toHsb(color, hsb);
+
+        return fromHsb(hsb[0], MathHelper.clamp(saturation, 0F, 1F), hsb[2], alpha(color));
+    }
+
+    /**
+     * Sets the color's brightness.
+     *
+     * @param color The color.
+     * @param brightness The new brightness, which is clamped to a range of {@code [0, 1]}.
+     * @param hsb A buffer used for the conversion, which must have a length of at least {@code 3}.
+     *
+     * @return The modified color.
+     *
+     * @since 2.7.0
+     */
+    static int withBrightness(int color, float brightness, float[] hsb) {
+        toHsb(color, hsb);
+
+        return fromHsb(hsb[0], hsb[1], MathHelper.clamp(brightness, 0F, 1F), alpha(color));
+    }
+
+}
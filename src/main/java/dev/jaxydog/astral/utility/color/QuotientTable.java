@@ -0,0 +1,67 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+/**
+ * A precomputed table of the quotients of every pair of color components.
+ * <p>
+ * Each entry is computed using the same float division as {@link java.awt.Color#RGBtoHSB(int, int, int, float[])},
+ * which allows HSB conversions to replace their divisions with a single array read while producing bit-identical
+ * results. The table is only allocated once it is first used.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+final class QuotientTable {
+
+    /**
+     * The quotients, indexed by {@code (divisor << 8) | dividend}.
+     * <p>
+     * Only entries where the dividend is at most the divisor are computed, and all others are left as zero.
+     *
+     * @since 2.7.0
+     */
+    private static final float[] QUOTIENTS = new float[256 * 256];
+
+    static {
+        for (int divisor = 1; divisor < 256; divisor += 1) {
+            for (int dividend = 0; dividend <= divisor; dividend += 1) {
+                QUOTIENTS[(divisor << 8) | dividend] = (float) dividend / (float) divisor;
+            }
+        }
+    }
+
+    /**
+     * Prevents this class from being instantiated.
+     *
+     * @since 2.7.0
+     */
+    private QuotientTable() { }
+
+    /**
+     * Returns the quotient of the given color components.
+     *
+     * @param dividend The dividend, within a range of {@code [0, divisor]}.
+     * @param divisor The divisor, within a range of {@code [1, 255]}.
+     *
+     * @return The quotient.
+     *
+     * @since 2.7.0
+     */
+    static float get(int dividend, int divisor) {
+        return QUOTIENTS[(divisor << 8) | dividend];
+    }
+
+}
@@ -16,12 +16,13 @@ package dev.jaxydog.astral.utility.color;
 
 import net.minecraft.util.math.MathHelper;
 
-import java.awt.*;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntUnaryOperator;
 
 /**
  * Stores and allows for the manipulation of an RGB value.
+ * <p>
+ * This is a thin wrapper around {@link PackedColor}, which should be preferred where allocations matter.
  *
  * @author Jaxydog
  * @since 2.0.0
@@ -111,13 +112,7 @@ public class Rgb {
      */
     public Rgb(double red, double green, double blue) {
         // Clamp between 0 and 1, then scale up to [0, 255].
-        final int r = (int) (MathHelper.clamp(red, 0D, 1D) * 255D);
-        final int g = (int) (MathHelper.clamp(green, 0D, 1D) * 255D);
-        final int b = (int) (MathHelper.clamp(blue, 0D, 1D) * 255D);
-
-        this.r = (byte) (MathHelper.clamp(r, 0, 255));
-        this.g = (byte) (MathHelper.clamp(g, 0, 255));
-        this.b = (byte) (MathHelper.clamp(b, 0, 255));
+        this(PackedColor.unscale(red), PackedColor.unscale(green), PackedColor.unscale(blue));
     }
 
     /**
@@ -128,9 +123,9 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb(int rgb) {
-        this.r = (byte) ((rgb & RED_MASK) >> 16);
-        this.g = (byte) ((rgb & GREEN_MASK) >> 8);
-        this.b = (byte) (rgb & BLUE_MASK);
+        this.r = (byte) PackedColor.red(rgb);
+        this.g = (byte) PackedColor.green(rgb);
+        this.b = (byte) PackedColor.blue(rgb);
     }
 
     /**
@@ -140,7 +135,7 @@ public class Rgb {
      */
     private void ensureHsb() {
         if (this.hsb == null || this.hsb.length != 3) {
-            this.hsb = Color.RGBtoHSB(this.red(), this.green(), this.blue(), null);
+            this.hsb = PackedColor.toHsb(this.integer(), new float[3]);
         }
     }
 
@@ -282,7 +277,7 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withRed(int red) {
-        return new Rgb(red, this.green(), this.blue());
+        return new Rgb(PackedColor.withRed(this.integer(), red));
     }
 
     /**
@@ -297,7 +292,7 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withGreen(int green) {
-        return new Rgb(this.red(), green, this.blue());
+        return new Rgb(PackedColor.withGreen(this.integer(), green));
     }
 
     /**
@@ -312,7 +307,7 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withBlue(int blue) {
-        return new Rgb(this.red(), this.green(), blue);
+        return new Rgb(PackedColor.withBlue(this.integer(), blue));
     }
 
     /**
@@ -327,7 +322,7 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withRed(double red) {
-        return new Rgb(red, this.greenScaled(), this.blueScaled());
+        return this.withRed(PackedColor.unscale(red));
     }
 
     /**
@@ -342,7 +337,7 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withGreen(double green) {
-        return new Rgb(this.redScaled(), green, this.blueScaled());
+        return this.withGreen(PackedColor.unscale(green));
     }
 
     /**
@@ -357,7 +352,7 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withBlue(double blue) {
-        return new Rgb(this.redScaled(), this.greenScaled(), blue);
+        return this.withBlue(PackedColor.unscale(blue));
     }
 
     /**
@@ -372,8 +367,10 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withHue(float hue) {
-        // Cycles the hue between 0 and 1.
-        return new Rgb(Color.HSBtoRGB(hue % 1F, this.saturation(), this.brightness()));
+        this.ensureHsb();
+
+        // The cached conversion is read directly rather than recomputed, and the alpha component is discarded.
+        return new Rgb(PackedColor.fromHsb(hue % 1F, this.hsb[1], this.hsb[2], 0));
     }
 
     /**
@@ -388,9 +385,11 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withSaturation(float saturation) {
+        this.ensureHsb();
+
         final float clamped = MathHelper.clamp(saturation, 0F, 1F);
 
-        return new Rgb(Color.HSBtoRGB(this.hue(), clamped, this.brightness()));
+        return new Rgb(PackedColor.fromHsb(this.hsb[0], clamped, this.hsb[2], 0));
     }
 
     /**
@@ -405,9 +404,11 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb withBrightness(float brightness) {
+        this.ensureHsb();
+
         final float clamped = MathHelper.clamp(brightness, 0F, 1F);
 
-        return new Rgb(Color.HSBtoRGB(this.hue(), this.saturation(), clamped));
+        return new Rgb(PackedColor.fromHsb(this.hsb[0], this.hsb[1], clamped, 0));
     }
 
     /**
@@ -420,11 +421,7 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb map(IntUnaryOperator map) {
-        final int r = map.applyAsInt(this.red());
-        final int g = map.applyAsInt(this.green());
-        final int b = map.applyAsInt(this.blue());
-
-        return new Rgb(r, g, b);
+        return new Rgb(PackedColor.map(this.integer(), map));
     }
 
     /**
@@ -438,11 +435,7 @@ public class Rgb {
      * @since 2.0.0
      */
     public Rgb mix(Rgb other, IntBinaryOperator mix) {
-        final int r = mix.applyAsInt(this.red(), other.red());
-        final int g = mix.applyAsInt(this.green(), other.green());
-        final int b = mix.applyAsInt(this.blue(), other.blue());
-
-        return new Rgb(r, g, b);
+        return new Rgb(PackedColor.mix(this.integer(), other.integer(), mix));
     }
 
 }
@@ -70,9 +70,7 @@ public class Rgba extends Rgb {
         super(red, green, blue);
 
         // Clamp between 0 and 1, then scale up to [0, 255].
-        final int a = (int) (MathHelper.clamp(alpha, 0D, 1D) * 255D);
-
-        this.a = (byte) (MathHelper.clamp(a, 0, 255));
+        this.a = (byte) PackedColor.unscale(alpha);
     }
 
     /**
@@ -85,7 +83,7 @@ public class Rgba extends Rgb {
     public Rgba(int rgba) {
         super(rgba);
 
-        this.a = (byte) ((rgba & ALPHA_MASK) >> 24);
+        this.a = (byte) PackedColor.alpha(rgba);
     }
 
     /**
@@ -109,7 +107,7 @@ public class Rgba extends Rgb {
      * @since 2.0.0
      */
     public Rgba(Rgb rgb, double alpha) {
-        this(rgb, (int) (MathHelper.clamp(alpha, 0D, 1D) * 255D));
+        this(rgb, PackedColor.unscale(alpha));
     }
 
     /**
@@ -146,7 +144,7 @@ public class Rgba extends Rgb {
      * @since 2.0.0
      */
     public Rgba withAlpha(int alpha) {
-        return new Rgba(this.red(), this.green(), this.blue(), alpha);
+        return new Rgba(PackedColor.withAlpha(this.integer(), alpha));
     }
 
     /**
@@ -161,7 +159,7 @@ public class Rgba extends Rgb {
      * @since 2.0.0
      */
     public Rgba withAlpha(double alpha) {
-        return new Rgba(this.redScaled(), this.greenScaled(), this.blueScaled(), alpha);
+        return this.withAlpha(PackedColor.unscale(alpha));
     }
 
     /**
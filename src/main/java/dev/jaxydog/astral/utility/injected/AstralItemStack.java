@@ -44,4 +44,24 @@ public interface AstralItemStack {
      */
     ItemStack astral$copyWithItemStack(Item item);
 
+    /**
+     * Returns the stack's transient storminess value.
+     * <p>
+     * This is not persisted, and is used to accumulate small storminess changes between quantized levels.
+     *
+     * @return The transient storminess value, or {@link Double#NaN} if it has not been set.
+     *
+     * @since 2.7.0
+     */
+    double astral$getStorminess();
+
+    /**
+     * Sets the stack's transient storminess value.
+     *
+     * @param storminess The transient storminess value.
+     *
+     * @since 2.7.0
+     */
+    void astral$setStorminess(double storminess);
+
 }
@@ -0,0 +1,64 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.injected;
+
+import dev.jaxydog.astral.utility.ConditionCache;
+import dev.jaxydog.astral.utility.OcclusionCache;
+
+/**
+ * Provides extensions to the {@link net.minecraft.world.World} class.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public interface AstralWorld {
+
+    /**
+     * Returns this world's occlusion cache.
+     * <p>
+     * The returned cache is only valid for the current tick, and is cleared automatically once the world's time
+     * changes.
+     *
+     * @return The occlusion cache.
+     *
+     * @since 2.7.0
+     */
+    OcclusionCache astral$getOcclusionCache();
+
+    /**
+     * Returns this world's condition cache.
+     * <p>
+     * The returned cache is only valid for the current tick, and is cleared automatically once the world's time
+     * changes.
+     *
+     * @return The condition cache.
+     *
+     * @since 2.7.0
+     */
+    ConditionCache astral$getConditionCache();
+
+    /**
+     * Returns the numeric identifier of the world's current moon phase.
+     * <p>
+     * This is equivalent to {@link net.minecraft.world.LunarWorldView#getMoonPhase()}, but is only computed once per
+     * tick, and should be preferred by any condition that checks the moon phase.
+     *
+     * @return The current moon phase.
+     *
+     * @since 2.7.0
+     */
+    int astral$getMoonPhase();
+
+}
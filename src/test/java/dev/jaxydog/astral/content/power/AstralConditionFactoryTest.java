@@ -0,0 +1,354 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.content.power;
+
+import dev.jaxydog.astral.Astral;
+import dev.jaxydog.astral.content.data.custom.MoonPhase;
+import dev.jaxydog.astral.content.power.condition.DistanceCondition;
+import dev.jaxydog.astral.content.power.condition.MoonPhaseCondition;
+import dev.jaxydog.astral.content.power.condition.UnobstructedBlockInRadiusCondition;
+import dev.jaxydog.astral.content.power.condition.UnobstructedBlockInRadiusCondition.Mode;
+import dev.jaxydog.astral.utility.ConditionCache;
+import dev.jaxydog.astral.utility.OcclusionCache;
+import io.github.apace100.apoli.util.Comparison;
+import io.github.apace100.apoli.util.Shape;
+import io.github.apace100.calio.data.SerializableData;
+import io.github.apace100.calio.data.SerializableData.Instance;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.pattern.CachedBlockPosition;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that memoized conditions always produce the same results as their un-memoized forms.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public class AstralConditionFactoryTest {
+
+    /**
+     * The tested condition's type.
+     *
+     * @since 2.7.0
+     */
+    private static final Identifier TYPE = Astral.getId("memoization_test");
+
+    /**
+     * The mocked world's current time.
+     *
+     * @since 2.7.0
+     */
+    private long time;
+    /**
+     * The mocked world's current moon phase.
+     *
+     * @since 2.7.0
+     */
+    private int moonPhase;
+    /**
+     * The mocked entity's current position.
+     *
+     * @since 2.7.0
+     */
+    private Vec3d position;
+    /**
+     * The mocked entity.
+     *
+     * @since 2.7.0
+     */
+    private Entity entity;
+    /**
+     * The number of times that the un-memoized condition has been tested.
+     *
+     * @since 2.7.0
+     */
+    private AtomicInteger calls;
+    /**
+     * The memoized condition.
+     *
+     * @since 2.7.0
+     */
+    private BiPredicate<Instance, Entity> memoized;
+    /**
+     * The condition's data.
+     *
+     * @since 2.7.0
+     */
+    private Instance data;
+
+    @BeforeAll
+    public static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    /**
+     * A condition that is pure within a tick, and whose result depends on both the world time and the entity's
+     * position.
+     *
+     * @param data The condition's data.
+     * @param entity The tested entity.
+     *
+     * @return The condition's result.
+     *
+     * @since 2.7.0
+     */
+    private static boolean condition(Instance data, Entity entity) {
+        final long sum = MathHelper.floor(entity.getX()) + MathHelper.floor(entity.getZ()) + entity.getWorld().getTime();
+
+        return sum % 3L == 0L;
+    }
+
+    /**
+     * Creates the data of an {@code astral:unobstructed_block_in_radius} condition.
+     *
+     * @param blockCondition The block condition.
+     * @param radius The searched radius.
+     * @param compareTo The number of blocks that must be found.
+     * @param mode The occlusion mode.
+     *
+     * @return The condition's data.
+     *
+     * @since 2.7.0
+     */
+    private static Instance createUnobstructedData(
+        Predicate<CachedBlockPosition> blockCondition, int radius, int compareTo, Mode mode
+    ) {
+        final Instance data = new SerializableData().new Instance();
+
+        data.set("block_condition", blockCondition);
+        data.set("shape", Shape.CUBE);
+        data.set("radius", radius);
+        data.set("step_size", 0.125D);
+        data.set("comparison", Comparison.GREATER_THAN_OR_EQUAL);
+        data.set("compare_to", compareTo);
+        data.set("mode", mode);
+
+        return data;
+    }
+
+    /**
+     * Creates the data of an {@code astral:distance} condition.
+     *
+     * @param compareTo The compared distance.
+     * @param horizontal Whether only horizontal distance is compared.
+     *
+     * @return The condition's data.
+     *
+     * @since 2.7.0
+     */
+    private static Instance createDistanceData(double compareTo, boolean horizontal) {
+        final Instance data = new SerializableData().new Instance();
+
+        data.set("position", new Vec3d(0.5D, 0D, 0.5D));
+        data.set("comparison", Comparison.LESS_THAN_OR_EQUAL);
+        data.set("compare_to", compareTo);
+        data.set("horizontal", horizontal);
+
+        return data;
+    }
+
+    /**
+     * Creates the data of an {@code astral:moon_phase} condition.
+     *
+     * @param phase The accepted moon phase.
+     *
+     * @return The condition's data.
+     *
+     * @since 2.7.0
+     */
+    private static Instance createMoonPhaseData(MoonPhase phase) {
+        final Instance data = new SerializableData().new Instance();
+
+        data.set("phase", phase);
+        data.set("phases", 0);
+
+        return data;
+    }
+
+    @BeforeEach
+    public void setup() {
+        this.time = 0L;
+        this.moonPhase = 0;
+        this.position = new Vec3d(0.5D, 64D, 0.5D);
+
+        final World world = Mockito.mock(World.class);
+        final ConditionCache cache = new ConditionCache(world);
+        final OcclusionCache occlusionCache = new OcclusionCache(world);
+
+        // The world is entirely empty, so no ray-cast is ever obstructed.
+        Mockito.when(world.getBlockState(Mockito.any())).thenReturn(Blocks.AIR.getDefaultState());
+        Mockito.when(world.getTime()).thenAnswer(invocation -> this.time);
+        Mockito.when(world.astral$getMoonPhase()).thenAnswer(invocation -> this.moonPhase);
+        Mockito.when(world.astral$getConditionCache()).thenReturn(cache);
+        Mockito.when(world.astral$getOcclusionCache()).thenReturn(occlusionCache);
+
+        this.entity = Mockito.mock(Entity.class);
+
+        Mockito.when(this.entity.getId()).thenReturn(1);
+        Mockito.when(this.entity.getWorld()).thenReturn(world);
+        Mockito.when(this.entity.getX()).thenAnswer(invocation -> this.position.getX());
+        Mockito.when(this.entity.getY()).thenAnswer(invocation -> this.position.getY());
+        Mockito.when(this.entity.getZ()).thenAnswer(invocation -> this.position.getZ());
+        Mockito.when(this.entity.getBlockPos()).thenAnswer(invocation -> BlockPos.ofFloored(this.position));
+
+        this.calls = new AtomicInteger();
+        this.memoized = AstralConditionFactory.memoize(TYPE, (data, entity) -> {
+            this.calls.incrementAndGet();
+
+            return condition(data, entity);
+        }, data -> "key");
+        this.data = new SerializableData().new Instance();
+    }
+
+    @Test
+    public void memoizedResultsMatchUnmemoizedResults() {
+        Assumptions.assumeTrue(ConditionCache.ENABLED, "Condition memoization is disabled");
+
+        final Random random = new Random(0L);
+
+        for (int step = 0; step < 10_000; step += 1) {
+            switch (random.nextInt(4)) {
+                case 0 -> this.time += 1L;
+                // Teleport the entity, which may happen at any point within a tick.
+                case 1 -> this.position = new Vec3d(random.nextDouble() * 16D, 64D, random.nextDouble() * 16D);
+                default -> {
+                    final boolean expected = condition(this.data, this.entity);
+
+                    assertEquals(expected, this.memoized.test(this.data, this.entity), "Mismatch at step " + step);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void resultsAreSharedWithinTick() {
+        Assumptions.assumeTrue(ConditionCache.ENABLED, "Condition memoization is disabled");
+
+        final boolean first = this.memoized.test(this.data, this.entity);
+
+        assertEquals(first, this.memoized.test(this.data, this.entity));
+        assertEquals(1, this.calls.get());
+
+        this.time += 1L;
+
+        assertEquals(!first, this.memoized.test(this.data, this.entity));
+        assertEquals(2, this.calls.get());
+    }
+
+    @Test
+    public void teleportingWithinTickIsTestedAgain() {
+        Assumptions.assumeTrue(ConditionCache.ENABLED, "Condition memoization is disabled");
+
+        // (0 + 0 + 0) % 3 == 0, so the condition passes at the origin.
+        assertTrue(this.memoized.test(this.data, this.entity));
+
+        // (1 + 0 + 0) % 3 != 0, so the condition fails after teleporting without advancing the tick.
+        this.position = new Vec3d(1.5D, 64D, 0.5D);
+
+        assertFalse(this.memoized.test(this.data, this.entity));
+        assertEquals(2, this.calls.get());
+    }
+
+    @Test
+    public void unobstructedConditionsWithDifferentDataAreNotShared() {
+        Assumptions.assumeTrue(ConditionCache.ENABLED, "Condition memoization is disabled");
+
+        final AstralConditionFactory<Entity> factory = new UnobstructedBlockInRadiusCondition(
+            "unobstructed_block_in_radius").factory();
+        final AtomicInteger tested = new AtomicInteger();
+        // Only matches the block two blocks east of the entity, which is visible in an empty world.
+        final BlockPos target = BlockPos.ofFloored(this.position).east(2);
+        final Predicate<CachedBlockPosition> blockCondition = block -> {
+            tested.incrementAndGet();
+
+            return block.getBlockPos().equals(target);
+        };
+        final Predicate<CachedBlockPosition> otherBlockCondition = block -> false;
+
+        final Instance base = createUnobstructedData(blockCondition, 2, 1, Mode.RAY);
+
+        assertTrue(factory.test(base, this.entity));
+
+        // Equal data shares the cached result, even across separate data instances.
+        final int calls = tested.get();
+
+        assertTrue(factory.test(createUnobstructedData(blockCondition, 2, 1, Mode.RAY), this.entity));
+        assertEquals(calls, tested.get());
+
+        // Each of these differs from the base data in a single field, and must be tested again.
+        assertFalse(factory.test(createUnobstructedData(blockCondition, 1, 1, Mode.RAY), this.entity));
+        assertFalse(factory.test(createUnobstructedData(blockCondition, 2, 2, Mode.RAY), this.entity));
+        assertFalse(factory.test(createUnobstructedData(otherBlockCondition, 2, 1, Mode.RAY), this.entity));
+
+        final int beforeMode = tested.get();
+
+        assertTrue(factory.test(createUnobstructedData(blockCondition, 2, 1, Mode.FLOOD_FILL), this.entity));
+        assertNotEquals(beforeMode, tested.get(), "The flood fill mode re-used the ray mode's result");
+    }
+
+    @Test
+    public void distanceConditionsWithDifferentDataAreNotShared() {
+        final AstralConditionFactory<Entity> factory = new DistanceCondition("distance").factory();
+
+        // The entity is 64 blocks above the position, and 0 blocks away horizontally.
+        assertFalse(factory.test(createDistanceData(8D, false), this.entity));
+        assertTrue(factory.test(createDistanceData(8D, true), this.entity));
+        assertFalse(factory.test(createDistanceData(8D, false), this.entity));
+        assertTrue(factory.test(createDistanceData(64D, false), this.entity));
+
+        // Moving within a tick changes the result.
+        this.position = new Vec3d(0.5D, 4D, 0.5D);
+
+        assertTrue(factory.test(createDistanceData(8D, false), this.entity));
+    }
+
+    @Test
+    public void moonPhaseConditionsWithDifferentDataAreNotShared() {
+        final AstralConditionFactory<Entity> factory = new MoonPhaseCondition("moon_phase").factory();
+
+        assertTrue(factory.test(createMoonPhaseData(MoonPhase.FULL_MOON), this.entity));
+        assertFalse(factory.test(createMoonPhaseData(MoonPhase.NEW_MOON), this.entity));
+
+        this.moonPhase = 4;
+        this.time += 1L;
+
+        assertFalse(factory.test(createMoonPhaseData(MoonPhase.FULL_MOON), this.entity));
+        assertTrue(factory.test(createMoonPhaseData(MoonPhase.NEW_MOON), this.entity));
+    }
+
+}
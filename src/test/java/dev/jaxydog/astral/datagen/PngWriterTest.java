@@ -0,0 +1,164 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.datagen;
+
+import dev.jaxydog.astral.datagen.PngWriter.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests that images encoded by the PNG writer decode into exactly the same pixels, for every filter heuristic.
+ *
+ * @author Jaxydog
+ */
+public class PngWriterTest {
+
+    /**
+     * The tested image sizes, including single pixels and rows that are not a multiple of any pixel stride.
+     */
+    private static final int[][] SIZES = { { 1, 1 }, { 16, 16 }, { 17, 5 }, { 64, 64 } };
+
+    /**
+     * The random number generator used to create images.
+     */
+    private Random random;
+
+    /**
+     * Returns the pixels of the given image.
+     *
+     * @param image The image.
+     *
+     * @return The image's pixels in the ARGB format.
+     */
+    private static int[] getPixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+    /**
+     * Encodes and then decodes the given image, asserting that its pixels are unchanged.
+     *
+     * @param writer The PNG writer.
+     * @param image The image.
+     *
+     * @throws IOException If the encoded image cannot be decoded.
+     */
+    private static void assertRoundTrip(PngWriter writer, BufferedImage image) throws IOException {
+        final byte[] bytes = writer.write(image);
+        final BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bytes));
+        final String message = "Mismatch for %dx%d using %s at level %d".formatted(image.getWidth(),
+            image.getHeight(),
+            writer.getFilter(),
+            writer.getLevel()
+        );
+
+        assertNotNull(decoded, message);
+        assertEquals(image.getWidth(), decoded.getWidth(), message);
+        assertEquals(image.getHeight(), decoded.getHeight(), message);
+        assertArrayEquals(getPixels(image), getPixels(decoded), message);
+        // Encoding must be deterministic, so that unchanged textures are written with the same bytes.
+        assertArrayEquals(bytes, writer.write(image), message);
+    }
+
+    /**
+     * Creates an image whose pixels are picked from the given palette.
+     *
+     * @param width The image's width.
+     * @param height The image's height.
+     * @param palette The colors to pick from, or {@code null} to pick any color.
+     *
+     * @return A new image.
+     */
+    private BufferedImage createImage(int width, int height, int[] palette) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        for (int y = 0; y < height; y += 1) {
+            for (int x = 0; x < width; x += 1) {
+                if (palette == null) {
+                    image.setRGB(x, y, this.random.nextInt());
+                } else {
+                    image.setRGB(x, y, palette[this.random.nextInt(palette.length)]);
+                }
+            }
+        }
+
+        return image;
+    }
+
+    @BeforeEach
+    public void setup() {
+        this.random = new Random(0L);
+    }
+
+    @Test
+    public void indexedImagesRoundTrip() throws IOException {
+        final int[] palette = new int[32];
+
+        for (int index = 0; index < palette.length; index += 1) {
+            palette[index] = this.random.nextInt();
+        }
+
+        // Includes fully opaque and fully transparent entries, which are written to different parts of the palette.
+        palette[0] = 0xFF_00_00_00;
+        palette[1] = 0x00_00_00_00;
+
+        for (final Filter filter : Filter.values()) {
+            for (final int level : new int[] { Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION }) {
+                final PngWriter writer = new PngWriter(filter, level);
+
+                for (final int[] size : SIZES) {
+                    assertRoundTrip(writer, this.createImage(size[0], size[1], palette));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void rgbaImagesRoundTrip() throws IOException {
+        for (final Filter filter : Filter.values()) {
+            for (final int level : new int[] { Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION }) {
+                final PngWriter writer = new PngWriter(filter, level);
+
+                // Random colors exceed the palette's size once an image holds more than 256 pixels.
+                for (final int[] size : SIZES) {
+                    assertRoundTrip(writer, this.createImage(size[0], size[1], null));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void convertedImagesRoundTrip() throws IOException {
+        final PngWriter writer = new PngWriter(Filter.ADAPTIVE, Deflater.BEST_COMPRESSION);
+        final BufferedImage source = this.createImage(64, 64, null);
+        // ImageIO loads PNG files as 4-byte ABGR images, which the writer must convert before encoding.
+        final BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_4BYTE_ABGR);
+
+        image.setRGB(0, 0, 64, 64, getPixels(source), 0, 64);
+
+        assertRoundTrip(writer, image);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that color gradients always begin and end with their exact endpoint colors.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public class ColorHelperTest {
+
+    @Test
+    public void gradientEndsWithEndpointsForEveryComponentPair() {
+        for (int start = 0; start <= 0xFF; start += 1) {
+            for (int end = 0; end <= 0xFF; end += 1) {
+                final Rgb first = new Rgb(start, start, start);
+                final Rgb last = new Rgb(end, end, end);
+                final int[] colors = ColorHelper.gradient(first, last, 256);
+
+                // The messages are only formatted on failure, since this runs for every pair of components.
+                assertEquals(first.integer(), colors[0], () -> "Mismatched start #%06X".formatted(first.integer()));
+                assertEquals(last.integer(), colors[255], () -> "Mismatched end #%06X".formatted(last.integer()));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Tests that the bulk pixel operations produce the same results as their per-color equivalents.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public class ImageHelperTest {
+
+    @Test
+    public void rescalePixelsMatchesPackedColor() {
+        final Random random = new Random(0L);
+        // Includes the parameters used for dyed amethyst textures, and parameters that clamp in both directions.
+        final float[][] parameters = {
+            { 0F, 0F }, { 1F, 0F }, { 0.5F, 0xF }, { 0.625F, 0xF }, { 0.875F, 0xF }, { 2.5F, -40F }, { 1F, 300F },
+        };
+        // Every component value appears in every channel, alongside random colors.
+        final int[] colors = new int[256 + 4096];
+
+        for (int index = 0; index < colors.length; index += 1) {
+            colors[index] = index < 256 ? index * 0x01_01_01_01 : random.nextInt();
+        }
+
+        for (final float[] parameter : parameters) {
+            final int[] expected = new int[colors.length];
+            final int[] actual = colors.clone();
+
+            for (int index = 0; index < colors.length; index += 1) {
+                expected[index] = PackedColor.rescale(colors[index], parameter[0], parameter[1]);
+            }
+
+            ImageHelper.rescalePixels(actual, parameter[0], parameter[1]);
+
+            assertArrayEquals(expected, actual, "Mismatch for parameters " + parameter[0] + ", " + parameter[1]);
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that image transforms split between worker threads are bit-identical to those processed serially.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public class ImageTilingTest {
+
+    /**
+     * The image sizes that are tested, including sizes that do not split into equal tiles.
+     *
+     * @since 2.7.0
+     */
+    private static final int[][] SIZES = { { 16, 16 }, { 256, 128 }, { 512, 512 }, { 1000, 777 } };
+
+    /**
+     * The random number generator used to create images.
+     *
+     * @since 2.7.0
+     */
+    private Random random;
+
+    /**
+     * A pure mapping method, which shifts a color's hue and darkens it.
+     *
+     * @param color The color.
+     *
+     * @return The mapped color.
+     *
+     * @since 2.7.0
+     */
+    private static int map(int color) {
+        final float[] hsb = PackedColor.toHsb(color, new float[3]);
+
+        return PackedColor.fromHsb(hsb[0] + 0.25F, hsb[1], hsb[2] * 0.75F, PackedColor.alpha(color));
+    }
+
+    /**
+     * A pure mapping method that depends on a value, which tints a color.
+     *
+     * @param color The color.
+     * @param value The tint.
+     *
+     * @return The mapped color.
+     *
+     * @since 2.7.0
+     */
+    private static int map(int color, Integer value) {
+        return PackedColor.multiply(color, value);
+    }
+
+    /**
+     * Maps a copy of the image's pixels serially on the calling thread.
+     *
+     * @param image The image.
+     * @param map The mapping method.
+     *
+     * @return The mapped pixels.
+     *
+     * @since 2.7.0
+     */
+    private static int[] mapSerially(BufferedImage image, IntUnaryOperator map) {
+        final int[] pixels = ImageHelper.getPixels(ImageHelper.copyPacked(image));
+
+        ImageHelper.mapPixels(pixels, map);
+
+        return pixels;
+    }
+
+    /**
+     * Creates a new image with random pixels, of which roughly a quarter are fully transparent.
+     *
+     * @param width The image's width.
+     * @param height The image's height.
+     * @param type The image's type.
+     *
+     * @return A new image.
+     *
+     * @since 2.7.0
+     */
+    private BufferedImage createImage(int width, int height, int type) {
+        final BufferedImage image = new BufferedImage(width, height, type);
+
+        for (int y = 0; y < height; y += 1) {
+            for (int x = 0; x < width; x += 1) {
+                final int color = this.random.nextInt();
+
+                image.setRGB(x, y, this.random.nextInt(4) == 0 ? color & 0x00_FF_FF_FF : color);
+            }
+        }
+
+        return image;
+    }
+
+    @BeforeEach
+    public void setup() {
+        this.random = new Random(0L);
+    }
+
+    @Test
+    public void tiledPixelsMatchSerialPixels() {
+        Assumptions.assumeTrue(ImageTiling.isParallel(), "Image transforms are processed serially");
+
+        for (final int[] size : SIZES) {
+            final BufferedImage image = this.createImage(size[0], size[1], BufferedImage.TYPE_INT_ARGB);
+            final int[] expected = mapSerially(image, ImageTilingTest::map);
+            final int[] pixels = ImageHelper.getPixels(ImageHelper.copyPacked(image));
+
+            ImageTiling.mapPixels(pixels, () -> new ColorCache(ImageTilingTest::map));
+
+            assertArrayEquals(expected, pixels, "Mismatch at " + size[0] + "x" + size[1]);
+        }
+    }
+
+    @Test
+    public void convertedImagesMatchSerialImages() {
+        Assumptions.assumeTrue(ImageTiling.isParallel(), "Image transforms are processed serially");
+
+        final ImageMapper mapper = new ImageMapper(ColorMapper.pure(ImageTilingTest::map), image -> { });
+        final List<BufferedImage> images = new ArrayList<>();
+
+        for (final int[] size : SIZES) {
+            // ImageIO loads PNG files as 4-byte ABGR images, which must be converted before they are mapped.
+            images.add(this.createImage(size[0], size[1], BufferedImage.TYPE_4BYTE_ABGR));
+            images.add(this.createImage(size[0], size[1], BufferedImage.TYPE_INT_ARGB));
+        }
+
+        final List<BufferedImage> converted = mapper.convertAll(images);
+
+        assertEquals(images.size(), converted.size());
+
+        for (int index = 0; index < images.size(); index += 1) {
+            final int[] expected = mapSerially(images.get(index), ImageTilingTest::map);
+
+            assertArrayEquals(expected, ImageHelper.getPixels(converted.get(index)), "Mismatch at image " + index);
+        }
+    }
+
+    @Test
+    public void convertedValuesMatchSerialImages() {
+        Assumptions.assumeTrue(ImageTiling.isParallel(), "Image transforms are processed serially");
+
+        final ImageBiMapper<Integer> mapper = new ImageBiMapper<>(ColorBiMapper.pure(ImageTilingTest::map),
+            (image, value) -> { }
+        );
+        final List<Integer> values = new ArrayList<>();
+
+        for (int index = 0; index < 16; index += 1) {
+            values.add(this.random.nextInt());
+        }
+
+        // Small images, such as each dyed variant of a texture, are only split between workers as a batch.
+        for (final int size : new int[] { 16, 512 }) {
+            final BufferedImage image = this.createImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            final List<BufferedImage> converted = mapper.convertAll(image, values);
+
+            assertEquals(values.size(), converted.size());
+
+            for (int index = 0; index < values.size(); index += 1) {
+                final int value = values.get(index);
+                final int[] expected = mapSerially(image, color -> map(color, value));
+                final String message = "Mismatch at " + size + "x" + size + " and value " + index;
+
+                assertArrayEquals(expected, ImageHelper.getPixels(converted.get(index)), message);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ *
+ * Copyright © 2024 Jaxydog
+ *
+ * This file is part of Astral.
+ *
+ * Astral is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * Astral is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with Astral. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package dev.jaxydog.astral.utility.color;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests that the packed HSB conversions are bit-identical to those of {@link Color}, which is their documented
+ * tolerance.
+ *
+ * @author Jaxydog
+ * @since 2.7.0
+ */
+public class PackedColorTest {
+
+    /**
+     * The number of random HSB values that are converted.
+     *
+     * @since 2.7.0
+     */
+    private static final int RANDOM_CONVERSIONS = 1_000_000;
+
+    /**
+     * Asserts that two floats are bit-identical, which unlike {@link Float#compare(float, float)} also distinguishes
+     * between positive and negative zero.
+     *
+     * @param expected The expected value.
+     * @param actual The actual value.
+     * @param component The name of the compared component.
+     * @param color The converted color.
+     *
+     * @since 2.7.0
+     */
+    private static void assertIdentical(float expected, float actual, String component, int color) {
+        if (Float.floatToRawIntBits(expected) != Float.floatToRawIntBits(actual)) {
+            fail("Mismatched %s for #%06X: expected %s, but was %s".formatted(component, color, expected, actual));
+        }
+    }
+
+    @Test
+    public void toHsbMatchesAwtForEveryColor() {
+        final float[] expected = new float[3];
+        final float[] actual = new float[3];
+
+        for (int color = 0; color <= 0xFF_FF_FF; color += 1) {
+            Color.RGBtoHSB(PackedColor.red(color), PackedColor.green(color), PackedColor.blue(color), expected);
+            PackedColor.toHsb(color, actual);
+
+            assertIdentical(expected[0], actual[0], "hue", color);
+            assertIdentical(expected[1], actual[1], "saturation", color);
+            assertIdentical(expected[2], actual[2], "brightness", color);
+        }
+    }
+
+    @Test
+    public void fromHsbMatchesAwtForEveryColor() {
+        final float[] hsb = new float[3];
+
+        for (int color = 0; color <= 0xFF_FF_FF; color += 1) {
+            PackedColor.toHsb(color, hsb);
+
+            final int expected = Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]);
+            final int actual = PackedColor.fromHsb(hsb[0], hsb[1], hsb[2], 0xFF);
+            final int original = color;
+
+            // The message is only formatted on failure, since this runs for every color.
+            assertEquals(expected, actual, () -> "Mismatched round-trip for #%06X".formatted(original));
+        }
+    }
+
+    @Test
+    public void fromHsbMatchesAwtForRandomValues() {
+        final Random random = new Random(0L);
+        // Includes hues outside of the unit range, which are wrapped, and the boundaries of every hue sector.
+        final float[] hues = { -1F, -0.5F, 0F, 1F / 6F, 2F / 6F, 0.5F, 4F / 6F, 5F / 6F, Math.nextDown(1F), 1F, 2.25F };
+
+        for (final float hue : hues) {
+            for (final float value : new float[] { 0F, 0.5F, 1F }) {
+                assertEquals(Color.HSBtoRGB(hue, value, value), PackedColor.fromHsb(hue, value, value, 0xFF));
+            }
+        }
+
+        for (int index = 0; index < RANDOM_CONVERSIONS; index += 1) {
+            final float hue = random.nextFloat() * 4F - 2F;
+            final float saturation = random.nextFloat();
+            final float brightness = random.nextFloat();
+
+            assertEquals(Color.HSBtoRGB(hue, saturation, brightness),
+                PackedColor.fromHsb(hue, saturation, brightness, 0xFF),
+                "Mismatch for " + hue + ", " + saturation + ", " + brightness
+            );
+        }
+    }
+
+}